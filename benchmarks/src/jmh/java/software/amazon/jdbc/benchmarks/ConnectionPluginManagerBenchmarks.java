@@ -52,6 +52,7 @@ import software.amazon.jdbc.PluginService;
 import software.amazon.jdbc.PropertyDefinition;
 import software.amazon.jdbc.profile.DriverConfigurationProfiles;
 import software.amazon.jdbc.benchmarks.testplugin.BenchmarkPluginFactory;
+import software.amazon.jdbc.util.WrapperUtils;
 import software.amazon.jdbc.wrapper.ConnectionWrapper;
 
 import java.sql.Connection;
@@ -80,6 +81,7 @@ public class ConnectionPluginManagerBenchmarks {
   private Properties propertiesWithPlugins;
   private ConnectionPluginManager pluginManager;
   private ConnectionPluginManager pluginManagerWithNoPlugins;
+  private ConnectionPluginManager pluginManagerWithLockFreeDispatch;
 
   @Mock ConnectionProvider mockConnectionProvider;
   @Mock ConnectionWrapper mockConnectionWrapper;
@@ -131,6 +133,13 @@ public class ConnectionPluginManagerBenchmarks {
 
     pluginManagerWithNoPlugins = new ConnectionPluginManager(mockConnectionProvider, mockConnectionWrapper);
     pluginManagerWithNoPlugins.init(mockPluginService, emptyProperties, mockPluginManagerService);
+
+    final Properties propertiesWithLockFreeDispatch = new Properties();
+    propertiesWithLockFreeDispatch.putAll(propertiesWithPlugins);
+    propertiesWithLockFreeDispatch.setProperty(PropertyDefinition.LOCK_FREE_DISPATCH.name, "true");
+    pluginManagerWithLockFreeDispatch = new ConnectionPluginManager(mockConnectionProvider, mockConnectionWrapper);
+    pluginManagerWithLockFreeDispatch.init(
+        mockPluginService, propertiesWithLockFreeDispatch, mockPluginManagerService);
   }
 
   @TearDown(Level.Iteration)
@@ -194,6 +203,30 @@ public class ConnectionPluginManagerBenchmarks {
     );
   }
 
+  @Benchmark
+  public Integer executeWithPluginsLockingDispatch() {
+    return WrapperUtils.executeWithPlugins(
+        Integer.class,
+        pluginManager,
+        mockStatement,
+        "Statement.execute",
+        () -> 1,
+        1
+    );
+  }
+
+  @Benchmark
+  public Integer executeWithPluginsLockFreeDispatch() {
+    return WrapperUtils.executeWithPlugins(
+        Integer.class,
+        pluginManagerWithLockFreeDispatch,
+        mockStatement,
+        "Statement.execute",
+        () -> 1,
+        1
+    );
+  }
+
   @Benchmark
   public ConnectionPluginManager initHostProvidersWithPlugins() throws SQLException {
     pluginManager.initHostProvider(
@@ -0,0 +1,103 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.jdbc.util.ExpiringCache;
+
+/**
+ * Measures the expiring cache under contention from 64 threads, with the mix of reads and writes
+ * of the host availability cache, where every connection reads and writes the same small set of
+ * hosts.
+ */
+@State(Scope.Benchmark)
+@Fork(3)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(64)
+public class ExpiringCacheBenchmarks {
+
+  @Param({"16", "1024"})
+  int keyCount;
+
+  @Param({"100", "300000"})
+  long expireTimeMs;
+
+  private ExpiringCache<String, String> cache;
+  private String[] keys;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ExpiringCacheBenchmarks.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .detectJvmArgs()
+        .build();
+
+    new Runner(opt).run();
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpIteration() {
+    cache = new ExpiringCache<>(expireTimeMs, value -> { });
+    keys = new String[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      keys[i] = "instance-" + i + ".xyz.us-east-2.rds.amazonaws.com:5432";
+      cache.put(keys[i], "AVAILABLE");
+    }
+  }
+
+  @Benchmark
+  public String get() {
+    return cache.get(keys[ThreadLocalRandom.current().nextInt(keyCount)]);
+  }
+
+  @Benchmark
+  public String put() {
+    return cache.put(keys[ThreadLocalRandom.current().nextInt(keyCount)], "AVAILABLE");
+  }
+
+  @Benchmark
+  public String mostlyGet() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final String key = keys[random.nextInt(keyCount)];
+    if (random.nextInt(10) == 0) {
+      return cache.put(key, "AVAILABLE");
+    }
+    return cache.get(key);
+  }
+}
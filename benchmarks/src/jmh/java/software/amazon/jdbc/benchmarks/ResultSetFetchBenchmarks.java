@@ -0,0 +1,155 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.jdbc.Driver;
+import software.amazon.jdbc.PropertyDefinition;
+
+/**
+ * Compares fetching a result set through the target driver, through the AWS JDBC Driver with no
+ * plugins subscribed to the fetched methods, and through the AWS JDBC Driver with a plugin
+ * subscribed to all methods.
+ *
+ * <p>These benchmarks need a running database. Set the {@code benchmark.postgresql.url} and
+ * {@code benchmark.mysql.url} system properties to the target driver URLs, for example
+ * {@code jdbc:postgresql://localhost:5432/postgres}, and {@code benchmark.user} and
+ * {@code benchmark.password} to the credentials.
+ */
+@State(Scope.Benchmark)
+@Fork(3)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResultSetFetchBenchmarks {
+
+  private static final int ROWS = 10_000;
+  private static final String POSTGRESQL_QUERY =
+      "SELECT i, 'row ' || i, i * 1.5 FROM generate_series(1, " + ROWS + ") AS i";
+  private static final String MYSQL_QUERY =
+      "WITH RECURSIVE seq (i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM seq WHERE i < " + ROWS + ") "
+          + "SELECT i, CONCAT('row ', i), i * 1.5 FROM seq";
+
+  @Param({"postgresql", "mysql"})
+  String targetDriver;
+
+  private Connection rawConnection;
+  private Connection wrapperConnection;
+  private Connection wrapperConnectionWithPlugins;
+  private PreparedStatement rawStatement;
+  private PreparedStatement wrapperStatement;
+  private PreparedStatement wrapperStatementWithPlugins;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ResultSetFetchBenchmarks.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .detectJvmArgs()
+        .build();
+
+    new Runner(opt).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setUpTrial() throws SQLException {
+    final String url = System.getProperty("benchmark." + targetDriver + ".url");
+    if (url == null) {
+      throw new IllegalStateException(
+          "Set the benchmark." + targetDriver + ".url system property to run this benchmark.");
+    }
+    if (!Driver.isRegistered()) {
+      Driver.register();
+    }
+
+    final Properties props = new Properties();
+    props.setProperty(PropertyDefinition.USER.name, System.getProperty("benchmark.user", ""));
+    props.setProperty(PropertyDefinition.PASSWORD.name, System.getProperty("benchmark.password", ""));
+
+    final Properties propsWithPlugins = new Properties();
+    propsWithPlugins.putAll(props);
+    propsWithPlugins.setProperty(PropertyDefinition.PLUGINS.name, "executionTime");
+
+    final String wrapperUrl = url.replaceFirst("jdbc:", "jdbc:aws-wrapper:");
+    final String query = "mysql".equals(targetDriver) ? MYSQL_QUERY : POSTGRESQL_QUERY;
+
+    rawConnection = DriverManager.getConnection(url, props);
+    wrapperConnection = DriverManager.getConnection(wrapperUrl, props);
+    wrapperConnectionWithPlugins = DriverManager.getConnection(wrapperUrl, propsWithPlugins);
+
+    rawStatement = rawConnection.prepareStatement(query);
+    wrapperStatement = wrapperConnection.prepareStatement(query);
+    wrapperStatementWithPlugins = wrapperConnectionWithPlugins.prepareStatement(query);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownTrial() throws SQLException {
+    rawConnection.close();
+    wrapperConnection.close();
+    wrapperConnectionWithPlugins.close();
+  }
+
+  @Benchmark
+  public void fetchWithTargetDriver(Blackhole blackhole) throws SQLException {
+    fetch(rawStatement, blackhole);
+  }
+
+  @Benchmark
+  public void fetchWithWrapper(Blackhole blackhole) throws SQLException {
+    fetch(wrapperStatement, blackhole);
+  }
+
+  @Benchmark
+  public void fetchWithWrapperAndExecutionTimePlugin(Blackhole blackhole) throws SQLException {
+    fetch(wrapperStatementWithPlugins, blackhole);
+  }
+
+  private void fetch(final PreparedStatement statement, final Blackhole blackhole) throws SQLException {
+    try (ResultSet resultSet = statement.executeQuery()) {
+      while (resultSet.next()) {
+        blackhole.consume(resultSet.getLong(1));
+        blackhole.consume(resultSet.getString(2));
+        blackhole.consume(resultSet.getBigDecimal(3));
+      }
+    }
+  }
+}
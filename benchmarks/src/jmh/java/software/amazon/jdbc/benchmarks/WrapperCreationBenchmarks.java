@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.benchmarks;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.jdbc.ConnectionPluginManager;
+import software.amazon.jdbc.ConnectionProvider;
+import software.amazon.jdbc.HostSpec;
+import software.amazon.jdbc.util.WrapperUtils;
+import software.amazon.jdbc.wrapper.ConnectionWrapper;
+import software.amazon.jdbc.wrapper.StatementWrapper;
+
+/**
+ * Measures the cost of creating statement and result set wrappers.
+ */
+@State(Scope.Benchmark)
+@Fork(3)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WrapperCreationBenchmarks {
+
+  private static final String CONNECTION_STRING = "driverProtocol://my.domain.com";
+
+  @Mock ConnectionProvider mockConnectionProvider;
+  @Mock Connection mockConnection;
+  @Mock Statement mockStatement;
+  @Mock ResultSet mockResultSet;
+  @Mock ConnectionPluginManager mockPluginManager;
+  private AutoCloseable closeable;
+  private ConnectionWrapper wrapper;
+  private Statement statement;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(WrapperCreationBenchmarks.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .detectJvmArgs()
+        .build();
+
+    new Runner(opt).run();
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpIteration() throws Exception {
+    closeable = MockitoAnnotations.openMocks(this);
+    when(mockConnectionProvider.connect(anyString(), any(Properties.class))).thenReturn(
+        mockConnection);
+    when(mockConnectionProvider.connect(anyString(), any(HostSpec.class), any(Properties.class)))
+        .thenReturn(mockConnection);
+    when(mockConnection.createStatement()).thenReturn(mockStatement);
+    when(mockStatement.executeQuery(anyString())).thenReturn(mockResultSet);
+
+    wrapper = new ConnectionWrapper(new Properties(), CONNECTION_STRING, mockConnectionProvider);
+    statement = wrapper.createStatement();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownIteration() throws Exception {
+    wrapper.releaseResources();
+    closeable.close();
+  }
+
+  @Benchmark
+  public Statement createStatement() throws SQLException {
+    return wrapper.createStatement();
+  }
+
+  @Benchmark
+  public ResultSet executeQuery() throws SQLException {
+    return statement.executeQuery("some sql");
+  }
+
+  @Benchmark
+  public Statement createStatementWrapperWithReflection() throws InstantiationException {
+    return WrapperUtils.createInstance(
+        StatementWrapper.class,
+        Statement.class,
+        new Class<?>[] {Statement.class, ConnectionPluginManager.class},
+        mockStatement,
+        mockPluginManager);
+  }
+}
@@ -19,12 +19,17 @@ package software.amazon.jdbc;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -41,6 +46,7 @@ import software.amazon.jdbc.plugin.efm.HostMonitoringConnectionPluginFactory;
 import software.amazon.jdbc.plugin.failover.FailoverConnectionPluginFactory;
 import software.amazon.jdbc.plugin.staledns.AuroraStaleDnsPluginFactory;
 import software.amazon.jdbc.profile.DriverConfigurationProfiles;
+import software.amazon.jdbc.util.JdbcMethodIds;
 import software.amazon.jdbc.util.Messages;
 import software.amazon.jdbc.util.SqlState;
 import software.amazon.jdbc.util.StringUtils;
@@ -52,6 +58,8 @@ import software.amazon.jdbc.wrapper.ConnectionWrapper;
  *
  * <p>THIS CLASS IS NOT MULTI-THREADING SAFE IT'S EXPECTED TO HAVE ONE INSTANCE OF THIS MANAGER PER
  * JDBC CONNECTION
+ *
+ * <p>The compiled plugin chains are immutable and can be read by several threads at once.
  */
 public class ConnectionPluginManager implements CanReleaseResources {
 
@@ -80,13 +88,29 @@ public class ConnectionPluginManager implements CanReleaseResources {
   private static final String NOTIFY_NODE_LIST_CHANGED_METHOD = "notifyNodeListChanged";
   private final ReentrantLock lock = new ReentrantLock();
 
+  /**
+   * Epoch of the plugin chain and the connection it operates on. The value is odd while a
+   * connection switch is in progress and even otherwise.
+   */
+  private volatile long chainEpoch = 0;
+
+  /** Calls dispatched without the lock since the last connection switch. */
+  private volatile ChainGeneration currentGeneration = new ChainGeneration();
+
+  /** Calls dispatched without the lock before the last connection switch. */
+  private volatile ChainGeneration retiredGeneration = new ChainGeneration();
+
   protected Properties props = new Properties();
   protected ArrayList<ConnectionPlugin> plugins;
   protected final ConnectionProvider connectionProvider;
   protected final ConnectionWrapper connectionWrapper;
+  protected boolean lockFreeDispatch;
 
-  @SuppressWarnings("rawtypes")
-  protected final Map<String, PluginChainJdbcCallable> pluginChainFuncMap = new HashMap<>();
+  /**
+   * Compiled plugin chains indexed by {@link JdbcMethodIds method ID}. The array is never modified
+   * after it's published; chains for newly seen methods are added to a copy of it.
+   */
+  protected volatile PluginChain[] pluginChains = new PluginChain[0];
 
   public ConnectionPluginManager(ConnectionProvider connectionProvider, ConnectionWrapper connectionWrapper) {
     this.connectionProvider = connectionProvider;
@@ -105,6 +129,10 @@ public class ConnectionPluginManager implements CanReleaseResources {
     this.connectionWrapper = connectionWrapper;
   }
 
+  public ConnectionProvider getConnectionProvider() {
+    return this.connectionProvider;
+  }
+
   public void lock() {
     lock.lock();
   }
@@ -113,6 +141,90 @@ public class ConnectionPluginManager implements CanReleaseResources {
     lock.unlock();
   }
 
+  /**
+   * Whether JDBC calls may be dispatched without taking the plugin manager lock. See {@link
+   * PropertyDefinition#LOCK_FREE_DISPATCH}.
+   *
+   * @return true if lock-free dispatch is enabled for this connection
+   */
+  public boolean isLockFreeDispatch() {
+    return this.lockFreeDispatch;
+  }
+
+  /**
+   * Returns the current chain epoch. An odd value means that a connection switch is in progress
+   * and callers dispatching without a lock should take the locking path instead.
+   *
+   * @return the current chain epoch
+   */
+  public long getChainEpoch() {
+    return this.chainEpoch;
+  }
+
+  /**
+   * Registers a JDBC call dispatched without the plugin manager lock. Each registered call must be
+   * paired with {@link #endLockFreeCall(ChainGeneration)}.
+   *
+   * @return the generation of the plugin chain that the call runs on, or null if a connection switch
+   *     is in progress and the caller should take the locking path instead
+   */
+  public @Nullable ChainGeneration tryBeginLockFreeCall() {
+    // The call is counted before the epoch is checked, so a connection switch either retires the
+    // generation with the call in it, or the call sees the switch and takes the lock.
+    final ChainGeneration generation = this.currentGeneration;
+    generation.calls.incrementAndGet();
+    if ((this.chainEpoch & 1) != 0 || generation != this.currentGeneration) {
+      generation.endCall();
+      return null;
+    }
+    return generation;
+  }
+
+  /**
+   * Marks the end of a call registered by {@link #tryBeginLockFreeCall()}. If a connection switch
+   * happened while the call was running and this was the last such call, the actions queued by
+   * {@link #runAfterLockFreeCalls(Runnable)} run on this thread.
+   *
+   * @param generation the generation returned by {@link #tryBeginLockFreeCall()}
+   */
+  public void endLockFreeCall(final @NonNull ChainGeneration generation) {
+    generation.endCall();
+  }
+
+  /**
+   * Runs an action once all calls that were dispatched without the lock before the last connection
+   * switch complete, e.g. closing the connection they may still be using. The action runs on the
+   * current thread if there are no such calls.
+   *
+   * @param action the action to run
+   */
+  public void runAfterLockFreeCalls(final @NonNull Runnable action) {
+    this.retiredGeneration.runAfterCalls(action);
+  }
+
+  /**
+   * Marks the start of a connection switch. Takes the plugin manager lock and moves the chain epoch
+   * to an odd value, so that new calls take the locking path until {@link #endChainUpdate()} is
+   * called. Calls already dispatched without the lock are not waited for: they keep running on the
+   * connection they started with, which should be released with {@link
+   * #runAfterLockFreeCalls(Runnable)}.
+   */
+  public void beginChainUpdate() {
+    lock.lock();
+    this.chainEpoch++;
+
+    final ChainGeneration retired = this.currentGeneration;
+    retired.retired = true;
+    this.currentGeneration = new ChainGeneration();
+    this.retiredGeneration = retired;
+  }
+
+  /** Marks the end of a connection switch started by {@link #beginChainUpdate()}. */
+  public void endChainUpdate() {
+    this.chainEpoch++;
+    lock.unlock();
+  }
+
   /**
    * Initialize a chain of {@link ConnectionPlugin} using their corresponding {@link
    * ConnectionPluginFactory}. If {@code PropertyDefinition.PLUGINS} is provided by the user,
@@ -131,6 +243,7 @@ public class ConnectionPluginManager implements CanReleaseResources {
       throws SQLException {
 
     this.props = props;
+    this.lockFreeDispatch = PropertyDefinition.LOCK_FREE_DISPATCH.getBoolean(props);
 
     String profileName = PropertyDefinition.PROFILE_NAME.getString(props);
 
@@ -197,6 +310,87 @@ public class ConnectionPluginManager implements CanReleaseResources {
     ConnectionPlugin defaultPlugin =
         new DefaultConnectionPlugin(pluginService, this.connectionProvider, pluginManagerService);
     this.plugins.add(defaultPlugin);
+
+    this.compilePluginChains();
+  }
+
+  /**
+   * Builds the plugin chain of every known JDBC method. Methods that no plugin subscribes to by name
+   * share a single chain made of the plugins subscribed to all methods.
+   */
+  protected void compilePluginChains() {
+    final Set<String> namedMethods = new HashSet<>();
+    for (ConnectionPlugin plugin : this.plugins) {
+      for (String methodName : plugin.getSubscribedMethods()) {
+        if (!ALL_METHODS.equals(methodName)) {
+          namedMethods.add(methodName);
+          JdbcMethodIds.getId(methodName);
+        }
+      }
+    }
+
+    final PluginChain allMethodsChain = this.makePluginChainFunc(ALL_METHODS);
+    final PluginChain[] chains = new PluginChain[JdbcMethodIds.getCount()];
+
+    for (Map.Entry<String, Integer> entry : JdbcMethodIds.getIds().entrySet()) {
+      final String methodName = entry.getKey();
+      final int methodId = entry.getValue();
+      if (methodId >= chains.length) {
+        continue;
+      }
+      if (namedMethods.contains(methodName)) {
+        chains[methodId] = this.makePluginChainFunc(methodName);
+      } else if (allMethodsChain.canCallTargetDirectly
+          && DefaultConnectionPlugin.tracksTransactionState(methodName)) {
+        chains[methodId] = new PluginChain(allMethodsChain.plugins, false);
+      } else {
+        chains[methodId] = allMethodsChain;
+      }
+    }
+
+    this.pluginChains = chains;
+  }
+
+  protected PluginChain getPluginChain(final String methodName) {
+    final int methodId = JdbcMethodIds.getId(methodName);
+    final PluginChain[] chains = this.pluginChains;
+    if (methodId < chains.length && chains[methodId] != null) {
+      return chains[methodId];
+    }
+    return this.addPluginChain(methodId, methodName);
+  }
+
+  /**
+   * Checks whether calls to all the given methods can skip the plugin pipeline and go straight to
+   * the target driver object. This is the case when no plugin other than {@link
+   * DefaultConnectionPlugin} subscribes to the methods.
+   *
+   * @param methodNames the JDBC method names to check
+   * @return true if none of the methods needs to go through the plugin pipeline
+   */
+  public boolean canCallTargetDirectly(final String[] methodNames) {
+    if (this.plugins == null) {
+      return false;
+    }
+    for (String methodName : methodNames) {
+      if (!this.getPluginChain(methodName).canCallTargetDirectly) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private synchronized PluginChain addPluginChain(final int methodId, final String methodName) {
+    PluginChain[] chains = this.pluginChains;
+    if (methodId < chains.length && chains[methodId] != null) {
+      return chains[methodId];
+    }
+
+    final PluginChain pluginChain = this.makePluginChainFunc(methodName);
+    chains = Arrays.copyOf(chains, Math.max(chains.length, JdbcMethodIds.getCount()));
+    chains[methodId] = pluginChain;
+    this.pluginChains = chains;
+    return pluginChain;
   }
 
   protected <T, E extends Exception> T executeWithSubscribedPlugins(
@@ -213,45 +407,31 @@ public class ConnectionPluginManager implements CanReleaseResources {
       throw new IllegalArgumentException("jdbcMethodFunc");
     }
 
-    //noinspection unchecked
-    PluginChainJdbcCallable<T, E> pluginChainFunc = this.pluginChainFuncMap.get(methodName);
-
-    if (pluginChainFunc == null) {
-      pluginChainFunc = this.makePluginChainFunc(methodName);
-      this.pluginChainFuncMap.put(methodName, pluginChainFunc);
-    }
-
-    if (pluginChainFunc == null) {
-      throw new RuntimeException("Error processing this JDBC call.");
-    }
-
-    return pluginChainFunc.call(pluginPipeline, jdbcMethodFunc);
+    return this.getPluginChain(methodName).call(pluginPipeline, jdbcMethodFunc);
   }
 
-  @Nullable
-  protected <T, E extends Exception> PluginChainJdbcCallable<T, E> makePluginChainFunc(
-      final @NonNull String methodName) {
+  protected PluginChain makePluginChainFunc(final @NonNull String methodName) {
 
-    PluginChainJdbcCallable<T, E> pluginChainFunc = null;
+    final List<ConnectionPlugin> subscribedPlugins = new ArrayList<>(this.plugins.size());
 
-    for (int i = this.plugins.size() - 1; i >= 0; i--) {
-      final ConnectionPlugin plugin = this.plugins.get(i);
+    for (final ConnectionPlugin plugin : this.plugins) {
       Set<String> pluginSubscribedMethods = plugin.getSubscribedMethods();
       boolean isSubscribed =
           pluginSubscribedMethods.contains(ALL_METHODS)
               || pluginSubscribedMethods.contains(methodName);
 
       if (isSubscribed) {
-        if (pluginChainFunc == null) {
-          pluginChainFunc = (pipelineFunc, jdbcFunc) -> pipelineFunc.call(plugin, jdbcFunc);
-        } else {
-          final PluginChainJdbcCallable<T, E> finalPluginChainFunc = pluginChainFunc;
-          pluginChainFunc = (pipelineFunc, jdbcFunc) ->
-              pipelineFunc.call(plugin, () -> finalPluginChainFunc.call(pipelineFunc, jdbcFunc));
-        }
+        subscribedPlugins.add(plugin);
       }
     }
-    return pluginChainFunc;
+
+    final ConnectionPlugin[] chainPlugins = subscribedPlugins.toArray(new ConnectionPlugin[0]);
+    final boolean canCallTargetDirectly =
+        chainPlugins.length == 0
+            || (chainPlugins.length == 1
+                && chainPlugins[0] instanceof DefaultConnectionPlugin
+                && !DefaultConnectionPlugin.tracksTransactionState(methodName));
+    return new PluginChain(chainPlugins, canCallTargetDirectly);
   }
 
   protected <E extends Exception> void notifySubscribedPlugins(
@@ -292,8 +472,17 @@ public class ConnectionPluginManager implements CanReleaseResources {
       final Object[] jdbcMethodArgs)
       throws E {
 
-    return executeWithSubscribedPlugins(
-        methodName,
+    if (jdbcMethodFunc == null) {
+      throw new IllegalArgumentException("jdbcMethodFunc");
+    }
+
+    final PluginChain pluginChain = this.getPluginChain(methodName);
+
+    if (pluginChain.canCallTargetDirectly) {
+      return jdbcMethodFunc.call();
+    }
+
+    return pluginChain.call(
         (plugin, func) ->
             plugin.execute(
                 resultType, exceptionClass, methodInvokeOn, methodName, func, jdbcMethodArgs),
@@ -396,8 +585,76 @@ public class ConnectionPluginManager implements CanReleaseResources {
     T call(final @NonNull ConnectionPlugin plugin, final @Nullable JdbcCallable<T, E> jdbcMethodFunc) throws E;
   }
 
-  private interface PluginChainJdbcCallable<T, E extends Exception> {
+  /**
+   * An immutable, ordered list of the plugins subscribed to a single method.
+   */
+  protected static final class PluginChain {
+
+    private final ConnectionPlugin[] plugins;
+
+    /**
+     * True if no plugin other than {@link DefaultConnectionPlugin} needs to see calls to the
+     * method, so the execute pipeline can call the target driver directly.
+     */
+    final boolean canCallTargetDirectly;
+
+    PluginChain(final ConnectionPlugin[] plugins, final boolean canCallTargetDirectly) {
+      this.plugins = plugins;
+      this.canCallTargetDirectly = canCallTargetDirectly;
+    }
 
-    T call(final @NonNull PluginPipeline<T, E> pipelineFunc, final @NonNull JdbcCallable<T, E> jdbcMethodFunc) throws E;
+    <T, E extends Exception> T call(
+        final @NonNull PluginPipeline<T, E> pipelineFunc,
+        final @NonNull JdbcCallable<T, E> jdbcMethodFunc) throws E {
+
+      if (this.plugins.length == 0) {
+        return jdbcMethodFunc.call();
+      }
+      return this.call(0, pipelineFunc, jdbcMethodFunc);
+    }
+
+    private <T, E extends Exception> T call(
+        final int index,
+        final @NonNull PluginPipeline<T, E> pipelineFunc,
+        final @NonNull JdbcCallable<T, E> jdbcMethodFunc) throws E {
+
+      if (index == this.plugins.length - 1) {
+        return pipelineFunc.call(this.plugins[index], jdbcMethodFunc);
+      }
+      return pipelineFunc.call(
+          this.plugins[index], () -> this.call(index + 1, pipelineFunc, jdbcMethodFunc));
+    }
+  }
+
+  /** The JDBC calls dispatched without the lock between two connection switches. */
+  public static final class ChainGeneration {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Queue<Runnable> afterCalls = new ConcurrentLinkedQueue<>();
+    private volatile boolean retired;
+
+    ChainGeneration() {
+    }
+
+    private void endCall() {
+      if (this.calls.decrementAndGet() == 0 && this.retired) {
+        this.runQueuedActions();
+      }
+    }
+
+    private void runAfterCalls(final Runnable action) {
+      this.afterCalls.add(action);
+      if (this.calls.get() == 0) {
+        this.runQueuedActions();
+      }
+    }
+
+    private void runQueuedActions() {
+      // Both the last call and the switch may get here, so each action is taken off the queue first.
+      Runnable action;
+      while ((action = this.afterCalls.poll()) != null) {
+        action.run();
+      }
+    }
   }
 }
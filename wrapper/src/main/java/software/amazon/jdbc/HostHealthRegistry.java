@@ -0,0 +1,110 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps the most recently reported availability of every host, shared by all connections in the
+ * process. Enhanced failure monitoring, failover and failed connection attempts report hosts here
+ * by their aliases, so that other connections learn about a host going down as soon as one of them
+ * notices it, rather than each waiting out its own connect timeout.
+ *
+ * <p>Reports expire after a short time, after which hosts are treated as their own host list
+ * describes them again. This gives hosts that were reported down a chance to be tried again.
+ */
+public class HostHealthRegistry {
+
+  static final long REPORT_EXPIRATION_NANO = TimeUnit.SECONDS.toNanos(30);
+
+  private static final Map<String, HealthReport> reportsByAlias = new ConcurrentHashMap<>();
+
+  private HostHealthRegistry() {
+  }
+
+  /**
+   * Report the availability of a host.
+   *
+   * @param hostAliases All aliases of the host.
+   * @param availability The availability of the host.
+   */
+  public static void setAvailability(
+      final @NonNull Set<String> hostAliases, final @NonNull HostAvailability availability) {
+    final HealthReport report = new HealthReport(availability, System.nanoTime());
+    for (final String alias : hostAliases) {
+      reportsByAlias.put(alias, report);
+    }
+  }
+
+  /**
+   * Get the most recently reported availability of a host under any of its aliases.
+   *
+   * @param hostSpec The host.
+   * @return the reported availability, or null if the host hasn't been reported recently.
+   */
+  public static @Nullable HostAvailability getAvailability(final @NonNull HostSpec hostSpec) {
+    final long currentTimeNano = System.nanoTime();
+    HealthReport latestReport = null;
+    for (final String alias : hostSpec.asAliases()) {
+      final HealthReport report = reportsByAlias.get(alias);
+      if (report == null) {
+        continue;
+      }
+      if (currentTimeNano - report.reportTimeNano >= REPORT_EXPIRATION_NANO) {
+        reportsByAlias.remove(alias, report);
+        continue;
+      }
+      if (latestReport == null || report.reportTimeNano - latestReport.reportTimeNano > 0) {
+        latestReport = report;
+      }
+    }
+    return latestReport == null ? null : latestReport.availability;
+  }
+
+  /**
+   * Check whether a host is available, preferring the availability reported by any connection over
+   * the availability known to the given host spec.
+   *
+   * @param hostSpec The host.
+   * @return true if the host is considered available.
+   */
+  public static boolean isAvailable(final @NonNull HostSpec hostSpec) {
+    final HostAvailability availability = getAvailability(hostSpec);
+    return (availability != null ? availability : hostSpec.getAvailability()) == HostAvailability.AVAILABLE;
+  }
+
+  /** Forget all reports. */
+  public static void clear() {
+    reportsByAlias.clear();
+  }
+
+  private static class HealthReport {
+
+    final HostAvailability availability;
+    final long reportTimeNano;
+
+    HealthReport(final HostAvailability availability, final long reportTimeNano) {
+      this.availability = availability;
+      this.reportTimeNano = reportTimeNano;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable version of a host list, with the hosts indexed by URL. A new version is only created
+ * when the hosts or their roles change, so connections can tell whether their host list is up to
+ * date by comparing versions. The changes from the previous version are computed once, when the new
+ * version is created, and shared by all connections that move from the previous version to this
+ * one.
+ *
+ * <p>Host availability isn't part of the snapshot, and the hosts of a snapshot must not be
+ * modified. Changes in availability are reported by {@link PluginService#setAvailability}, and each
+ * connection applies them to its own copies of the hosts.
+ */
+public class HostListSnapshot {
+
+  private static final AtomicLong lastVersion = new AtomicLong();
+
+  private final long version;
+  private final long previousVersion;
+  private final List<HostSpec> hosts;
+  private final Map<String, HostSpec> hostsByUrl;
+  private final Map<String, EnumSet<NodeChangeOptions>> changes;
+
+  private HostListSnapshot(
+      final long previousVersion,
+      final List<HostSpec> hosts,
+      final Map<String, HostSpec> hostsByUrl,
+      final Map<String, EnumSet<NodeChangeOptions>> changes) {
+    this.version = lastVersion.incrementAndGet();
+    this.previousVersion = previousVersion;
+    this.hosts = hosts;
+    this.hostsByUrl = hostsByUrl;
+    this.changes = changes;
+  }
+
+  /**
+   * Get a snapshot of a host list that follows a previous snapshot.
+   *
+   * @param previous The previous snapshot, or null if there is none.
+   * @param hosts The latest hosts.
+   * @return the previous snapshot if the hosts and their roles didn't change, or else a new
+   *     snapshot.
+   */
+  public static @NonNull HostListSnapshot next(
+      final @Nullable HostListSnapshot previous, final @NonNull List<HostSpec> hosts) {
+
+    final Map<String, HostSpec> hostsByUrl = new LinkedHashMap<>();
+    for (final HostSpec host : hosts) {
+      hostsByUrl.put(host.getUrl(), host);
+    }
+
+    if (previous == null) {
+      return new HostListSnapshot(
+          0,
+          Collections.unmodifiableList(new ArrayList<>(hosts)),
+          Collections.unmodifiableMap(hostsByUrl),
+          Collections.emptyMap());
+    }
+
+    final Map<String, EnumSet<NodeChangeOptions>> changes = compare(previous.hostsByUrl, hostsByUrl);
+    if (changes.isEmpty()) {
+      return previous;
+    }
+    return new HostListSnapshot(
+        previous.version,
+        Collections.unmodifiableList(new ArrayList<>(hosts)),
+        Collections.unmodifiableMap(hostsByUrl),
+        Collections.unmodifiableMap(changes));
+  }
+
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Get the hosts in this snapshot. The list can't be modified.
+   *
+   * @return the hosts.
+   */
+  public List<HostSpec> getHosts() {
+    return this.hosts;
+  }
+
+  public @Nullable HostSpec getHost(final String url) {
+    return this.hostsByUrl.get(url);
+  }
+
+  /**
+   * Get the changes to each host since an older snapshot. If the older snapshot is the previous
+   * version, the shared changes are returned and they must not be modified.
+   *
+   * @param older The older snapshot.
+   * @return the changes by host URL. Empty if nothing changed.
+   */
+  public Map<String, EnumSet<NodeChangeOptions>> getChangesSince(final @NonNull HostListSnapshot older) {
+    if (older.version == this.version) {
+      return Collections.emptyMap();
+    }
+    if (older.version == this.previousVersion) {
+      return this.changes;
+    }
+    return compare(older.hostsByUrl, this.hostsByUrl);
+  }
+
+  private static Map<String, EnumSet<NodeChangeOptions>> compare(
+      final Map<String, HostSpec> oldHostsByUrl, final Map<String, HostSpec> newHostsByUrl) {
+
+    final Map<String, EnumSet<NodeChangeOptions>> changes = new HashMap<>();
+
+    for (final Map.Entry<String, HostSpec> entry : oldHostsByUrl.entrySet()) {
+      final HostSpec newHost = newHostsByUrl.get(entry.getKey());
+      if (newHost == null) {
+        changes.put(entry.getKey(), EnumSet.of(NodeChangeOptions.NODE_DELETED));
+      } else if (entry.getValue().getRole() != newHost.getRole()) {
+        if (newHost.getRole() == HostRole.WRITER) {
+          changes.put(
+              entry.getKey(), EnumSet.of(NodeChangeOptions.PROMOTED_TO_WRITER, NodeChangeOptions.NODE_CHANGED));
+        } else if (newHost.getRole() == HostRole.READER) {
+          changes.put(
+              entry.getKey(), EnumSet.of(NodeChangeOptions.PROMOTED_TO_READER, NodeChangeOptions.NODE_CHANGED));
+        } else {
+          changes.put(entry.getKey(), EnumSet.of(NodeChangeOptions.NODE_CHANGED));
+        }
+      }
+    }
+
+    for (final String url : newHostsByUrl.keySet()) {
+      if (!oldHostsByUrl.containsKey(url)) {
+        changes.put(url, EnumSet.of(NodeChangeOptions.NODE_ADDED));
+      }
+    }
+
+    return changes;
+  }
+}
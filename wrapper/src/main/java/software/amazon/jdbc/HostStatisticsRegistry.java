@@ -0,0 +1,229 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps exponentially weighted moving averages of the connect time, replica lag and connect failure
+ * rate of every host, shared by all connections in the process. Hosts are ordered by these
+ * statistics so that fast, up-to-date replicas are tried first.
+ *
+ * <p>Hosts are shuffled rather than sorted, with a probability that falls as their expected cost
+ * grows. This keeps many connections from piling onto the same replica at the same time, and still
+ * gives slow hosts an occasional chance to report better statistics. Statistics that haven't been
+ * updated for a while are forgotten.
+ */
+public class HostStatisticsRegistry {
+
+  static final double SMOOTHING_FACTOR = 0.3;
+  static final double FAILURE_PENALTY_MS = 10000;
+  static final long STATISTICS_EXPIRATION_NANO = TimeUnit.MINUTES.toNanos(5);
+
+  private static final Map<String, HostStatistics> statisticsByAlias = new ConcurrentHashMap<>();
+
+  private HostStatisticsRegistry() {
+  }
+
+  /**
+   * Record a successful connection to a host.
+   *
+   * @param hostAliases All aliases of the host.
+   * @param connectTimeNano The time it took to connect.
+   */
+  public static void recordConnectTime(final @NonNull Set<String> hostAliases, final long connectTimeNano) {
+    getOrCreateStatistics(hostAliases).recordConnectTime(TimeUnit.NANOSECONDS.toMicros(connectTimeNano) / 1000.0);
+  }
+
+  /**
+   * Record a connection attempt to a host that failed because of a network error.
+   *
+   * @param hostAliases All aliases of the host.
+   */
+  public static void recordConnectFailure(final @NonNull Set<String> hostAliases) {
+    getOrCreateStatistics(hostAliases).recordConnectFailure();
+  }
+
+  /**
+   * Record the replica lag of a host, as reported by the cluster topology.
+   *
+   * @param hostAliases All aliases of the host.
+   * @param replicaLagMs The replica lag in milliseconds.
+   */
+  public static void recordReplicaLag(final @NonNull Set<String> hostAliases, final double replicaLagMs) {
+    getOrCreateStatistics(hostAliases).recordReplicaLag(Math.max(0, replicaLagMs));
+  }
+
+  /**
+   * Get the expected cost of using a host, which is the sum of its average connect time, its
+   * average replica lag, and a penalty for its recent connect failures.
+   *
+   * @param hostSpec The host.
+   * @return the expected cost in milliseconds, or null if there are no recent statistics for the
+   *     host.
+   */
+  public static @Nullable Double getScore(final @NonNull HostSpec hostSpec) {
+    final HostStatistics statistics = getStatistics(hostSpec);
+    return statistics == null ? null : statistics.getScore();
+  }
+
+  /**
+   * Randomly reorder hosts, so that hosts with a lower expected cost are more likely to come first.
+   * Hosts without statistics are treated like a host with an average cost. If none of the hosts have
+   * statistics, all orders are equally likely.
+   *
+   * @param hosts The hosts to reorder.
+   */
+  public static void weightedShuffle(final @NonNull List<HostSpec> hosts) {
+    if (hosts.size() < 2) {
+      return;
+    }
+
+    final List<Double> scores = new ArrayList<>(hosts.size());
+    double scoreSum = 0;
+    int scoreCount = 0;
+    for (final HostSpec host : hosts) {
+      final Double score = getScore(host);
+      scores.add(score);
+      if (score != null) {
+        scoreSum += score;
+        scoreCount++;
+      }
+    }
+    final double averageScore = scoreCount == 0 ? 0 : scoreSum / scoreCount;
+
+    // Weighted random sampling without replacement: each host gets an exponentially distributed key
+    // with a rate equal to its weight, and hosts are sorted by their keys.
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final List<WeightedHost> weightedHosts = new ArrayList<>(hosts.size());
+    for (int i = 0; i < hosts.size(); i++) {
+      final Double score = scores.get(i);
+      final double weight = 1.0 / (1.0 + (score == null ? averageScore : score));
+      final double key = -Math.log(1.0 - random.nextDouble()) / weight;
+      weightedHosts.add(new WeightedHost(hosts.get(i), key));
+    }
+    weightedHosts.sort(Comparator.comparingDouble(weightedHost -> weightedHost.key));
+
+    for (int i = 0; i < hosts.size(); i++) {
+      hosts.set(i, weightedHosts.get(i).host);
+    }
+  }
+
+  /** Forget all statistics. */
+  public static void clear() {
+    statisticsByAlias.clear();
+  }
+
+  private static @Nullable HostStatistics getStatistics(final @NonNull HostSpec hostSpec) {
+    final long currentTimeNano = System.nanoTime();
+    for (final String alias : hostSpec.asAliases()) {
+      final HostStatistics statistics = statisticsByAlias.get(alias);
+      if (statistics == null) {
+        continue;
+      }
+      if (statistics.isExpired(currentTimeNano)) {
+        statisticsByAlias.remove(alias, statistics);
+        continue;
+      }
+      return statistics;
+    }
+    return null;
+  }
+
+  private static HostStatistics getOrCreateStatistics(final @NonNull Set<String> hostAliases) {
+    final long currentTimeNano = System.nanoTime();
+    HostStatistics statistics = null;
+    for (final String alias : hostAliases) {
+      final HostStatistics existingStatistics = statisticsByAlias.get(alias);
+      if (existingStatistics != null && !existingStatistics.isExpired(currentTimeNano)) {
+        statistics = existingStatistics;
+        break;
+      }
+    }
+    if (statistics == null) {
+      statistics = new HostStatistics();
+    }
+    // Share the same statistics under all aliases, so they're found however the host is referred to.
+    for (final String alias : hostAliases) {
+      statisticsByAlias.put(alias, statistics);
+    }
+    return statistics;
+  }
+
+  private static class HostStatistics {
+
+    private double connectTimeMs = Double.NaN;
+    private double replicaLagMs = Double.NaN;
+    private double failureRate = 0;
+    private volatile long updateTimeNano = System.nanoTime();
+
+    synchronized void recordConnectTime(final double connectTimeMs) {
+      this.connectTimeMs = average(this.connectTimeMs, connectTimeMs);
+      this.failureRate = average(this.failureRate, 0);
+      this.updateTimeNano = System.nanoTime();
+    }
+
+    synchronized void recordConnectFailure() {
+      this.failureRate = average(this.failureRate, 1);
+      this.updateTimeNano = System.nanoTime();
+    }
+
+    synchronized void recordReplicaLag(final double replicaLagMs) {
+      this.replicaLagMs = average(this.replicaLagMs, replicaLagMs);
+      this.updateTimeNano = System.nanoTime();
+    }
+
+    synchronized double getScore() {
+      double score = this.failureRate * FAILURE_PENALTY_MS;
+      if (!Double.isNaN(this.connectTimeMs)) {
+        score += this.connectTimeMs;
+      }
+      if (!Double.isNaN(this.replicaLagMs)) {
+        score += this.replicaLagMs;
+      }
+      return score;
+    }
+
+    boolean isExpired(final long currentTimeNano) {
+      return currentTimeNano - this.updateTimeNano >= STATISTICS_EXPIRATION_NANO;
+    }
+
+    private static double average(final double average, final double value) {
+      return Double.isNaN(average) ? value : SMOOTHING_FACTOR * value + (1 - SMOOTHING_FACTOR) * average;
+    }
+  }
+
+  private static class WeightedHost {
+
+    final HostSpec host;
+    final double key;
+
+    WeightedHost(final HostSpec host, final double key) {
+      this.host = host;
+      this.key = key;
+    }
+  }
+}
@@ -66,4 +66,16 @@ public interface PluginService {
   void forceRefreshHostList(Connection connection) throws SQLException;
 
   Connection connect(HostSpec hostSpec, Properties props) throws SQLException;
+
+  /**
+   * Get the provider that creates physical connections to the target database, without going
+   * through the connection plugins. Implementations that don't expose their provider return null,
+   * which disables the features that need to connect outside of the plugin chain, such as the
+   * background topology refresh.
+   *
+   * @return the connection provider, or null if it isn't available.
+   */
+  default @Nullable ConnectionProvider getConnectionProvider() {
+    return null;
+  }
 }
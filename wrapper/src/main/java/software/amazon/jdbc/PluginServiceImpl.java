@@ -32,6 +32,8 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import software.amazon.jdbc.cleanup.CanReleaseResources;
 import software.amazon.jdbc.hostlistprovider.StaticHostListProvider;
+import software.amazon.jdbc.hostlistprovider.TopologyChangeListener;
+import software.amazon.jdbc.hostlistprovider.VersionedHostListProvider;
 import software.amazon.jdbc.util.ExpiringCache;
 import software.amazon.jdbc.util.Messages;
 
@@ -49,8 +51,11 @@ public class PluginServiceImpl implements PluginService, CanReleaseResources, Ho
   private final String driverProtocol;
   protected volatile HostListProvider hostListProvider;
   protected List<HostSpec> hosts = new ArrayList<>();
-  protected Connection currentConnection;
-  protected HostSpec currentHostSpec;
+  // The snapshot that the hosts came from, if the host list provider is versioned.
+  protected @Nullable HostListSnapshot hostListSnapshot;
+  // Read without a lock by calls dispatched lock-free, see PropertyDefinition.LOCK_FREE_DISPATCH.
+  protected volatile Connection currentConnection;
+  protected volatile HostSpec currentHostSpec;
   protected HostSpec initialConnectionHostSpec;
   private boolean isInTransaction;
   private boolean explicitReadOnly;
@@ -144,31 +149,40 @@ public class PluginServiceImpl implements PluginService, CanReleaseResources, Ho
       if (!changes.isEmpty()) {
 
         final Connection oldConnection = this.currentConnection;
+        final EnumSet<OldConnectionSuggestedAction> pluginOpinions;
+
+        // Calls dispatched without a lock fall back to the locking path until the switch is over.
+        this.pluginManager.beginChainUpdate();
+        try {
+          this.currentConnection = connection;
+          this.currentHostSpec = hostSpec;
+          this.setInTransaction(false);
+
+          pluginOpinions = this.pluginManager.notifyConnectionChanged(changes, skipNotificationForThisPlugin);
+        } finally {
+          this.pluginManager.endChainUpdate();
+        }
 
-        this.currentConnection = connection;
-        this.currentHostSpec = hostSpec;
-        this.setInTransaction(false);
-
-        final EnumSet<OldConnectionSuggestedAction> pluginOpinions = this.pluginManager.notifyConnectionChanged(
-            changes, skipNotificationForThisPlugin);
-
-        final boolean shouldCloseConnection =
-            changes.contains(NodeChangeOptions.CONNECTION_OBJECT_CHANGED)
-                && !oldConnection.isClosed()
-                && !pluginOpinions.contains(OldConnectionSuggestedAction.PRESERVE);
-
-        if (shouldCloseConnection) {
-          try {
-            oldConnection.close();
-          } catch (final SQLException e) {
-            // Ignore any exception
-          }
+        if (changes.contains(NodeChangeOptions.CONNECTION_OBJECT_CHANGED)
+            && !pluginOpinions.contains(OldConnectionSuggestedAction.PRESERVE)) {
+          // Calls dispatched without the lock may still be running on the old connection.
+          this.pluginManager.runAfterLockFreeCalls(() -> closeQuietly(oldConnection));
         }
       }
       return changes;
     }
   }
 
+  private static void closeQuietly(final Connection connection) {
+    try {
+      if (!connection.isClosed()) {
+        connection.close();
+      }
+    } catch (final SQLException e) {
+      // Ignore any exception
+    }
+  }
+
   protected EnumSet<NodeChangeOptions> compare(
       final @NonNull Connection connA,
       final @NonNull HostSpec hostSpecA,
@@ -231,6 +245,9 @@ public class PluginServiceImpl implements PluginService, CanReleaseResources, Ho
       return;
     }
 
+    // Share the report with all connections, including those with hosts this connection doesn't know.
+    HostHealthRegistry.setAvailability(hostAliases, availability);
+
     final List<HostSpec> hostsToChange = this.getHosts().stream()
         .filter((host) -> hostAliases.contains(host.asAlias())
             || host.getAliases().stream().anyMatch(hostAliases::contains))
@@ -259,6 +276,11 @@ public class PluginServiceImpl implements PluginService, CanReleaseResources, Ho
     }
 
     if (!changes.isEmpty()) {
+      if (availability == HostAvailability.NOT_AVAILABLE
+          && this.hostListProvider instanceof TopologyChangeListener) {
+        // A host going down may be the start of a failover, so check the topology more often for a while.
+        ((TopologyChangeListener) this.hostListProvider).onTopologyChangeSuspected();
+      }
       this.pluginManager.notifyNodeListChanged(changes);
     }
   }
@@ -297,8 +319,7 @@ public class PluginServiceImpl implements PluginService, CanReleaseResources, Ho
   public void refreshHostList() throws SQLException {
     final List<HostSpec> updatedHostList = this.getHostListProvider().refresh();
     if (updatedHostList != null) {
-      updateHostAvailability(updatedHostList);
-      setNodeList(this.hosts, updatedHostList);
+      updateHostList(updatedHostList);
     }
   }
 
@@ -306,8 +327,7 @@ public class PluginServiceImpl implements PluginService, CanReleaseResources, Ho
   public void refreshHostList(final Connection connection) throws SQLException {
     final List<HostSpec> updatedHostList = this.getHostListProvider().refresh(connection);
     if (updatedHostList != null) {
-      updateHostAvailability(updatedHostList);
-      setNodeList(this.hosts, updatedHostList);
+      updateHostList(updatedHostList);
     }
   }
 
@@ -315,8 +335,7 @@ public class PluginServiceImpl implements PluginService, CanReleaseResources, Ho
   public void forceRefreshHostList() throws SQLException {
     final List<HostSpec> updatedHostList = this.getHostListProvider().forceRefresh();
     if (updatedHostList != null) {
-      updateHostAvailability(updatedHostList);
-      setNodeList(this.hosts, updatedHostList);
+      updateHostList(updatedHostList);
     }
   }
 
@@ -324,9 +343,61 @@ public class PluginServiceImpl implements PluginService, CanReleaseResources, Ho
   public void forceRefreshHostList(final Connection connection) throws SQLException {
     final List<HostSpec> updatedHostList = this.getHostListProvider().forceRefresh(connection);
     if (updatedHostList != null) {
+      updateHostList(updatedHostList);
+    }
+  }
+
+  private void updateHostList(final @NonNull List<HostSpec> updatedHostList) {
+    final HostListProvider provider = this.getHostListProvider();
+    final HostListSnapshot snapshot = provider instanceof VersionedHostListProvider
+        ? ((VersionedHostListProvider) provider).getHostListSnapshot()
+        : null;
+    if (snapshot == null) {
       updateHostAvailability(updatedHostList);
       setNodeList(this.hosts, updatedHostList);
+      this.hostListSnapshot = null;
+      return;
     }
+
+    // The hosts of a snapshot are shared by all connections that use it, so each connection keeps
+    // copies of them with the availability it knows about.
+    if (this.hostListSnapshot == null) {
+      final List<HostSpec> hosts = copyHosts(snapshot.getHosts());
+      setNodeList(this.hosts, hosts);
+      this.hosts = hosts;
+      this.hostListSnapshot = snapshot;
+      return;
+    }
+
+    if (snapshot.getVersion() == this.hostListSnapshot.getVersion()) {
+      // Reports that have expired since the last refresh no longer apply.
+      for (final HostSpec host : this.hosts) {
+        final HostSpec snapshotHost = snapshot.getHost(host.getUrl());
+        if (snapshotHost != null) {
+          host.setAvailability(getKnownAvailability(snapshotHost));
+        }
+      }
+      return;
+    }
+
+    // Connections that were up to date share the changes computed when the topology was refreshed.
+    final Map<String, EnumSet<NodeChangeOptions>> changes = snapshot.getChangesSince(this.hostListSnapshot);
+    this.hostListSnapshot = snapshot;
+    this.hosts = copyHosts(snapshot.getHosts());
+    if (!changes.isEmpty()) {
+      this.pluginManager.notifyNodeListChanged(changes);
+    }
+  }
+
+  private static List<HostSpec> copyHosts(final List<HostSpec> hosts) {
+    final List<HostSpec> copies = new ArrayList<>(hosts.size());
+    for (final HostSpec host : hosts) {
+      final HostSpec copy =
+          new HostSpec(host.getHost(), host.getPort(), host.getRole(), getKnownAvailability(host));
+      copy.addAlias(host.getAliases().toArray(new String[0]));
+      copies.add(copy);
+    }
+    return copies;
   }
 
   void setNodeList(@Nullable final List<HostSpec> oldHosts,
@@ -384,13 +455,24 @@ public class PluginServiceImpl implements PluginService, CanReleaseResources, Ho
     return this.pluginManager.connect(this.driverProtocol, hostSpec, props, this.currentConnection == null);
   }
 
+  @Override
+  public ConnectionProvider getConnectionProvider() {
+    return this.pluginManager.getConnectionProvider();
+  }
+
   private void updateHostAvailability(final List<HostSpec> hosts) {
     for (HostSpec host : hosts) {
-      final HostAvailability availability = hostAvailabilityExpiringCache.get(host.getUrl());
-      if (availability != null) {
-        host.setAvailability(availability);
-      }
+      host.setAvailability(getKnownAvailability(host));
+    }
+  }
+
+  private static HostAvailability getKnownAvailability(final HostSpec host) {
+    // Recent reports from any connection are at least as fresh as the cached availability.
+    HostAvailability availability = HostHealthRegistry.getAvailability(host);
+    if (availability == null) {
+      availability = hostAvailabilityExpiringCache.get(host.getUrl());
     }
+    return availability != null ? availability : host.getAvailability();
   }
 
   @Override
@@ -45,6 +45,12 @@ public class PropertyDefinition {
       new AwsWrapperProperty(
           "wrapperPlugins", null, "Comma separated list of connection plugin codes");
 
+  public static final AwsWrapperProperty LOCK_FREE_DISPATCH =
+      new AwsWrapperProperty(
+          "wrapperLockFreeDispatch", "false",
+          "Execute JDBC calls without taking the plugin manager lock. "
+              + "A replaced connection is closed once such calls complete");
+
   public static final AwsWrapperProperty PROFILE_NAME =
       new AwsWrapperProperty(
           "wrapperProfileName", null, "Driver configuration profile name");
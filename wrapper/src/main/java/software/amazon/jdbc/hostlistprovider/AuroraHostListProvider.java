@@ -28,27 +28,39 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import software.amazon.jdbc.AwsWrapperProperty;
+import software.amazon.jdbc.ConnectionProvider;
 import software.amazon.jdbc.HostListProvider;
 import software.amazon.jdbc.HostListProviderService;
+import software.amazon.jdbc.HostListSnapshot;
 import software.amazon.jdbc.HostRole;
 import software.amazon.jdbc.HostSpec;
+import software.amazon.jdbc.HostStatisticsRegistry;
+import software.amazon.jdbc.PluginService;
 import software.amazon.jdbc.util.ConnectionUrlParser;
 import software.amazon.jdbc.util.ExpiringCache;
 import software.amazon.jdbc.util.Messages;
+import software.amazon.jdbc.util.PropertyUtils;
 import software.amazon.jdbc.util.RdsUrlType;
 import software.amazon.jdbc.util.RdsUtils;
 import software.amazon.jdbc.util.StringUtils;
 import software.amazon.jdbc.util.Utils;
 
-public class AuroraHostListProvider implements HostListProvider, DynamicHostListProvider {
+public class AuroraHostListProvider
+    implements HostListProvider, DynamicHostListProvider, TopologyChangeListener, VersionedHostListProvider {
 
   public static final AwsWrapperProperty CLUSTER_TOPOLOGY_REFRESH_RATE_MS =
       new AwsWrapperProperty(
@@ -58,6 +70,35 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
               + "The cached topology for the cluster will be invalidated after the specified time, "
               + "after which it will be updated during the next interaction with the connection.");
 
+  public static final AwsWrapperProperty CLUSTER_TOPOLOGY_HIGH_REFRESH_RATE_MS =
+      new AwsWrapperProperty(
+          "clusterTopologyHighRefreshRateMs",
+          "100",
+          "Cluster topology refresh rate in millis while the topology is suspected to be changing, "
+              + "for example after the writer changed, a reader was added or a host went down. "
+              + "Set to 0 to always refresh at the rate set by 'clusterTopologyRefreshRateMs'.");
+
+  public static final AwsWrapperProperty CLUSTER_TOPOLOGY_STABLE_PERIOD_MS =
+      new AwsWrapperProperty(
+          "clusterTopologyStablePeriodMs",
+          "30000",
+          "Time in millis after the last suspected topology change, after which the topology is refreshed "
+              + "at the rate set by 'clusterTopologyRefreshRateMs' again.");
+
+  public static final AwsWrapperProperty CLUSTER_TOPOLOGY_SERVE_STALE =
+      new AwsWrapperProperty(
+          "clusterTopologyServeStale",
+          "false",
+          "Use the outdated cached topology instead of waiting while another connection to the same cluster "
+              + "is fetching the latest topology.");
+
+  public static final AwsWrapperProperty CLUSTER_TOPOLOGY_BACKGROUND_REFRESH =
+      new AwsWrapperProperty(
+          "clusterTopologyBackgroundRefresh",
+          "false",
+          "Keep the cached topology of the cluster up to date on a background thread with a dedicated "
+              + "connection, instead of querying it with the application's connections when it's outdated.");
+
   public static final AwsWrapperProperty CLUSTER_ID = new AwsWrapperProperty(
       "clusterId", "",
       "A unique identifier for the cluster. "
@@ -85,6 +126,7 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
           + "WHERE time_to_sec(timediff(now(), LAST_UPDATE_TIMESTAMP)) <= 300 " // 5 min
           + "ORDER BY LAST_UPDATE_TIMESTAMP";
   static final int DEFAULT_CACHE_EXPIRE_MS = 5 * 60 * 1000; // 5 min
+  static final int TOPOLOGY_REFRESH_WAIT_MS = 5000; // 5 sec
   static final String MYSQL_GET_INSTANCE_NAME_SQL = "SELECT @@aurora_server_id";
   static final String MYSQL_GET_INSTANCE_NAME_COL = "@@aurora_server_id";
   static final String PG_GET_INSTANCE_NAME_SQL = "SELECT aurora_db_instance_identifier()";
@@ -92,6 +134,7 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
   static final String WRITER_SESSION_ID = "MASTER_SESSION_ID";
   static final String FIELD_SERVER_ID = "SERVER_ID";
   static final String FIELD_SESSION_ID = "SESSION_ID";
+  static final String FIELD_REPLICA_LAG = "REPLICA_LAG_IN_MILLISECONDS";
   private final HostListProviderService hostListProviderService;
   private final String originalUrl;
   private RdsUrlType rdsUrlType;
@@ -101,8 +144,12 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
       CLUSTER_TOPOLOGY_REFRESH_RATE_MS.defaultValue != null
           ? CLUSTER_TOPOLOGY_REFRESH_RATE_MS.defaultValue
           : "30000");
+  private int highRefreshRateInMilliseconds = Integer.parseInt(CLUSTER_TOPOLOGY_HIGH_REFRESH_RATE_MS.defaultValue);
+  private long stablePeriodInNanos = TimeUnit.MILLISECONDS.toNanos(
+      Long.parseLong(CLUSTER_TOPOLOGY_STABLE_PERIOD_MS.defaultValue));
   private List<HostSpec> hostList = new ArrayList<>();
   private List<HostSpec> lastReturnedHostList;
+  private @Nullable HostListSnapshot lastReturnedSnapshot;
   private List<HostSpec> initialHostList = new ArrayList<>();
   private HostSpec initialHostSpec;
 
@@ -110,7 +157,17 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
       new ExpiringCache<>(DEFAULT_CACHE_EXPIRE_MS, getOnEvict());
   private static final Object cacheLock = new Object();
 
+  // The clusterIds of the cached topologies that contain a host, by host URL. It's updated with
+  // topologyCache, so that a clusterId can be suggested without scanning every cached topology.
+  private static final Map<String, Set<String>> clusterIdsByHostUrl = new ConcurrentHashMap<>();
+
+  // Topology queries in progress, by clusterId. Connections that need a refresh while one is in
+  // progress wait for its result instead of running the same query.
+  private static final Map<String, CompletableFuture<ClusterTopologyInfo>> topologyRefreshes =
+      new ConcurrentHashMap<>();
+
   private static final String PG_DRIVER_PROTOCOL = "postgresql";
+  private final String driverProtocol;
   private final String retrieveTopologyQuery;
   private final String retrieveInstanceQuery;
   private final String instanceNameCol;
@@ -123,6 +180,8 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
   protected boolean isPrimaryClusterId;
 
   protected boolean isInitialized = false;
+  protected boolean serveStaleTopology = false;
+  protected boolean useBackgroundRefresh = false;
 
   private static final Logger LOGGER = Logger.getLogger(AuroraHostListProvider.class.getName());
 
@@ -143,6 +202,7 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
       final String originalUrl,
       final ConnectionUrlParser connectionUrlParser) {
     this.rdsHelper = new RdsUtils();
+    this.driverProtocol = driverProtocol;
     this.hostListProviderService = hostListProviderService;
     this.properties = properties;
     this.originalUrl = originalUrl;
@@ -163,9 +223,30 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
     return (ClusterTopologyInfo evictedEntry) -> {
       LOGGER.finest(() -> "Entry with clusterId '" + evictedEntry.clusterId
           + "' has been evicted from the topology cache.");
+      onTopologyEvicted(evictedEntry);
     };
   }
 
+  /**
+   * Remove an evicted topology from the index of cached topologies by host URL.
+   *
+   * @param evictedEntry The evicted topology.
+   */
+  static void onTopologyEvicted(final ClusterTopologyInfo evictedEntry) {
+    try {
+      topologyCache.getLock().lock();
+      // The cluster may have been cached again after the entry was removed, and before this
+      // callback ran. The hosts of the new entry stay in the index.
+      final ClusterTopologyInfo currentEntry = topologyCache.get(evictedEntry.clusterId);
+      updateHostIndex(
+          evictedEntry.clusterId,
+          evictedEntry.hosts,
+          currentEntry == null || currentEntry == evictedEntry ? null : currentEntry.hosts);
+    } finally {
+      topologyCache.getLock().unlock();
+    }
+  }
+
   protected void init() throws SQLException {
     if (this.isInitialized) {
       return;
@@ -183,6 +264,12 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
     this.clusterId = UUID.randomUUID().toString();
     this.isPrimaryClusterId = false;
     this.refreshRateInMilliseconds = CLUSTER_TOPOLOGY_REFRESH_RATE_MS.getInteger(properties);
+    this.highRefreshRateInMilliseconds = CLUSTER_TOPOLOGY_HIGH_REFRESH_RATE_MS.getInteger(properties);
+    this.stablePeriodInNanos =
+        TimeUnit.MILLISECONDS.toNanos(CLUSTER_TOPOLOGY_STABLE_PERIOD_MS.getLong(properties));
+    this.serveStaleTopology = CLUSTER_TOPOLOGY_SERVE_STALE.getBoolean(properties);
+    this.useBackgroundRefresh = CLUSTER_TOPOLOGY_BACKGROUND_REFRESH.getBoolean(properties)
+        && this.hostListProviderService instanceof PluginService;
     this.clusterInstanceTemplate = CLUSTER_INSTANCE_HOST_PATTERN.getString(this.properties) == null
         ? new HostSpec(rdsHelper.getRdsInstanceHostPattern(originalUrl))
         : new HostSpec(CLUSTER_INSTANCE_HOST_PATTERN.getString(this.properties));
@@ -221,7 +308,9 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
   /**
    * Get cluster topology. It may require an extra call to database to fetch the latest topology. A
    * cached copy of topology is returned if it's not yet outdated (controlled by {@link
-   * #refreshRateInMilliseconds}).
+   * #refreshRateInMilliseconds}). Only one connection at a time queries the topology of a cluster,
+   * unless an update is forced; the others wait for its result, or return the outdated copy if
+   * {@link #CLUSTER_TOPOLOGY_SERVE_STALE} is set.
    *
    * @param conn A connection to database to fetch the latest topology, if needed.
    * @param forceUpdate If true, it forces a service to ignore cached copy of topology and to fetch
@@ -250,6 +339,17 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
     // Remember a flag to do suggestion after cache is updated.
     boolean needToSuggest = clusterTopologyInfo == null && this.isPrimaryClusterId;
 
+    if (!forceUpdate
+        && clusterTopologyInfo != null
+        && !clusterTopologyInfo.hosts.isEmpty()
+        && this.useBackgroundRefresh
+        && ClusterTopologyRefresher.isUpToDate(
+            this.clusterId,
+            TimeUnit.MILLISECONDS.toNanos(getRefreshRateMs(clusterTopologyInfo) + TOPOLOGY_REFRESH_WAIT_MS))) {
+      // the background refresher keeps the cached topology up to date
+      return new FetchTopologyResult(true, clusterTopologyInfo.hosts);
+    }
+
     if (clusterTopologyInfo == null
         || clusterTopologyInfo.hosts.isEmpty()
         || forceUpdate
@@ -262,19 +362,22 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
         // return original hosts parsed from connection string
         return new FetchTopologyResult(false, this.initialHostList);
 
+      } else if (!forceUpdate
+          && this.serveStaleTopology
+          && clusterTopologyInfo != null
+          && !clusterTopologyInfo.hosts.isEmpty()
+          && topologyRefreshes.containsKey(this.clusterId)) {
+        // another connection is fetching the latest topology
+        return new FetchTopologyResult(true, clusterTopologyInfo.hosts);
+
       } else {
         // fetch topology from the DB
-        final ClusterTopologyInfo latestTopologyInfo = queryForTopology(conn);
-
-        if (latestTopologyInfo != null && !latestTopologyInfo.hosts.isEmpty()) {
-          // topology looks valid
-          clusterTopologyInfo = updateCache(clusterTopologyInfo, latestTopologyInfo);
-
-          if (needToSuggest) {
-            this.suggestPrimaryCluster(clusterTopologyInfo);
-          }
+        final ClusterTopologyInfo latestTopologyInfo = forceUpdate
+            ? fetchTopology(conn, clusterTopologyInfo, needToSuggest)
+            : fetchTopologyOnce(conn, clusterTopologyInfo, needToSuggest);
 
-          return new FetchTopologyResult(false, clusterTopologyInfo.hosts);
+        if (latestTopologyInfo != null) {
+          return new FetchTopologyResult(false, latestTopologyInfo.hosts);
 
         } else {
           if (clusterTopologyInfo != null && !forceUpdate) {
@@ -291,25 +394,114 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
     return new FetchTopologyResult(true, clusterTopologyInfo.hosts);
   }
 
-  private ClusterSuggestedResult getSuggestedClusterId(final String url) {
-    for (Entry<String, ClusterTopologyInfo> entry : topologyCache.entrySet()) {
-      final String key = entry.getKey();
-      final ClusterTopologyInfo value = entry.getValue();
-      if (key.equals(url)) {
-        return new ClusterSuggestedResult(url, value.isPrimaryCluster);
+  /**
+   * Fetch the topology from the database, unless another connection to the same cluster is already
+   * doing so, in which case wait for its result. If it fails or takes too long, fetch the topology
+   * with the given connection instead.
+   *
+   * @param conn A connection to database to fetch the latest topology.
+   * @param clusterTopologyInfo The cached topology, or null if there is none.
+   * @param needToSuggest True if this clusterId needs to be suggested to other cache entries.
+   * @return the updated topology in the cache, or null if the topology query returned an invalid
+   *     topology.
+   * @throws SQLException if errors occurred while retrieving the topology.
+   */
+  private @Nullable ClusterTopologyInfo fetchTopologyOnce(
+      final Connection conn,
+      final @Nullable ClusterTopologyInfo clusterTopologyInfo,
+      final boolean needToSuggest) throws SQLException {
+
+    final String refreshClusterId = this.clusterId;
+    final CompletableFuture<ClusterTopologyInfo> refresh = new CompletableFuture<>();
+    final CompletableFuture<ClusterTopologyInfo> refreshInProgress =
+        topologyRefreshes.putIfAbsent(refreshClusterId, refresh);
+
+    if (refreshInProgress == null) {
+      try {
+        final ClusterTopologyInfo latestTopologyInfo = fetchTopology(conn, clusterTopologyInfo, needToSuggest);
+        refresh.complete(latestTopologyInfo);
+        return latestTopologyInfo;
+      } catch (final SQLException | RuntimeException e) {
+        refresh.completeExceptionally(e);
+        throw e;
+      } finally {
+        topologyRefreshes.remove(refreshClusterId, refresh);
       }
-      if (value.hosts == null) {
+    }
+
+    try {
+      return refreshInProgress.get(TOPOLOGY_REFRESH_WAIT_MS, TimeUnit.MILLISECONDS);
+    } catch (final ExecutionException | TimeoutException e) {
+      // The other connection couldn't fetch the topology, maybe because its own connection is broken.
+      LOGGER.finest(() -> Messages.get("AuroraHostListProvider.sharedTopologyRefreshFailed",
+          new Object[]{refreshClusterId}));
+      return fetchTopology(conn, clusterTopologyInfo, needToSuggest);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException(Messages.get("AuroraHostListProvider.interruptedTopologyRefresh"), "70100", e);
+    }
+  }
+
+  /**
+   * Fetch the topology from the database and store it in the cache.
+   *
+   * @param conn A connection to database to fetch the latest topology.
+   * @param clusterTopologyInfo The cached topology, or null if there is none.
+   * @param needToSuggest True if this clusterId needs to be suggested to other cache entries.
+   * @return the updated topology in the cache, or null if the topology query returned an invalid
+   *     topology.
+   * @throws SQLException if errors occurred while retrieving the topology.
+   */
+  private @Nullable ClusterTopologyInfo fetchTopology(
+      final Connection conn,
+      final @Nullable ClusterTopologyInfo clusterTopologyInfo,
+      final boolean needToSuggest) throws SQLException {
+
+    final ClusterTopologyInfo latestTopologyInfo = queryForTopology(conn);
+    if (latestTopologyInfo == null || latestTopologyInfo.hosts.isEmpty()) {
+      return null;
+    }
+
+    // topology looks valid
+    final ClusterTopologyInfo updatedTopologyInfo = updateCache(clusterTopologyInfo, latestTopologyInfo);
+    if (needToSuggest) {
+      this.suggestPrimaryCluster(updatedTopologyInfo);
+    }
+    return updatedTopologyInfo;
+  }
+
+  private ClusterSuggestedResult getSuggestedClusterId(final String url) {
+    final ClusterTopologyInfo clusterTopologyInfo = topologyCache.get(url);
+    if (clusterTopologyInfo != null) {
+      return new ClusterSuggestedResult(url, clusterTopologyInfo.isPrimaryCluster);
+    }
+
+    final Set<String> clusterIds = clusterIdsByHostUrl.get(url);
+    if (clusterIds == null) {
+      return null;
+    }
+
+    // Prefer a primary clusterId, if the host is in more than one cached topology.
+    ClusterSuggestedResult result = null;
+    for (final String clusterId : clusterIds) {
+      final ClusterTopologyInfo value = topologyCache.get(clusterId);
+      if (value == null) {
         continue;
       }
-      for (HostSpec host : value.hosts) {
-        if (host.getUrl().equals(url)) {
-          LOGGER.finest(() -> Messages.get("AuroraHostListProvider.suggestedClusterId",
-              new Object[]{key, url}));
-          return new ClusterSuggestedResult(key, value.isPrimaryCluster);
-        }
+      if (result == null || value.isPrimaryCluster) {
+        result = new ClusterSuggestedResult(clusterId, value.isPrimaryCluster);
+      }
+      if (value.isPrimaryCluster) {
+        break;
       }
     }
-    return null;
+
+    if (result != null) {
+      final String suggestedClusterId = result.clusterId;
+      LOGGER.finest(() -> Messages.get("AuroraHostListProvider.suggestedClusterId",
+          new Object[]{suggestedClusterId, url}));
+    }
+    return result;
   }
 
   protected void suggestPrimaryCluster(final @NonNull ClusterTopologyInfo primaryClusterTopologyInfo) {
@@ -317,39 +509,113 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
       return;
     }
 
-    final Set<String> primaryClusterHostUrls = new HashSet<>();
+    // The cached topologies that share an instance with the primary cluster
+    final Set<String> clusterIds = new HashSet<>();
     for (final HostSpec hostSpec : primaryClusterTopologyInfo.hosts) {
-      primaryClusterHostUrls.add(hostSpec.getUrl());
+      final Set<String> hostClusterIds = clusterIdsByHostUrl.get(hostSpec.getUrl());
+      if (hostClusterIds != null) {
+        clusterIds.addAll(hostClusterIds);
+      }
     }
-
-    for (Entry<String, ClusterTopologyInfo> entry : topologyCache.entrySet()) {
-      if (entry.getValue().isPrimaryCluster
-          || !StringUtils.isNullOrEmpty(entry.getValue().suggestedPrimaryClusterId)
-          || Utils.isNullOrEmpty(entry.getValue().hosts)) {
+    clusterIds.remove(primaryClusterTopologyInfo.clusterId);
+
+    for (final String clusterId : clusterIds) {
+      final ClusterTopologyInfo clusterTopologyInfo = topologyCache.get(clusterId);
+      if (clusterTopologyInfo == null
+          || clusterTopologyInfo.isPrimaryCluster
+          || !StringUtils.isNullOrEmpty(clusterTopologyInfo.suggestedPrimaryClusterId)
+          || Utils.isNullOrEmpty(clusterTopologyInfo.hosts)) {
         continue;
       }
 
       // The entry is non-primary
-      for (HostSpec host : entry.getValue().hosts) {
-        if (primaryClusterHostUrls.contains(host.getUrl())) {
-          // Instance on this cluster matches with one of the instance on primary cluster
-          // Suggest the primary clusterId to this entry
-          try {
-            topologyCache.getLock().lock();
-            entry.getValue().suggestedPrimaryClusterId = primaryClusterTopologyInfo.clusterId;
-          } finally {
-            topologyCache.getLock().unlock();
+      // Suggest the primary clusterId to this entry
+      try {
+        topologyCache.getLock().lock();
+        clusterTopologyInfo.suggestedPrimaryClusterId = primaryClusterTopologyInfo.clusterId;
+      } finally {
+        topologyCache.getLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * Update the index of cached topologies by host URL after the hosts of a cached topology changed.
+   *
+   * @param clusterId The clusterId of the cached topology.
+   * @param oldHosts The hosts of the topology before the change, or null if it wasn't cached.
+   * @param newHosts The hosts of the topology after the change, or null if it was removed.
+   */
+  private static void updateHostIndex(
+      final String clusterId,
+      final @Nullable List<HostSpec> oldHosts,
+      final @Nullable List<HostSpec> newHosts) {
+
+    final Set<String> newHostUrls = new HashSet<>();
+    if (newHosts != null) {
+      for (final HostSpec hostSpec : newHosts) {
+        newHostUrls.add(hostSpec.getUrl());
+      }
+    }
+
+    try {
+      topologyCache.getLock().lock();
+      if (oldHosts != null) {
+        for (final HostSpec hostSpec : oldHosts) {
+          if (newHostUrls.contains(hostSpec.getUrl())) {
+            continue;
           }
-          break;
+          clusterIdsByHostUrl.computeIfPresent(hostSpec.getUrl(), (url, clusterIds) -> {
+            clusterIds.remove(clusterId);
+            return clusterIds.isEmpty() ? null : clusterIds;
+          });
         }
       }
+      for (final String hostUrl : newHostUrls) {
+        clusterIdsByHostUrl.computeIfAbsent(hostUrl, (url) -> ConcurrentHashMap.newKeySet()).add(clusterId);
+      }
+    } finally {
+      topologyCache.getLock().unlock();
     }
   }
 
   private boolean refreshNeeded(final ClusterTopologyInfo info) {
     final Instant lastUpdateTime = info.lastUpdated;
     return info.hosts.isEmpty()
-        || Duration.between(lastUpdateTime, Instant.now()).toMillis() > refreshRateInMilliseconds;
+        || Duration.between(lastUpdateTime, Instant.now()).toMillis() > getRefreshRateMs(info);
+  }
+
+  /**
+   * Get the current topology refresh rate of the cluster. It's the rate set by {@link
+   * #CLUSTER_TOPOLOGY_HIGH_REFRESH_RATE_MS} while a topology change is suspected, and the rate set by
+   * {@link #CLUSTER_TOPOLOGY_REFRESH_RATE_MS} once the topology has been stable for {@link
+   * #CLUSTER_TOPOLOGY_STABLE_PERIOD_MS}.
+   *
+   * @return the refresh rate in millis.
+   */
+  public int getRefreshRateMs() {
+    return getRefreshRateMs(topologyCache.get(this.clusterId));
+  }
+
+  private int getRefreshRateMs(final @Nullable ClusterTopologyInfo info) {
+    if (this.highRefreshRateInMilliseconds > 0
+        && info != null
+        && info.isChangeSuspected(this.stablePeriodInNanos)) {
+      return Math.min(this.highRefreshRateInMilliseconds, this.refreshRateInMilliseconds);
+    }
+    return this.refreshRateInMilliseconds;
+  }
+
+  @Override
+  public void onTopologyChangeSuspected() {
+    if (this.clusterId == null) {
+      return;
+    }
+    final ClusterTopologyInfo info = topologyCache.get(this.clusterId);
+    if (info != null) {
+      info.suspectChange();
+    }
+    ClusterTopologyRefresher.wakeUp(this.clusterId);
   }
 
   /**
@@ -443,6 +709,14 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
     final HostSpec hostSpec =
         new HostSpec(endpoint, port, isWriter ? HostRole.WRITER : HostRole.READER);
     hostSpec.addAlias(hostName);
+
+    // Only the MySQL topology query returns the replica lag.
+    if (!isWriter && MYSQL_RETRIEVE_TOPOLOGY_SQL.equals(this.retrieveTopologyQuery)) {
+      final double replicaLagMs = resultSet.getDouble(FIELD_REPLICA_LAG);
+      if (!resultSet.wasNull()) {
+        HostStatisticsRegistry.recordReplicaLag(hostSpec.asAliases(), replicaLagMs);
+      }
+    }
     return hostSpec;
   }
 
@@ -474,7 +748,13 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
 
     if (clusterTopologyInfo == null) {
       // Add a new entry to the cache
-      topologyCache.put(latestTopologyInfo.clusterId, latestTopologyInfo);
+      latestTopologyInfo.getSnapshot();
+      final ClusterTopologyInfo expiredTopologyInfo =
+          topologyCache.put(latestTopologyInfo.clusterId, latestTopologyInfo);
+      updateHostIndex(
+          latestTopologyInfo.clusterId,
+          expiredTopologyInfo == null ? null : expiredTopologyInfo.hosts,
+          latestTopologyInfo.hosts);
       return latestTopologyInfo;
 
     }
@@ -484,7 +764,7 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
       try {
         topologyCache.getLock().lock();
 
-        clusterTopologyInfo.hosts = latestTopologyInfo.hosts;
+        updateHosts(clusterTopologyInfo, latestTopologyInfo.hosts);
         clusterTopologyInfo.lastUpdated = Instant.now();
 
         // It's not necessary, but it forces the cache to check for entries to evict
@@ -507,7 +787,7 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
       try {
         topologyCache.getLock().lock();
 
-        primaryClusterTopologyInfo.hosts = latestTopologyInfo.hosts;
+        updateHosts(primaryClusterTopologyInfo, latestTopologyInfo.hosts);
         primaryClusterTopologyInfo.lastUpdated = Instant.now();
 
         // It's not necessary, but it forces the cache to check for entries to evict
@@ -521,10 +801,34 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
 
     // That's suspicious path. Primary entry doesn't exist.
     // Let's create it.
-    topologyCache.put(latestTopologyInfo.clusterId, latestTopologyInfo);
+    latestTopologyInfo.getSnapshot();
+    final ClusterTopologyInfo expiredTopologyInfo =
+        topologyCache.put(latestTopologyInfo.clusterId, latestTopologyInfo);
+    updateHostIndex(
+        latestTopologyInfo.clusterId,
+        expiredTopologyInfo == null ? null : expiredTopologyInfo.hosts,
+        latestTopologyInfo.hosts);
     return latestTopologyInfo;
   }
 
+  /**
+   * Replace the hosts of a cached topology. If the hosts or their roles changed, a new snapshot of
+   * the topology is created, with the changes that all connections to the cluster will share.
+   * Otherwise, the cached host list is kept as it is.
+   *
+   * @param clusterTopologyInfo The cached topology.
+   * @param latestHosts The hosts returned by the latest topology query.
+   */
+  private static void updateHosts(
+      final ClusterTopologyInfo clusterTopologyInfo, final List<HostSpec> latestHosts) {
+    final HostListSnapshot previousSnapshot = clusterTopologyInfo.getSnapshot();
+    final HostListSnapshot snapshot = clusterTopologyInfo.setHosts(latestHosts);
+    if (snapshot != previousSnapshot) {
+      clusterTopologyInfo.suspectChange();
+      updateHostIndex(clusterTopologyInfo.clusterId, previousSnapshot.getHosts(), snapshot.getHosts());
+    }
+  }
+
   /**
    * Get cached topology.
    *
@@ -584,12 +888,29 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
     return null;
   }
 
+  @Override
+  public @Nullable HostListSnapshot getHostListSnapshot() {
+    return this.lastReturnedSnapshot;
+  }
+
+  private @Nullable HostListSnapshot getSnapshot(final List<HostSpec> hosts) {
+    final ClusterTopologyInfo clusterTopologyInfo = topologyCache.get(this.clusterId);
+    if (clusterTopologyInfo == null) {
+      return null;
+    }
+    final HostListSnapshot snapshot = clusterTopologyInfo.getSnapshot();
+    // The hosts may have come from somewhere else, such as the connection string.
+    return snapshot.getHosts() == hosts ? snapshot : null;
+  }
+
   /**
    * Clear topology cache for all clusters.
    */
   public void clearAll() {
+    ClusterTopologyRefresher.stopAll();
     synchronized (cacheLock) {
       topologyCache.clear();
+      clusterIdsByHostUrl.clear();
     }
   }
 
@@ -598,7 +919,10 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
    */
   public void clear() {
     synchronized (cacheLock) {
-      topologyCache.remove(this.clusterId);
+      final ClusterTopologyInfo clusterTopologyInfo = topologyCache.remove(this.clusterId);
+      if (clusterTopologyInfo != null) {
+        updateHostIndex(this.clusterId, clusterTopologyInfo.hosts, null);
+      }
     }
   }
 
@@ -616,6 +940,7 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
 
     final FetchTopologyResult results = getTopology(currentConnection, false);
     LOGGER.finest(() -> Utils.logTopology(results.hosts));
+    this.startBackgroundRefresh();
 
     if (results.isCachedData && this.lastReturnedHostList == results.hosts) {
       return null; // no topology update
@@ -623,9 +948,63 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
 
     this.hostList = results.hosts;
     this.lastReturnedHostList = this.hostList;
+    this.lastReturnedSnapshot = this.getSnapshot(results.hosts);
     return Collections.unmodifiableList(hostList);
   }
 
+  /**
+   * Start the background refresher of the cluster if it's enabled and not running yet, and keep it
+   * from stopping while this connection uses the cluster topology.
+   */
+  private void startBackgroundRefresh() {
+    if (!this.useBackgroundRefresh) {
+      return;
+    }
+    final ConnectionProvider connectionProvider = this.hostListProviderService instanceof PluginService
+        ? ((PluginService) this.hostListProviderService).getConnectionProvider()
+        : null;
+    if (connectionProvider == null) {
+      LOGGER.fine(() -> Messages.get(
+          "AuroraHostListProvider.backgroundRefreshUnavailable", new Object[]{this.clusterId}));
+      this.useBackgroundRefresh = false;
+      return;
+    }
+    ClusterTopologyRefresher.startIfAbsent(
+        this.clusterId,
+        this::copyForBackgroundRefresh,
+        connectionProvider,
+        this.driverProtocol,
+        this.initialHostSpec,
+        this.properties);
+  }
+
+  /**
+   * Create a provider for a background refresher. It shares the topology cache with this provider,
+   * but not its connection, so it can outlive this provider.
+   *
+   * @return the new provider.
+   */
+  AuroraHostListProvider copyForBackgroundRefresh() {
+    final AuroraHostListProvider provider = new AuroraHostListProvider(
+        this.driverProtocol,
+        null,
+        PropertyUtils.copyProperties(this.properties),
+        this.originalUrl,
+        this.connectionUrlParser);
+    provider.initialHostList = this.initialHostList;
+    provider.initialHostSpec = this.initialHostSpec;
+    provider.clusterId = this.clusterId;
+    provider.isPrimaryClusterId = this.isPrimaryClusterId;
+    provider.clusterInstanceTemplate = this.clusterInstanceTemplate;
+    provider.rdsUrlType = this.rdsUrlType;
+    provider.refreshRateInMilliseconds = this.refreshRateInMilliseconds;
+    provider.highRefreshRateInMilliseconds = this.highRefreshRateInMilliseconds;
+    provider.stablePeriodInNanos = this.stablePeriodInNanos;
+    provider.isInitialized = true;
+    return provider;
+  }
+
+
   @Override
   public List<HostSpec> forceRefresh() throws SQLException {
     return this.forceRefresh(null);
@@ -642,6 +1021,7 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
     LOGGER.finest(() -> Utils.logTopology(results.hosts));
     this.hostList = results.hosts;
     this.lastReturnedHostList = this.hostList;
+    this.lastReturnedSnapshot = this.getSnapshot(results.hosts);
     return Collections.unmodifiableList(this.hostList);
   }
 
@@ -728,16 +1108,21 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
   }
 
   /**
-   * Class that holds the topology and additional information about the topology.
+   * Class that holds the topology and additional information about the topology. Cached instances
+   * are updated in place while other threads read them from the cache without a lock, so the fields
+   * that are updated are volatile.
    */
   static class ClusterTopologyInfo {
 
     public String clusterId;
-    public List<HostSpec> hosts;
-    public Instant lastUpdated;
+    public volatile List<HostSpec> hosts;
+    public volatile Instant lastUpdated;
     public boolean isMultiWriterCluster;
     public boolean isPrimaryCluster;
-    public String suggestedPrimaryClusterId;
+    public volatile String suggestedPrimaryClusterId;
+    private volatile boolean changeSuspected = false;
+    private volatile long changeSuspectedTimeNano;
+    private volatile @Nullable HostListSnapshot snapshot;
 
     /**
      * Constructor for ClusterTopologyInfo.
@@ -760,6 +1145,34 @@ public class AuroraHostListProvider implements HostListProvider, DynamicHostList
       this.isMultiWriterCluster = isMultiWriterCluster;
       this.isPrimaryCluster = isPrimaryCluster;
     }
+
+    /**
+     * Get the snapshot of the cached hosts. The hosts are replaced by the hosts of the snapshot, so
+     * that connections get the same list for as long as the topology doesn't change.
+     *
+     * @return the snapshot.
+     */
+    synchronized HostListSnapshot getSnapshot() {
+      if (this.snapshot == null || this.snapshot.getHosts() != this.hosts) {
+        this.snapshot = HostListSnapshot.next(this.snapshot, this.hosts);
+        this.hosts = this.snapshot.getHosts();
+      }
+      return this.snapshot;
+    }
+
+    synchronized HostListSnapshot setHosts(final List<HostSpec> hosts) {
+      this.hosts = hosts;
+      return this.getSnapshot();
+    }
+
+    void suspectChange() {
+      this.changeSuspectedTimeNano = System.nanoTime();
+      this.changeSuspected = true;
+    }
+
+    boolean isChangeSuspected(final long stablePeriodNano) {
+      return this.changeSuspected && System.nanoTime() - this.changeSuspectedTimeNano < stablePeriodNano;
+    }
   }
 
   static class ClusterSuggestedResult {
@@ -0,0 +1,243 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.hostlistprovider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import software.amazon.jdbc.ConnectionProvider;
+import software.amazon.jdbc.HostSpec;
+import software.amazon.jdbc.util.Messages;
+import software.amazon.jdbc.util.PropertyUtils;
+
+/**
+ * Keeps the cached topology of a cluster up to date on a background thread, using a dedicated
+ * connection, so that the connections to the cluster don't need to query the topology themselves.
+ * The topology is queried at the current refresh rate of the cluster, and right away when a
+ * topology change is suspected. There is at most one refresher per clusterId. A refresher stops
+ * once no connection has asked for the topology of its cluster for a while.
+ *
+ * <p>The refresher has its own host list provider and connects through the connection provider,
+ * without the connection plugins, so it doesn't depend on any application connection. When it
+ * reconnects, it uses the properties of the connection that most recently asked for the topology,
+ * so that credentials that expire, such as IAM tokens, are picked up.
+ */
+public class ClusterTopologyRefresher {
+
+  private static final Logger LOGGER = Logger.getLogger(ClusterTopologyRefresher.class.getName());
+
+  static final long IDLE_TIMEOUT_NANO = TimeUnit.MINUTES.toNanos(10);
+
+  private static final Map<String, ClusterTopologyRefresher> refreshersByClusterId = new ConcurrentHashMap<>();
+
+  private final String clusterId;
+  private final AuroraHostListProvider hostListProvider;
+  private final ConnectionProvider connectionProvider;
+  private final String driverProtocol;
+  private final HostSpec hostSpec;
+  private volatile Properties properties;
+  private final ScheduledExecutorService executor;
+  private final AtomicLong lastUsedTimeNano = new AtomicLong(System.nanoTime());
+  private volatile long lastRefreshTimeNano;
+  private volatile boolean hasRefreshed = false;
+  // Only used by the refresher thread.
+  private Connection refreshConn = null;
+  private ScheduledFuture<?> nextRefresh = null;
+
+  /**
+   * Start a refresher for the cluster, unless one is already running, and record that the topology
+   * of the cluster is in use.
+   *
+   * @param clusterId The clusterId of the cluster.
+   * @param hostListProviderSupplier Creates the refresher's own provider, used to query the topology
+   *     and update the cache.
+   * @param connectionProvider The provider of the refresher's connection.
+   * @param driverProtocol The protocol of the target driver.
+   * @param hostSpec The host to connect to, usually the cluster endpoint.
+   * @param properties The properties of the connection that asked for the topology. They're copied
+   *     each time the refresher connects.
+   */
+  public static void startIfAbsent(
+      final @NonNull String clusterId,
+      final @NonNull Supplier<AuroraHostListProvider> hostListProviderSupplier,
+      final @NonNull ConnectionProvider connectionProvider,
+      final @NonNull String driverProtocol,
+      final @NonNull HostSpec hostSpec,
+      final @NonNull Properties properties) {
+    final ClusterTopologyRefresher refresher = refreshersByClusterId.computeIfAbsent(
+        clusterId,
+        (key) -> {
+          final ClusterTopologyRefresher newRefresher = new ClusterTopologyRefresher(
+              key, hostListProviderSupplier.get(), connectionProvider, driverProtocol, hostSpec, properties);
+          newRefresher.start();
+          return newRefresher;
+        });
+    refresher.setProperties(properties);
+    refresher.lastUsedTimeNano.set(System.nanoTime());
+  }
+
+  /**
+   * Check whether a refresher is keeping the topology of a cluster up to date.
+   *
+   * @param clusterId The clusterId of the cluster.
+   * @return true if there is a refresher for the cluster.
+   */
+  public static boolean isRunning(final @NonNull String clusterId) {
+    return refreshersByClusterId.containsKey(clusterId);
+  }
+
+  /**
+   * Check whether a refresher is running for a cluster and has recently refreshed its topology.
+   *
+   * @param clusterId The clusterId of the cluster.
+   * @param maxAgeNano How long ago the last successful refresh may have been.
+   * @return true if the cached topology of the cluster is kept up to date by a refresher.
+   */
+  public static boolean isUpToDate(final @NonNull String clusterId, final long maxAgeNano) {
+    final ClusterTopologyRefresher refresher = refreshersByClusterId.get(clusterId);
+    return refresher != null
+        && refresher.hasRefreshed
+        && System.nanoTime() - refresher.lastRefreshTimeNano < maxAgeNano;
+  }
+
+  /**
+   * Refresh the topology of a cluster right away, if a refresher is running for the cluster.
+   *
+   * @param clusterId The clusterId of the cluster.
+   */
+  public static void wakeUp(final @NonNull String clusterId) {
+    final ClusterTopologyRefresher refresher = refreshersByClusterId.get(clusterId);
+    if (refresher != null) {
+      refresher.scheduleRefresh(0);
+    }
+  }
+
+  /** Stop all refreshers. */
+  public static void stopAll() {
+    refreshersByClusterId.values().forEach(ClusterTopologyRefresher::stop);
+  }
+
+  ClusterTopologyRefresher(
+      final String clusterId,
+      final AuroraHostListProvider hostListProvider,
+      final ConnectionProvider connectionProvider,
+      final String driverProtocol,
+      final HostSpec hostSpec,
+      final Properties properties) {
+    this.clusterId = clusterId;
+    this.hostListProvider = hostListProvider;
+    this.connectionProvider = connectionProvider;
+    this.driverProtocol = driverProtocol;
+    this.hostSpec = hostSpec;
+    this.properties = properties;
+    this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      final Thread refresherThread = new Thread(r, "aws-jdbc-topology-" + clusterId);
+      refresherThread.setDaemon(true);
+      return refresherThread;
+    });
+  }
+
+  void setProperties(final Properties properties) {
+    this.properties = properties;
+  }
+
+  private void start() {
+    LOGGER.finest(() -> Messages.get("ClusterTopologyRefresher.started", new Object[] {this.clusterId}));
+    this.scheduleRefresh(0);
+  }
+
+  private synchronized void scheduleRefresh(final long delayMs) {
+    if (this.executor.isShutdown()) {
+      return;
+    }
+    if (this.nextRefresh != null) {
+      this.nextRefresh.cancel(false);
+    }
+    this.nextRefresh = this.executor.schedule(this::refreshAndReschedule, delayMs, TimeUnit.MILLISECONDS);
+  }
+
+  private void refreshAndReschedule() {
+    this.refresh();
+    // The refresh rate speeds up while the topology is changing, and slows down once it's stable.
+    this.scheduleRefresh(Math.max(1, this.hostListProvider.getRefreshRateMs()));
+  }
+
+  void refresh() {
+    if (System.nanoTime() - this.lastUsedTimeNano.get() >= IDLE_TIMEOUT_NANO) {
+      this.stop();
+      return;
+    }
+
+    try {
+      if (this.refreshConn == null || this.refreshConn.isClosed()) {
+        this.refreshConn = this.connectionProvider.connect(
+            this.driverProtocol, this.hostSpec, PropertyUtils.copyProperties(this.properties));
+      }
+      final AuroraHostListProvider.FetchTopologyResult result =
+          this.hostListProvider.getTopology(this.refreshConn, true);
+      // If the query returned an invalid topology, the provider returns the initial hosts rather
+      // than the cached ones.
+      if (result != null && result.hosts != null && result.hosts == this.hostListProvider.getCachedTopology()) {
+        this.lastRefreshTimeNano = System.nanoTime();
+        this.hasRefreshed = true;
+      }
+    } catch (final SQLException | RuntimeException ex) {
+      LOGGER.finest(
+          () -> Messages.get(
+              "ClusterTopologyRefresher.refreshFailed",
+              new Object[] {this.clusterId, ex.getMessage()}));
+      this.closeConnection();
+    }
+  }
+
+  void stop() {
+    if (!refreshersByClusterId.remove(this.clusterId, this)) {
+      return;
+    }
+    LOGGER.finest(() -> Messages.get("ClusterTopologyRefresher.stopped", new Object[] {this.clusterId}));
+    synchronized (this) {
+      if (this.nextRefresh != null) {
+        this.nextRefresh.cancel(false);
+      }
+      // The connection is closed by the refresher thread, in case it's in the middle of a refresh.
+      this.executor.execute(this::closeConnection);
+      this.executor.shutdown();
+    }
+  }
+
+  private void closeConnection() {
+    try {
+      if (this.refreshConn != null && !this.refreshConn.isClosed()) {
+        this.refreshConn.close();
+      }
+    } catch (final SQLException ex) {
+      // ignore
+    } finally {
+      this.refreshConn = null;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.hostlistprovider;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import software.amazon.jdbc.HostListSnapshot;
+
+public interface VersionedHostListProvider {
+
+  /**
+   * Get the snapshot of the host list that was last returned by a refresh. Connections to the same
+   * cluster share snapshots, so a host list that didn't change keeps the same version.
+   *
+   * @return the snapshot, or null if the last returned host list didn't come from a snapshot, for
+   *     example because it was parsed from the connection string.
+   */
+  @Nullable HostListSnapshot getHostListSnapshot();
+}
@@ -0,0 +1,452 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.plugin;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import software.amazon.jdbc.util.Messages;
+import software.amazon.jdbc.util.SqlState;
+
+/**
+ * The values of one column of a cached result set.
+ *
+ * <p>Columns whose values are all {@link Integer}, {@link Long} or {@link Double} are kept in a
+ * primitive array with a null bitmap, and columns of repeated strings are kept as a dictionary of
+ * distinct strings plus one code per row. Any other column is kept as an array of objects.
+ * {@link #getObject(int)} returns values of the same type as the target driver returned them.
+ */
+public abstract class CachedColumn {
+
+  private static final long ARRAY_OVERHEAD_BYTES = 16;
+  private static final long OBJECT_OVERHEAD_BYTES = 16;
+  private static final long REFERENCE_BYTES = 8;
+
+  /**
+   * Returns the value of the given row, or null if it's a SQL NULL.
+   *
+   * @param row the zero-based row index
+   * @return the value
+   */
+  public abstract @Nullable Object getObject(int row);
+
+  public abstract boolean isNull(int row);
+
+  public abstract long getEstimatedSize();
+
+  public @Nullable String getString(final int row) {
+    final Object value = this.getObject(row);
+    return value == null ? null : value.toString();
+  }
+
+  public int getInt(final int row) throws SQLException {
+    final Number value = toNumber(this.getObject(row), "int");
+    return value == null ? 0 : value.intValue();
+  }
+
+  public long getLong(final int row) throws SQLException {
+    final Number value = toNumber(this.getObject(row), "long");
+    return value == null ? 0 : value.longValue();
+  }
+
+  public double getDouble(final int row) throws SQLException {
+    final Number value = toNumber(this.getObject(row), "double");
+    return value == null ? 0 : value.doubleValue();
+  }
+
+  public boolean getBoolean(final int row) throws SQLException {
+    final Object value = this.getObject(row);
+    if (value == null) {
+      return false;
+    }
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    if (value instanceof String) {
+      final String trimmed = ((String) value).trim();
+      if ("true".equalsIgnoreCase(trimmed)) {
+        return true;
+      }
+      if ("false".equalsIgnoreCase(trimmed)) {
+        return false;
+      }
+    }
+    final Number number = toNumber(value, "boolean");
+    return number != null && number.doubleValue() != 0;
+  }
+
+  public @Nullable BigDecimal getBigDecimal(final int row) throws SQLException {
+    final Object value = this.getObject(row);
+    if (value == null || value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    final Number number = toNumber(value, "BigDecimal");
+    if (number instanceof Double || number instanceof Float) {
+      return BigDecimal.valueOf(number.doubleValue());
+    }
+    return number == null ? null : new BigDecimal(number.toString());
+  }
+
+  public <T> @Nullable T getObject(final int row, final Class<T> type) throws SQLException {
+    final Object value = this.getObject(row);
+    if (value == null || type.isInstance(value)) {
+      return type.cast(value);
+    }
+    throw cannotConvert(value, type.getSimpleName());
+  }
+
+  private static @Nullable Number toNumber(final @Nullable Object value, final String typeName)
+      throws SQLException {
+    if (value == null || value instanceof Number) {
+      return (Number) value;
+    }
+    if (value instanceof Boolean) {
+      return (Boolean) value ? 1 : 0;
+    }
+    if (value instanceof String) {
+      try {
+        return new BigDecimal(((String) value).trim());
+      } catch (NumberFormatException ex) {
+        // fall through to the conversion error below
+      }
+    }
+    throw cannotConvert(value, typeName);
+  }
+
+  private static SQLException cannotConvert(final Object value, final String typeName) {
+    return new SQLException(
+        Messages.get(
+            "CachedColumn.cannotConvertValue",
+            new Object[] {value, value.getClass().getName(), typeName}),
+        SqlState.DATA_EXCEPTION.getState());
+  }
+
+  private static long estimateValueSize(final @Nullable Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return OBJECT_OVERHEAD_BYTES + ARRAY_OVERHEAD_BYTES + 2L * ((String) value).length();
+    }
+    if (value instanceof byte[]) {
+      return ARRAY_OVERHEAD_BYTES + ((byte[]) value).length;
+    }
+    return 2 * OBJECT_OVERHEAD_BYTES;
+  }
+
+  private static long[] newNullBitmap(final int rowCount) {
+    return new long[(rowCount + 63) >>> 6];
+  }
+
+  private static boolean isBitSet(final long[] bitmap, final int row) {
+    return (bitmap[row >>> 6] & (1L << row)) != 0;
+  }
+
+  private static void setBit(final long[] bitmap, final int row) {
+    bitmap[row >>> 6] |= 1L << row;
+  }
+
+  /**
+   * Collects the values of a column while a result set is read and then picks the most compact
+   * representation for them.
+   */
+  public static class Builder {
+
+    private final List<Object> values = new ArrayList<>();
+
+    public void add(final @Nullable Object value) {
+      this.values.add(value);
+    }
+
+    public CachedColumn build() {
+      final int rowCount = this.values.size();
+      Class<?> valueClass = null;
+      boolean mixed = false;
+      for (Object value : this.values) {
+        if (value == null) {
+          continue;
+        }
+        if (valueClass == null) {
+          valueClass = value.getClass();
+        } else if (valueClass != value.getClass()) {
+          mixed = true;
+          break;
+        }
+      }
+
+      if (!mixed && valueClass == Integer.class) {
+        final int[] ints = new int[rowCount];
+        final long[] nulls = newNullBitmap(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+          final Object value = this.values.get(i);
+          if (value == null) {
+            setBit(nulls, i);
+          } else {
+            ints[i] = (Integer) value;
+          }
+        }
+        return new IntColumn(ints, nulls);
+      }
+
+      if (!mixed && valueClass == Long.class) {
+        final long[] longs = new long[rowCount];
+        final long[] nulls = newNullBitmap(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+          final Object value = this.values.get(i);
+          if (value == null) {
+            setBit(nulls, i);
+          } else {
+            longs[i] = (Long) value;
+          }
+        }
+        return new LongColumn(longs, nulls);
+      }
+
+      if (!mixed && valueClass == Double.class) {
+        final double[] doubles = new double[rowCount];
+        final long[] nulls = newNullBitmap(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+          final Object value = this.values.get(i);
+          if (value == null) {
+            setBit(nulls, i);
+          } else {
+            doubles[i] = (Double) value;
+          }
+        }
+        return new DoubleColumn(doubles, nulls);
+      }
+
+      if (!mixed && valueClass == String.class) {
+        final Map<String, Integer> codesByValue = new HashMap<>();
+        final int[] codes = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+          final String value = (String) this.values.get(i);
+          if (value == null) {
+            codes[i] = -1;
+          } else {
+            final Integer code = codesByValue.get(value);
+            if (code == null) {
+              codes[i] = codesByValue.size();
+              codesByValue.put(value, codes[i]);
+            } else {
+              codes[i] = code;
+            }
+          }
+        }
+        // A dictionary only saves memory when values repeat.
+        if (codesByValue.size() * 2 <= rowCount) {
+          final String[] dictionary = new String[codesByValue.size()];
+          codesByValue.forEach((value, code) -> dictionary[code] = value);
+          return new DictionaryColumn(dictionary, codes);
+        }
+      }
+
+      return new ObjectColumn(this.values.toArray());
+    }
+  }
+
+  static class IntColumn extends CachedColumn {
+
+    private final int[] values;
+    private final long[] nulls;
+
+    IntColumn(final int[] values, final long[] nulls) {
+      this.values = values;
+      this.nulls = nulls;
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+      return isBitSet(this.nulls, row);
+    }
+
+    @Override
+    public @Nullable Object getObject(final int row) {
+      return this.isNull(row) ? null : this.values[row];
+    }
+
+    @Override
+    public int getInt(final int row) {
+      return this.values[row];
+    }
+
+    @Override
+    public long getLong(final int row) {
+      return this.values[row];
+    }
+
+    @Override
+    public double getDouble(final int row) {
+      return this.values[row];
+    }
+
+    @Override
+    public long getEstimatedSize() {
+      return 2 * ARRAY_OVERHEAD_BYTES + 4L * this.values.length + 8L * this.nulls.length;
+    }
+  }
+
+  static class LongColumn extends CachedColumn {
+
+    private final long[] values;
+    private final long[] nulls;
+
+    LongColumn(final long[] values, final long[] nulls) {
+      this.values = values;
+      this.nulls = nulls;
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+      return isBitSet(this.nulls, row);
+    }
+
+    @Override
+    public @Nullable Object getObject(final int row) {
+      return this.isNull(row) ? null : this.values[row];
+    }
+
+    @Override
+    public int getInt(final int row) {
+      return (int) this.values[row];
+    }
+
+    @Override
+    public long getLong(final int row) {
+      return this.values[row];
+    }
+
+    @Override
+    public double getDouble(final int row) {
+      return this.values[row];
+    }
+
+    @Override
+    public long getEstimatedSize() {
+      return 2 * ARRAY_OVERHEAD_BYTES + 8L * this.values.length + 8L * this.nulls.length;
+    }
+  }
+
+  static class DoubleColumn extends CachedColumn {
+
+    private final double[] values;
+    private final long[] nulls;
+
+    DoubleColumn(final double[] values, final long[] nulls) {
+      this.values = values;
+      this.nulls = nulls;
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+      return isBitSet(this.nulls, row);
+    }
+
+    @Override
+    public @Nullable Object getObject(final int row) {
+      return this.isNull(row) ? null : this.values[row];
+    }
+
+    @Override
+    public int getInt(final int row) {
+      return (int) this.values[row];
+    }
+
+    @Override
+    public long getLong(final int row) {
+      return (long) this.values[row];
+    }
+
+    @Override
+    public double getDouble(final int row) {
+      return this.values[row];
+    }
+
+    @Override
+    public long getEstimatedSize() {
+      return 2 * ARRAY_OVERHEAD_BYTES + 8L * this.values.length + 8L * this.nulls.length;
+    }
+  }
+
+  static class DictionaryColumn extends CachedColumn {
+
+    private final String[] dictionary;
+    private final int[] codes;
+
+    DictionaryColumn(final String[] dictionary, final int[] codes) {
+      this.dictionary = dictionary;
+      this.codes = codes;
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+      return this.codes[row] < 0;
+    }
+
+    @Override
+    public @Nullable Object getObject(final int row) {
+      return this.getString(row);
+    }
+
+    @Override
+    public @Nullable String getString(final int row) {
+      final int code = this.codes[row];
+      return code < 0 ? null : this.dictionary[code];
+    }
+
+    @Override
+    public long getEstimatedSize() {
+      long size = 2 * ARRAY_OVERHEAD_BYTES + 4L * this.codes.length;
+      for (String value : this.dictionary) {
+        size += REFERENCE_BYTES + estimateValueSize(value);
+      }
+      return size;
+    }
+  }
+
+  static class ObjectColumn extends CachedColumn {
+
+    private final Object[] values;
+
+    ObjectColumn(final Object[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+      return this.values[row] == null;
+    }
+
+    @Override
+    public @Nullable Object getObject(final int row) {
+      return this.values[row];
+    }
+
+    @Override
+    public long getEstimatedSize() {
+      long size = ARRAY_OVERHEAD_BYTES;
+      for (Object value : this.values) {
+        size += REFERENCE_BYTES + estimateValueSize(value);
+      }
+      return size;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.plugin;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The rows of a cached query result. Instances are immutable once created, so one instance can be
+ * read by any number of {@link DataCacheConnectionPlugin.CachedResultSet} cursors on different
+ * threads without synchronization.
+ */
+public class CachedResultData {
+
+  private final CachedColumn[] columns;
+  private final Map<String, Integer> columnIndexByLabel;
+  private final int rowCount;
+  private final long estimatedSize;
+  private final Set<String> tableNames;
+
+  /**
+   * Reads all remaining rows of the given result set.
+   *
+   * @param resultSet the result set to copy
+   * @throws SQLException if the result set can't be read
+   */
+  public CachedResultData(final ResultSet resultSet) throws SQLException {
+    this(resultSet, Collections.emptySet());
+  }
+
+  /**
+   * Reads all remaining rows of the given result set.
+   *
+   * @param resultSet the result set to copy
+   * @param tableNames the tables the query read from, or an empty set if they aren't known
+   * @throws SQLException if the result set can't be read
+   */
+  public CachedResultData(final ResultSet resultSet, final Set<String> tableNames) throws SQLException {
+    final ResultSetMetaData md = resultSet.getMetaData();
+    final int columnCount = md.getColumnCount();
+    final Map<String, Integer> labels = new HashMap<>();
+    final CachedColumn.Builder[] builders = new CachedColumn.Builder[columnCount];
+    for (int i = 0; i < columnCount; ++i) {
+      builders[i] = new CachedColumn.Builder();
+      labels.putIfAbsent(md.getColumnLabel(i + 1), i + 1);
+      labels.putIfAbsent(md.getColumnName(i + 1), i + 1);
+    }
+
+    int rows = 0;
+    while (resultSet.next()) {
+      for (int i = 0; i < columnCount; ++i) {
+        builders[i].add(resultSet.getObject(i + 1));
+      }
+      rows++;
+    }
+
+    this.columns = new CachedColumn[columnCount];
+    long size = 0;
+    for (int i = 0; i < columnCount; ++i) {
+      this.columns[i] = builders[i].build();
+      size += this.columns[i].getEstimatedSize();
+    }
+    this.columnIndexByLabel = Collections.unmodifiableMap(labels);
+    this.rowCount = rows;
+    this.estimatedSize = size;
+    this.tableNames = Collections.unmodifiableSet(new HashSet<>(tableNames));
+  }
+
+  public int getRowCount() {
+    return this.rowCount;
+  }
+
+  public int getColumnCount() {
+    return this.columns.length;
+  }
+
+  /**
+   * Returns the given column.
+   *
+   * @param columnIndex the one-based column index, which must be valid
+   * @return the column
+   */
+  public CachedColumn getColumn(final int columnIndex) {
+    return this.columns[columnIndex - 1];
+  }
+
+  /**
+   * Returns the one-based index of the column with the given label or name. Labels are matched
+   * case-insensitively if there is no exact match.
+   *
+   * @param columnLabel the column label
+   * @return the column index, or -1 if there is no such column
+   */
+  public int getColumnIndex(final String columnLabel) {
+    final Integer columnIndex = this.columnIndexByLabel.get(columnLabel);
+    if (columnIndex != null) {
+      return columnIndex;
+    }
+    for (Map.Entry<String, Integer> entry : this.columnIndexByLabel.entrySet()) {
+      if (entry.getKey().equalsIgnoreCase(columnLabel)) {
+        return entry.getValue();
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the tables the query read from. Writes to any of them make the cached rows stale.
+   *
+   * @return the lower-case table names, or an empty set if they aren't known
+   */
+  public Set<String> getTableNames() {
+    return this.tableNames;
+  }
+
+  /**
+   * Returns the approximate heap size of the cached rows. Values are sized by their content where
+   * it's cheap to tell, so the estimate is only meant for bounding the cache.
+   *
+   * @return the approximate size in bytes
+   */
+  public long getEstimatedSize() {
+    return this.estimatedSize;
+  }
+}
@@ -18,13 +18,16 @@ package software.amazon.jdbc.plugin;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.net.URL;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
 import java.sql.NClob;
+import java.sql.PreparedStatement;
 import java.sql.Ref;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -35,7 +38,6 @@ import java.sql.SQLXML;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
@@ -44,38 +46,155 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import software.amazon.jdbc.AwsWrapperProperty;
 import software.amazon.jdbc.JdbcCallable;
+import software.amazon.jdbc.util.BoundedLruCache;
 import software.amazon.jdbc.util.Messages;
+import software.amazon.jdbc.util.SqlState;
+import software.amazon.jdbc.util.SqlTableParser;
 import software.amazon.jdbc.util.StringUtils;
 
 public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
   private static final Logger LOGGER = Logger.getLogger(DataCacheConnectionPlugin.class.getName());
 
-  private static final Set<String> subscribedMethods = Collections.unmodifiableSet(new HashSet<>(
-      Arrays.asList("Statement.executeQuery", "Statement.execute",
-          "PreparedStatement.execute", "PreparedStatement.executeQuery",
-          "CallableStatement.execute", "CallableStatement.executeQuery")));
+  private static final String PREPARE_STATEMENT = "Connection.prepareStatement";
+  private static final String PREPARE_CALL = "Connection.prepareCall";
+  private static final String PARAMETER_SETTER_PREFIX = "PreparedStatement.set";
+  private static final String CLEAR_PARAMETERS = "PreparedStatement.clearParameters";
+  private static final String EXECUTE = ".execute";
+  private static final String STATEMENT_EXECUTE_BATCH = "Statement.executeBatch";
+
+  private static final Set<String> subscribedMethods;
+
+  static {
+    final Set<String> methods = new HashSet<>(
+        Arrays.asList("Statement.executeQuery", "Statement.execute",
+            "Statement.executeUpdate", "Statement.executeLargeUpdate", STATEMENT_EXECUTE_BATCH,
+            "PreparedStatement.execute", "PreparedStatement.executeQuery",
+            "PreparedStatement.executeUpdate", "PreparedStatement.executeLargeUpdate",
+            "PreparedStatement.executeBatch",
+            "CallableStatement.execute", "CallableStatement.executeQuery",
+            "CallableStatement.executeUpdate", "CallableStatement.executeLargeUpdate",
+            "CallableStatement.executeBatch",
+            PREPARE_STATEMENT, PREPARE_CALL, CLEAR_PARAMETERS));
+    // Parameter setters take the parameter index and at least one more argument, unlike the
+    // statement property setters such as setMaxRows.
+    for (Method method : PreparedStatement.class.getMethods()) {
+      if (method.getName().startsWith("set")
+          && method.getParameterCount() >= 2
+          && method.getParameterTypes()[0] == int.class) {
+        methods.add("PreparedStatement." + method.getName());
+      }
+    }
+    subscribedMethods = Collections.unmodifiableSet(methods);
+  }
 
   public static final AwsWrapperProperty DATA_CACHE_TRIGGER_CONDITION = new AwsWrapperProperty(
       "dataCacheTriggerCondition", "false",
       "A regular expression that, if it's matched, allows the plugin to cache SQL results.");
 
-  protected static final Map<String, ResultSet> dataCache = new ConcurrentHashMap<>();
+  public static final AwsWrapperProperty DATA_CACHE_MAX_ENTRIES = new AwsWrapperProperty(
+      "dataCacheMaxEntries", "1000",
+      "The maximum number of query results kept in the cache shared by all connections.");
+
+  public static final AwsWrapperProperty DATA_CACHE_MAX_SIZE_BYTES = new AwsWrapperProperty(
+      "dataCacheMaxSizeBytes", "67108864",
+      "The approximate maximum size in bytes of all query results kept in the cache shared by all connections.");
+
+  public static final AwsWrapperProperty DATA_CACHE_EXPIRATION_TIME_MS = new AwsWrapperProperty(
+      "dataCacheExpirationTimeMs", "0",
+      "Time in milliseconds that cached query results are served for. Results never expire if set to 0.");
+
+  public static final AwsWrapperProperty DATA_CACHE_LOAD_WAIT_TIME_MS = new AwsWrapperProperty(
+      "dataCacheLoadWaitTimeMs", "5000",
+      "Maximum time in milliseconds to wait for another connection loading the same query results before "
+          + "running the query directly. The statement's query timeout applies if it is shorter.");
+
+  protected static final BoundedLruCache<String, CachedResultData> dataCache = new BoundedLruCache<>(
+      Integer.parseInt(DATA_CACHE_MAX_ENTRIES.defaultValue),
+      Long.parseLong(DATA_CACHE_MAX_SIZE_BYTES.defaultValue),
+      CachedResultData::getEstimatedSize);
+
+  /** Queries being loaded into the cache, keyed by cache key. */
+  protected static final ConcurrentMap<String, CompletableFuture<CachedResultData>> pendingLoads =
+      new ConcurrentHashMap<>();
+
+  /** Incremented before cached results are invalidated, so loads that overlap a write aren't cached. */
+  protected static final AtomicLong invalidationCount = new AtomicLong();
 
   protected final String dataCacheTriggerCondition;
+  protected final long expirationTimeNano;
+  protected final long loadWaitTimeMs;
+
+  /** Prepared statements whose SQL matches the trigger condition, keyed by target statement. */
+  protected final Map<Object, PreparedQuery> preparedQueries =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  /** Tables written by prepared statements that change data, keyed by target statement. */
+  protected final Map<Object, Set<String>> preparedWrites =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  /** Prepared statements that don't change data. */
+  protected final Set<Object> readOnlyStatements =
+      Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
 
   public DataCacheConnectionPlugin(Properties props) {
     this.dataCacheTriggerCondition = DATA_CACHE_TRIGGER_CONDITION.getString(props);
+    this.expirationTimeNano = TimeUnit.MILLISECONDS.toNanos(DATA_CACHE_EXPIRATION_TIME_MS.getLong(props));
+    this.loadWaitTimeMs = DATA_CACHE_LOAD_WAIT_TIME_MS.getLong(props);
+
+    final int maxEntries = DATA_CACHE_MAX_ENTRIES.getInteger(props);
+    final long maxSizeBytes = DATA_CACHE_MAX_SIZE_BYTES.getLong(props);
+    if (maxEntries != dataCache.getMaxEntries() || maxSizeBytes != dataCache.getMaxSizeBytes()) {
+      dataCache.setLimits(maxEntries, maxSizeBytes);
+    }
   }
 
   public static void clearCache() {
     dataCache.clear();
   }
 
+  /**
+   * Removes the cached results of queries that read from any of the given tables.
+   *
+   * @param tableNames the lower-case names of the written tables, or an empty set to remove all
+   *     cached results
+   */
+  public static void invalidate(final Set<String> tableNames) {
+    invalidationCount.incrementAndGet();
+    final int removed = dataCache.removeIf((key, data) -> tableNames.isEmpty()
+        || data.getTableNames().isEmpty()
+        || !Collections.disjoint(data.getTableNames(), tableNames));
+    if (removed > 0) {
+      LOGGER.finest(
+          () -> Messages.get(
+              "DataCacheConnectionPlugin.queryResultsInvalidated",
+              new Object[]{removed, tableNames.isEmpty() ? "*" : tableNames}));
+    }
+  }
+
+  /**
+   * Returns the cache shared by all connections, for example to check its hit, miss and eviction
+   * counters.
+   *
+   * @return the query result cache
+   */
+  public static BoundedLruCache<String, CachedResultData> getCache() {
+    return dataCache;
+  }
+
   @Override
   public Set<String> getSubscribedMethods() {
     return subscribedMethods;
@@ -85,50 +204,179 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
   public <T, E extends Exception> T execute(Class<T> resultClass, Class<E> exceptionClass, Object methodInvokeOn,
       String methodName, JdbcCallable<T, E> jdbcMethodFunc, Object[] jdbcMethodArgs) throws E {
 
-    if (StringUtils.isNullOrEmpty(this.dataCacheTriggerCondition) || resultClass != ResultSet.class) {
+    if (PREPARE_STATEMENT.equals(methodName) || PREPARE_CALL.equals(methodName)) {
+      final T statement = jdbcMethodFunc.call();
+      final String sql = getQuery(jdbcMethodArgs);
+      if (statement != null && !StringUtils.isNullOrEmpty(sql)) {
+        if (!SqlTableParser.isReadOnly(sql)) {
+          this.preparedWrites.put(statement, SqlTableParser.getWrittenTables(sql));
+        } else {
+          this.readOnlyStatements.add(statement);
+          // The parameters of callable statements aren't tracked, so their results aren't cached.
+          if (PREPARE_STATEMENT.equals(methodName)
+              && !StringUtils.isNullOrEmpty(this.dataCacheTriggerCondition)
+              && sql.matches(this.dataCacheTriggerCondition)) {
+            this.preparedQueries.put(statement, new PreparedQuery(sql));
+          }
+        }
+      }
+      return statement;
+    }
+
+    final Set<String> writtenTables = getWrittenTables(methodName, methodInvokeOn, jdbcMethodArgs);
+    if (writtenTables != null) {
+      try {
+        return jdbcMethodFunc.call();
+      } finally {
+        invalidate(writtenTables);
+      }
+    }
+
+    if (StringUtils.isNullOrEmpty(this.dataCacheTriggerCondition)) {
       return jdbcMethodFunc.call();
     }
 
-    ResultSet result;
-    boolean needToCache = false;
-    String sql = getQuery(jdbcMethodArgs);
+    if (methodName.startsWith(PARAMETER_SETTER_PREFIX) || CLEAR_PARAMETERS.equals(methodName)) {
+      final T result = jdbcMethodFunc.call();
+      final PreparedQuery preparedQuery = this.preparedQueries.get(methodInvokeOn);
+      if (preparedQuery != null) {
+        preparedQuery.setParameter(methodName, jdbcMethodArgs);
+      }
+      return result;
+    }
+
+    if (resultClass != ResultSet.class) {
+      return jdbcMethodFunc.call();
+    }
+
+    final String sql;
+    final String cacheKey;
+
+    if (jdbcMethodArgs == null || jdbcMethodArgs.length == 0) {
+      // A prepared statement executing the query it was prepared with
+      final PreparedQuery preparedQuery = this.preparedQueries.get(methodInvokeOn);
+      sql = preparedQuery == null ? null : preparedQuery.sql;
+      cacheKey = preparedQuery == null ? null : preparedQuery.getCacheKey();
+    } else {
+      sql = getQuery(jdbcMethodArgs);
+      cacheKey = !StringUtils.isNullOrEmpty(sql) && sql.matches(this.dataCacheTriggerCondition) ? sql : null;
+    }
+
+    if (cacheKey == null) {
+      return jdbcMethodFunc.call();
+    }
+
+    CachedResultData cachedData = dataCache.get(cacheKey);
+    if (cachedData != null) {
+      return resultClass.cast(new CachedResultSet(cachedData));
+    }
+
+    // Only one caller per query runs it against the database; concurrent callers wait for its
+    // results instead of running the same query.
+    final CompletableFuture<CachedResultData> load = new CompletableFuture<>();
+    final CompletableFuture<CachedResultData> pendingLoad = pendingLoads.putIfAbsent(cacheKey, load);
+    if (pendingLoad != null) {
+      cachedData = awaitLoad(pendingLoad, methodInvokeOn, methodName, sql);
+      return cachedData != null ? resultClass.cast(new CachedResultSet(cachedData)) : jdbcMethodFunc.call();
+    }
 
-    if (!StringUtils.isNullOrEmpty(sql) && sql.matches(this.dataCacheTriggerCondition)) {
-      result = dataCache.get(sql);
-      if (result == null) {
-        needToCache = true;
+    try {
+      LOGGER.finest(
+          () -> Messages.get(
+              "DataCacheConnectionPlugin.queryResultsCached",
+              new Object[]{methodName, sql}));
+      final long invalidations = invalidationCount.get();
+      final ResultSet result = (ResultSet) jdbcMethodFunc.call();
+      try {
+        cachedData = new CachedResultData(result, SqlTableParser.getReadTables(sql));
+      } catch (SQLException ex) {
+        return resultClass.cast(result);
+      }
+      final long estimatedSize = cachedData.getEstimatedSize();
+      if (!dataCache.put(cacheKey, cachedData, this.expirationTimeNano)) {
         LOGGER.finest(
             () -> Messages.get(
-                "DataCacheConnectionPlugin.queryResultsCached",
-                new Object[]{methodName, sql}));
-      } else {
-        try {
-          result.beforeFirst();
-        } catch (SQLException ex) {
-          if (exceptionClass.isAssignableFrom(ex.getClass())) {
-            throw exceptionClass.cast(ex);
-          }
-          throw new RuntimeException(ex);
-        }
-        return resultClass.cast(result);
+                "DataCacheConnectionPlugin.queryResultsTooLarge",
+                new Object[]{methodName, sql, estimatedSize}));
+      } else if (invalidationCount.get() != invalidations) {
+        // A write may have changed the results while they were loaded.
+        dataCache.remove(cacheKey);
       }
+      load.complete(cachedData);
+      return resultClass.cast(new CachedResultSet(cachedData));
+    } finally {
+      // Waiting callers run the query themselves if it couldn't be loaded.
+      load.complete(null);
+      pendingLoads.remove(cacheKey, load);
     }
+  }
 
-    result = (ResultSet) jdbcMethodFunc.call();
+  private @Nullable CachedResultData awaitLoad(
+      CompletableFuture<CachedResultData> pendingLoad, Object methodInvokeOn, String methodName, String sql) {
+    LOGGER.finest(
+        () -> Messages.get(
+            "DataCacheConnectionPlugin.waitingForQueryResults",
+            new Object[]{methodName, sql}));
+    final long waitTimeMs = getLoadWaitTimeMs(methodInvokeOn);
+    try {
+      return pendingLoad.get(waitTimeMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException ex) {
+      return null;
+    } catch (TimeoutException ex) {
+      LOGGER.finest(
+          () -> Messages.get(
+              "DataCacheConnectionPlugin.waitForQueryResultsTimedOut",
+              new Object[]{methodName, waitTimeMs, sql}));
+      return null;
+    }
+  }
 
-    if (needToCache) {
-      ResultSet cachedResultSet;
+  /**
+   * Returns how long to wait for results loaded by another connection: the plugin setting, or the
+   * statement's query timeout if it is shorter.
+   */
+  private long getLoadWaitTimeMs(Object methodInvokeOn) {
+    if (methodInvokeOn instanceof Statement) {
       try {
-        cachedResultSet = new CachedResultSet(result);
-        dataCache.put(sql, cachedResultSet);
-        cachedResultSet.beforeFirst();
-        return resultClass.cast(cachedResultSet);
+        final int queryTimeoutSec = ((Statement) methodInvokeOn).getQueryTimeout();
+        if (queryTimeoutSec > 0) {
+          return Math.min(this.loadWaitTimeMs, TimeUnit.SECONDS.toMillis(queryTimeoutSec));
+        }
       } catch (SQLException ex) {
-        // ignore exception
+        // Fall back to the plugin setting.
       }
     }
+    return this.loadWaitTimeMs;
+  }
 
-    return resultClass.cast(result);
+  /**
+   * Returns the tables a call may write to.
+   *
+   * @return the lower-case table names, an empty set if the call may write to any table, or null
+   *     if the call doesn't change data
+   */
+  protected @Nullable Set<String> getWrittenTables(
+      String methodName, Object methodInvokeOn, Object[] jdbcMethodArgs) {
+    if (!methodName.contains(EXECUTE)) {
+      return null;
+    }
+    final String sql = getQuery(jdbcMethodArgs);
+    if (sql != null) {
+      return SqlTableParser.isReadOnly(sql) ? null : SqlTableParser.getWrittenTables(sql);
+    }
+    if (STATEMENT_EXECUTE_BATCH.equals(methodName)) {
+      // The batched statements aren't known, so any table may have changed.
+      return Collections.emptySet();
+    }
+    final Set<String> writtenTables = this.preparedWrites.get(methodInvokeOn);
+    if (writtenTables != null || this.readOnlyStatements.contains(methodInvokeOn)) {
+      return writtenTables;
+    }
+    // The statement wasn't prepared through this plugin, so its SQL isn't known.
+    return Collections.emptySet();
   }
 
   protected String getQuery(Object[] jdbcMethodArgs) {
@@ -140,51 +388,125 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
     return null;
   }
 
-  public static class CachedRow {
-    protected final HashMap<Integer, Object> columnByIndex = new HashMap<>();
-    protected final HashMap<String, Object> columnByName = new HashMap<>();
+  /**
+   * The SQL of a prepared statement and the parameters currently bound to it.
+   */
+  protected static class PreparedQuery {
 
-    public void put(int columnIndex, String columnName, Object columnValue) {
-      columnByIndex.put(columnIndex, columnValue);
-      columnByName.put(columnName, columnValue);
-    }
+    private static final char SEPARATOR = '\u0000';
 
-    @SuppressWarnings("unused")
-    public Object get(int columnIndex) {
-      return columnByIndex.get(columnIndex);
+    protected final String sql;
+
+    /** Key fragments of the bound parameters by parameter index; null if it can't be cached. */
+    protected final Map<Integer, String> parameters = new TreeMap<>();
+
+    public PreparedQuery(String sql) {
+      this.sql = sql;
     }
 
-    @SuppressWarnings("unused")
-    public Object get(String columnName) {
-      return columnByName.get(columnName);
+    public synchronized void setParameter(String methodName, Object[] jdbcMethodArgs) {
+      if (CLEAR_PARAMETERS.equals(methodName)) {
+        this.parameters.clear();
+        return;
+      }
+      if (jdbcMethodArgs == null || jdbcMethodArgs.length < 2 || !(jdbcMethodArgs[0] instanceof Integer)) {
+        return;
+      }
+      this.parameters.put((Integer) jdbcMethodArgs[0], getKeyFragment(methodName, jdbcMethodArgs));
+    }
+
+    /**
+     * Builds a cache key from the SQL and the bound parameters.
+     *
+     * @return the cache key, or null if a parameter is of a type that can't be part of a key, such
+     *     as a stream or a LOB
+     */
+    public synchronized @Nullable String getCacheKey() {
+      if (this.parameters.isEmpty()) {
+        return this.sql;
+      }
+      final StringBuilder key = new StringBuilder(this.sql);
+      for (Map.Entry<Integer, String> parameter : this.parameters.entrySet()) {
+        if (parameter.getValue() == null) {
+          return null;
+        }
+        key.append(SEPARATOR).append(parameter.getKey()).append(parameter.getValue());
+      }
+      return key.toString();
+    }
+
+    /**
+     * Describes a parameter setter call. Each value is prefixed with its type and length so
+     * different parameters can't produce the same key.
+     */
+    private static @Nullable String getKeyFragment(String methodName, Object[] jdbcMethodArgs) {
+      final StringBuilder fragment = new StringBuilder()
+          .append(':').append(methodName, PARAMETER_SETTER_PREFIX.length(), methodName.length());
+      for (int i = 1; i < jdbcMethodArgs.length; i++) {
+        final Object value = jdbcMethodArgs[i];
+        if (value == null) {
+          fragment.append(":null");
+          continue;
+        }
+        if (!(value instanceof Number || value instanceof String || value instanceof Boolean
+            || value instanceof Character || value instanceof java.util.Date)) {
+          return null;
+        }
+        final String text = value.toString();
+        fragment.append(':').append(value.getClass().getSimpleName())
+            .append(text.length()).append('=').append(text);
+      }
+      return fragment.toString();
     }
   }
 
   @SuppressWarnings({"RedundantThrows", "checkstyle:OverloadMethodsDeclarationOrder"})
   public static class CachedResultSet implements ResultSet {
 
-    protected ArrayList<CachedRow> rows;
+    protected final CachedResultData data;
+    protected final int rowCount;
     protected int currentRow;
+    protected boolean wasNull;
+    protected boolean closed;
 
     public CachedResultSet(ResultSet resultSet) throws SQLException {
+      this(new CachedResultData(resultSet));
+    }
+
+    /**
+     * Creates a cursor positioned before the first row of the given data. Each cursor keeps its own
+     * position, so many cursors can read the same data concurrently.
+     *
+     * @param data the cached rows
+     */
+    public CachedResultSet(CachedResultData data) {
+      this.data = data;
+      this.rowCount = data.getRowCount();
+      this.currentRow = -1;
+    }
 
-      ResultSetMetaData md = resultSet.getMetaData();
-      int columns = md.getColumnCount();
-      rows = new ArrayList<>();
+    public CachedResultData getData() {
+      return data;
+    }
 
-      while (resultSet.next()) {
-        CachedRow row = new CachedRow();
-        for (int i = 1; i <= columns; ++i) {
-          row.put(i, md.getColumnName(i), resultSet.getObject(i));
-        }
-        rows.add(row);
+    private @Nullable CachedColumn getColumn(int columnIndex) {
+      if (this.currentRow < 0 || this.currentRow >= this.rowCount
+          || columnIndex < 1 || columnIndex > this.data.getColumnCount()) {
+        this.wasNull = true;
+        return null; // out of boundaries
       }
-      currentRow = -1;
+      CachedColumn column = this.data.getColumn(columnIndex);
+      this.wasNull = column.isNull(this.currentRow);
+      return column;
+    }
+
+    private int getColumnIndex(String columnLabel) {
+      return this.data.getColumnIndex(columnLabel);
     }
 
     @Override
     public boolean next() throws SQLException {
-      if (rows.size() == 0 || isLast()) {
+      if (rowCount == 0 || isLast()) {
         return false;
       }
       currentRow++;
@@ -193,78 +515,92 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
     @Override
     public void close() throws SQLException {
-      currentRow = rows.size() - 1;
+      currentRow = rowCount - 1;
+      closed = true;
     }
 
     @Override
     public boolean wasNull() throws SQLException {
-      throw new UnsupportedOperationException();
+      return this.wasNull;
     }
 
     @Override
     public String getString(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? null : column.getString(this.currentRow);
     }
 
     @Override
     public boolean getBoolean(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column != null && !this.wasNull && column.getBoolean(this.currentRow);
     }
 
     @Override
     public byte getByte(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? 0 : (byte) column.getInt(this.currentRow);
     }
 
     @Override
     public short getShort(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? 0 : (short) column.getInt(this.currentRow);
     }
 
     @Override
     public int getInt(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? 0 : column.getInt(this.currentRow);
     }
 
     @Override
     public long getLong(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? 0 : column.getLong(this.currentRow);
     }
 
     @Override
     public float getFloat(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? 0 : (float) column.getDouble(this.currentRow);
     }
 
     @Override
     public double getDouble(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? 0 : column.getDouble(this.currentRow);
     }
 
     @Override
     @Deprecated
     public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
-      throw new UnsupportedOperationException();
+      BigDecimal value = getBigDecimal(columnIndex);
+      return value == null ? null : value.setScale(scale, RoundingMode.HALF_UP);
     }
 
     @Override
     public byte[] getBytes(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? null : column.getObject(this.currentRow, byte[].class);
     }
 
     @Override
     public Date getDate(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? null : column.getObject(this.currentRow, Date.class);
     }
 
     @Override
     public Time getTime(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? null : column.getObject(this.currentRow, Time.class);
     }
 
     @Override
     public Timestamp getTimestamp(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? null : column.getObject(this.currentRow, Timestamp.class);
     }
 
     @Override
@@ -285,68 +621,68 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
     @Override
     public String getString(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getString(getColumnIndex(columnLabel));
     }
 
     @Override
     public boolean getBoolean(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getBoolean(getColumnIndex(columnLabel));
     }
 
     @Override
     public byte getByte(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getByte(getColumnIndex(columnLabel));
     }
 
     @Override
     public short getShort(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getShort(getColumnIndex(columnLabel));
     }
 
     @Override
     public int getInt(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getInt(getColumnIndex(columnLabel));
     }
 
     @Override
     public long getLong(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getLong(getColumnIndex(columnLabel));
     }
 
     @Override
     public float getFloat(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getFloat(getColumnIndex(columnLabel));
     }
 
     @Override
     public double getDouble(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getDouble(getColumnIndex(columnLabel));
     }
 
     @Override
     @Deprecated
     public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getBigDecimal(getColumnIndex(columnLabel), scale);
     }
 
     @Override
     public byte[] getBytes(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getBytes(getColumnIndex(columnLabel));
     }
 
     @Override
     public Date getDate(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getDate(getColumnIndex(columnLabel));
     }
 
     @Override
     public Time getTime(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getTime(getColumnIndex(columnLabel));
     }
 
     @Override
     public Timestamp getTimestamp(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getTimestamp(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -387,31 +723,24 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
     @Override
     public Object getObject(int columnIndex) throws SQLException {
-      if (this.currentRow < 0 || this.currentRow >= this.rows.size()) {
-        return null; // out of boundaries
-      }
-      CachedRow row = this.rows.get(this.currentRow);
-      if (!row.columnByIndex.containsKey(columnIndex)) {
-        return null; // column index out of boundaries
-      }
-      return row.columnByIndex.get(columnIndex);
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? null : column.getObject(this.currentRow);
     }
 
     @Override
     public Object getObject(String columnLabel) throws SQLException {
-      if (this.currentRow < 0 || this.currentRow >= this.rows.size()) {
-        return null; // out of boundaries
-      }
-      CachedRow row = this.rows.get(this.currentRow);
-      if (!row.columnByName.containsKey(columnLabel)) {
-        return null; // column name not found
-      }
-      return row.columnByName.get(columnLabel);
+      return getObject(getColumnIndex(columnLabel));
     }
 
     @Override
     public int findColumn(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      int columnIndex = getColumnIndex(columnLabel);
+      if (columnIndex < 1) {
+        throw new SQLException(
+            Messages.get("CachedResultSet.columnNotFound", new Object[] {columnLabel}),
+            SqlState.UNKNOWN_STATE.getState());
+      }
+      return columnIndex;
     }
 
     @Override
@@ -426,12 +755,13 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
     @Override
     public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      CachedColumn column = getColumn(columnIndex);
+      return column == null || this.wasNull ? null : column.getBigDecimal(this.currentRow);
     }
 
     @Override
     public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getBigDecimal(getColumnIndex(columnLabel));
     }
 
     @Override
@@ -441,17 +771,17 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
     @Override
     public boolean isAfterLast() throws SQLException {
-      return this.currentRow >= this.rows.size();
+      return this.currentRow >= this.rowCount;
     }
 
     @Override
     public boolean isFirst() throws SQLException {
-      return this.currentRow == 0 && this.rows.size() > 0;
+      return this.currentRow == 0 && this.rowCount > 0;
     }
 
     @Override
     public boolean isLast() throws SQLException {
-      return this.currentRow == (this.rows.size() - 1) && this.rows.size() > 0;
+      return this.currentRow == (this.rowCount - 1) && this.rowCount > 0;
     }
 
     @Override
@@ -461,18 +791,18 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
     @Override
     public void afterLast() throws SQLException {
-      this.currentRow = this.rows.size();
+      this.currentRow = this.rowCount;
     }
 
     @Override
     public boolean first() throws SQLException {
       this.currentRow = 0;
-      return this.currentRow < this.rows.size();
+      return this.currentRow < this.rowCount;
     }
 
     @Override
     public boolean last() throws SQLException {
-      this.currentRow = this.rows.size() - 1;
+      this.currentRow = this.rowCount - 1;
       return this.currentRow >= 0;
     }
 
@@ -486,21 +816,21 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
       if (row > 0) {
         this.currentRow = row - 1;
       } else {
-        this.currentRow = this.rows.size() + row;
+        this.currentRow = this.rowCount + row;
       }
-      return this.currentRow >= 0 && this.currentRow < this.rows.size();
+      return this.currentRow >= 0 && this.currentRow < this.rowCount;
     }
 
     @Override
     public boolean relative(int rows) throws SQLException {
       this.currentRow += rows;
-      return this.currentRow >= 0 && this.currentRow < this.rows.size();
+      return this.currentRow >= 0 && this.currentRow < this.rowCount;
     }
 
     @Override
     public boolean previous() throws SQLException {
       this.currentRow--;
-      return this.currentRow >= 0 && this.currentRow < this.rows.size();
+      return this.currentRow >= 0 && this.currentRow < this.rowCount;
     }
 
     @Override
@@ -935,7 +1265,7 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
     @Override
     public boolean isClosed() throws SQLException {
-      return false;
+      return closed;
     }
 
     @Override
@@ -995,12 +1325,12 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
     @Override
     public String getNString(int columnIndex) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getString(columnIndex);
     }
 
     @Override
     public String getNString(String columnLabel) throws SQLException {
-      throw new UnsupportedOperationException();
+      return getString(columnLabel);
     }
 
     @Override
@@ -1155,12 +1485,13 @@ public class DataCacheConnectionPlugin extends AbstractConnectionPlugin {
 
     @Override
     public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
-      return type.cast(getObject(columnIndex));
+      CachedColumn column = getColumn(columnIndex);
+      return column == null ? null : column.getObject(this.currentRow, type);
     }
 
     @Override
     public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
-      return type.cast(getObject(columnLabel));
+      return getObject(getColumnIndex(columnLabel), type);
     }
 
     @Override
@@ -18,7 +18,6 @@ package software.amazon.jdbc.plugin;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -29,18 +28,22 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import software.amazon.jdbc.ConnectionPlugin;
 import software.amazon.jdbc.ConnectionProvider;
 import software.amazon.jdbc.HostAvailability;
+import software.amazon.jdbc.HostHealthRegistry;
 import software.amazon.jdbc.HostListProviderService;
 import software.amazon.jdbc.HostSpec;
+import software.amazon.jdbc.HostStatisticsRegistry;
 import software.amazon.jdbc.JdbcCallable;
 import software.amazon.jdbc.NodeChangeOptions;
 import software.amazon.jdbc.OldConnectionSuggestedAction;
 import software.amazon.jdbc.PluginManagerService;
 import software.amazon.jdbc.PluginService;
 import software.amazon.jdbc.util.Messages;
+import software.amazon.jdbc.util.RdsUtils;
+import software.amazon.jdbc.util.SqlState;
+import software.amazon.jdbc.util.SqlTableParser;
 
 /**
  * This connection plugin will always be the last plugin in the connection plugin chain, and will
@@ -55,6 +58,7 @@ public final class DefaultConnectionPlugin implements ConnectionPlugin {
   private final ConnectionProvider connectionProvider;
   private final PluginService pluginService;
   private final PluginManagerService pluginManagerService;
+  private final RdsUtils rdsUtils = new RdsUtils();
 
   public DefaultConnectionPlugin(
       PluginService pluginService,
@@ -96,7 +100,7 @@ public final class DefaultConnectionPlugin implements ConnectionPlugin {
             new Object[] {methodName}));
     final T result = jdbcMethodFunc.call();
 
-    if (!(methodName.contains("execute") && jdbcMethodArgs != null && jdbcMethodArgs.length >= 1)) {
+    if (!(tracksTransactionState(methodName) && jdbcMethodArgs != null && jdbcMethodArgs.length >= 1)) {
       return result;
     }
 
@@ -114,6 +118,17 @@ public final class DefaultConnectionPlugin implements ConnectionPlugin {
     return result;
   }
 
+  /**
+   * Whether calls to the given method are inspected to track the transaction state. Calls to any
+   * other method are passed to the target driver unchanged.
+   *
+   * @param methodName the JDBC method name
+   * @return true if the method may open or close a transaction
+   */
+  public static boolean tracksTransactionState(final String methodName) {
+    return methodName.contains("execute");
+  }
+
   @Override
   public Connection connect(
       String driverProtocol,
@@ -123,7 +138,29 @@ public final class DefaultConnectionPlugin implements ConnectionPlugin {
       JdbcCallable<Connection, SQLException> connectFunc)
       throws SQLException {
 
-    Connection conn = this.connectionProvider.connect(driverProtocol, hostSpec, props);
+    // A new connection to an instance that another connection just failed to reach would most likely
+    // wait out the connect timeout. Cluster endpoints aren't checked, as their DNS may have moved.
+    if (isInitialConnection
+        && this.isInstanceEndpoint(hostSpec)
+        && HostHealthRegistry.getAvailability(hostSpec) == HostAvailability.NOT_AVAILABLE) {
+      throw new SQLException(
+          Messages.get("DefaultConnectionPlugin.hostReportedUnavailable", new Object[] {hostSpec.getUrl()}),
+          SqlState.CONNECTION_UNABLE_TO_CONNECT.getState());
+    }
+
+    final Connection conn;
+    final long startTimeNano = System.nanoTime();
+    try {
+      conn = this.connectionProvider.connect(driverProtocol, hostSpec, props);
+    } catch (final SQLException exception) {
+      // Let other connections skip the host instead of waiting for their own connect attempts to fail.
+      if (SqlState.isConnectionError(exception)) {
+        HostStatisticsRegistry.recordConnectFailure(hostSpec.asAliases());
+        this.pluginService.setAvailability(hostSpec.asAliases(), HostAvailability.NOT_AVAILABLE);
+      }
+      throw exception;
+    }
+    HostStatisticsRegistry.recordConnectTime(hostSpec.asAliases(), System.nanoTime() - startTimeNano);
 
     // It's guaranteed that this plugin is always the last in plugin chain so connectFunc can be
     // omitted.
@@ -132,6 +169,14 @@ public final class DefaultConnectionPlugin implements ConnectionPlugin {
     return conn;
   }
 
+  private boolean isInstanceEndpoint(final HostSpec hostSpec) {
+    final String host = hostSpec.getHost();
+    return this.rdsUtils.isRdsDns(host)
+        && !this.rdsUtils.isRdsClusterDns(host)
+        && !this.rdsUtils.isRdsCustomClusterDns(host)
+        && !this.rdsUtils.isRdsProxyDns(host);
+  }
+
   @Override
   public void initHostProvider(
       final String driverProtocol,
@@ -171,17 +216,6 @@ public final class DefaultConnectionPlugin implements ConnectionPlugin {
   }
 
   List<String> parseMultiStatementQueries(String query) {
-    if (query == null || query.isEmpty()) {
-      return new ArrayList<>();
-    }
-
-    query = query.replaceAll("\\s+", " ");
-
-    // Check to see if string only has blank spaces.
-    if (query.trim().isEmpty()) {
-      return new ArrayList<>();
-    }
-
-    return Arrays.stream(query.split(";")).collect(Collectors.toList());
+    return SqlTableParser.parseMultiStatementQueries(query);
   }
 }
@@ -16,13 +16,13 @@
 
 package software.amazon.jdbc.plugin.efm;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
- * Interface for passing a specific {@link ExecutorService} to use by the {@link
+ * Interface for passing a specific {@link ScheduledExecutorService} to use by the {@link
  * MonitorThreadContainer}.
  */
 @FunctionalInterface
 public interface ExecutorServiceInitializer {
-  ExecutorService createExecutorService();
+  ScheduledExecutorService createExecutorService();
 }
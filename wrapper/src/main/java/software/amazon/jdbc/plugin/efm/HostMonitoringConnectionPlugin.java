@@ -20,13 +20,17 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -76,6 +80,28 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
           "3",
           "Number of failed connection checks before considering database node unhealthy.");
 
+  public static final AwsWrapperProperty FAILURE_DETECTION_PROBE =
+      new AwsWrapperProperty(
+          "failureDetectionProbe",
+          "connection",
+          "How monitors probe database nodes: 'connection' checks a monitoring connection with Connection.isValid, "
+              + "'socket' opens a TCP connection to the node with a millisecond timeout without blocking a thread. "
+              + "Socket probes don't log in, so MySQL counts them towards max_connect_errors and PostgreSQL logs "
+              + "them as incomplete startup packets.");
+
+  public static final AwsWrapperProperty FAILURE_DETECTION_SKIP_METHODS =
+      new AwsWrapperProperty(
+          "failureDetectionSkipMethods",
+          ".get,.abort,.close,.next,.create",
+          "Comma-separated list of method name parts. Methods whose names contain any of them aren't monitored.");
+
+  public static final AwsWrapperProperty FAILURE_DETECTION_MONITOR_METHODS =
+      new AwsWrapperProperty(
+          "failureDetectionMonitorMethods",
+          "",
+          "Comma-separated list of method names, such as 'ResultSet.next', that are monitored even if they "
+              + "match failureDetectionSkipMethods.");
+
   private static final Set<String> subscribedMethods =
       Collections.unmodifiableSet(new HashSet<>(Arrays.asList("*")));
 
@@ -84,14 +110,23 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
   private static final String PG_RETRIEVE_HOST_PORT_SQL =
       "SELECT CONCAT(inet_server_addr(), ':', inet_server_port())";
 
-  private static final List<String> METHODS_TO_SKIP_MONITORING =
-      Arrays.asList(".get", ".abort", ".close", ".next", ".create");
+  // Whether each method needs monitoring, by method name, for each combination of the skip and
+  // monitor method settings. The decisions are shared by all connections with the same settings.
+  private static final Map<String, Map<String, Boolean>> monitoringDecisionsBySettings =
+      new ConcurrentHashMap<>();
 
   protected @NonNull Properties properties;
   private MonitorService monitorService;
   private final @NonNull Supplier<MonitorService> monitorServiceSupplier;
   private final Set<String> nodeKeys = new HashSet<>();
+  // The host spec whose aliases are in nodeKeys, or null if nodeKeys must be refreshed.
+  private HostSpec nodeKeysHostSpec;
+  // A stopped context that the next monitored method call can reuse.
+  private final AtomicReference<MonitorConnectionContext> idleMonitorContext = new AtomicReference<>();
   private final @NonNull PluginService pluginService;
+  private final List<String> methodsToSkipMonitoring;
+  private final Set<String> methodsToMonitor;
+  private final Map<String, Boolean> monitoringDecisions;
 
   /**
    * Initialize the node monitoring plugin.
@@ -102,7 +137,7 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
    */
   public HostMonitoringConnectionPlugin(
       final @NonNull PluginService pluginService, final @NonNull Properties properties) {
-    this(pluginService, properties, () -> new MonitorServiceImpl(pluginService));
+    this(pluginService, properties, () -> new MonitorServiceImpl(pluginService, properties));
   }
 
   HostMonitoringConnectionPlugin(
@@ -118,6 +153,13 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
     this.pluginService = pluginService;
     this.properties = properties;
     this.monitorServiceSupplier = monitorServiceSupplier;
+
+    final String skipMethods = FAILURE_DETECTION_SKIP_METHODS.getString(properties);
+    final String monitorMethods = FAILURE_DETECTION_MONITOR_METHODS.getString(properties);
+    this.methodsToSkipMonitoring = splitMethodList(skipMethods);
+    this.methodsToMonitor = new HashSet<>(splitMethodList(monitorMethods));
+    this.monitoringDecisions = monitoringDecisionsBySettings.computeIfAbsent(
+        skipMethods + "\u0000" + monitorMethods, k -> new ConcurrentHashMap<>());
   }
 
   @Override
@@ -156,29 +198,45 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
     MonitorConnectionContext monitorContext = null;
 
     try {
-      LOGGER.finest(
-          () -> Messages.get(
-              "HostMonitoringConnectionPlugin.activatedMonitoring",
-              new Object[] {methodName}));
+      // Skip building the message supplier when it isn't logged, as this runs for every method call.
+      if (LOGGER.isLoggable(Level.FINEST)) {
+        LOGGER.finest(
+            Messages.get(
+                "HostMonitoringConnectionPlugin.activatedMonitoring",
+                new Object[] {methodName}));
+      }
 
-      this.nodeKeys.clear();
-      this.nodeKeys.addAll(this.pluginService.getCurrentHostSpec().asAliases());
-
-      monitorContext =
-          this.monitorService.startMonitoring(
-              this.pluginService.getCurrentConnection(), // abort this connection if needed
-              this.nodeKeys,
-              this.pluginService.getCurrentHostSpec(),
-              this.properties,
-              failureDetectionTimeMillis,
-              failureDetectionIntervalMillis,
-              failureDetectionCount);
+      final HostSpec currentHostSpec = this.pluginService.getCurrentHostSpec();
+      final Connection currentConnection = this.pluginService.getCurrentConnection();
+      this.refreshNodeKeys(currentHostSpec);
+
+      // Only one method call at a time can take the idle context; concurrent calls create their own.
+      final MonitorConnectionContext idleContext = this.idleMonitorContext.getAndSet(null);
+      if (idleContext != null
+          && idleContext.isReusableFor(
+              currentConnection, failureDetectionTimeMillis, failureDetectionIntervalMillis, failureDetectionCount)) {
+        monitorContext = idleContext;
+        this.monitorService.restartMonitoring(monitorContext, currentHostSpec, this.properties);
+      } else {
+        monitorContext =
+            this.monitorService.startMonitoring(
+                currentConnection, // abort this connection if needed
+                this.nodeKeys,
+                currentHostSpec,
+                this.properties,
+                failureDetectionTimeMillis,
+                failureDetectionIntervalMillis,
+                failureDetectionCount);
+      }
 
       result = jdbcMethodFunc.call();
 
     } finally {
       if (monitorContext != null) {
         this.monitorService.stopMonitoring(monitorContext);
+        if (!monitorContext.isNodeUnhealthy()) {
+          this.idleMonitorContext.set(monitorContext);
+        }
 
         final boolean isConnectionClosed;
         try {
@@ -202,10 +260,12 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
           }
         }
       }
-      LOGGER.finest(
-          () -> Messages.get(
-              "HostMonitoringConnectionPlugin.activatedMonitoring",
-              new Object[] {methodName}));
+      if (LOGGER.isLoggable(Level.FINEST)) {
+        LOGGER.finest(
+            Messages.get(
+                "HostMonitoringConnectionPlugin.activatedMonitoring",
+                new Object[] {methodName}));
+      }
     }
 
     return result;
@@ -229,14 +289,29 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
   }
 
   /**
-   * Checks whether the JDBC method passed to this connection plugin requires monitoring.
+   * Checks whether the JDBC method passed to this connection plugin requires monitoring. The
+   * decision is made once per method name and reused for later calls.
    *
    * @param methodName Name of the JDBC method.
    * @return true if the method requires monitoring; false otherwise.
    */
   protected boolean doesNeedMonitoring(final String methodName) {
+    final Boolean needsMonitoring = this.monitoringDecisions.get(methodName);
+    if (needsMonitoring != null) {
+      return needsMonitoring;
+    }
+
+    final boolean decision = this.classifyMethod(methodName);
+    this.monitoringDecisions.put(methodName, decision);
+    return decision;
+  }
+
+  private boolean classifyMethod(final String methodName) {
+    if (this.methodsToMonitor.contains(methodName)) {
+      return true;
+    }
 
-    for (final String method : METHODS_TO_SKIP_MONITORING) {
+    for (final String method : this.methodsToSkipMonitoring) {
       if (methodName.contains(method)) {
         return false;
       }
@@ -246,6 +321,29 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
     return true;
   }
 
+  private static List<String> splitMethodList(final String methods) {
+    final List<String> result = new ArrayList<>();
+    if (methods == null) {
+      return result;
+    }
+    for (final String method : methods.split(",")) {
+      final String trimmed = method.trim();
+      if (!trimmed.isEmpty()) {
+        result.add(trimmed);
+      }
+    }
+    return result;
+  }
+
+  private void refreshNodeKeys(final HostSpec hostSpec) {
+    final Set<String> aliases = hostSpec.asAliases();
+    if (hostSpec != this.nodeKeysHostSpec || aliases.size() != this.nodeKeys.size()) {
+      this.nodeKeys.clear();
+      this.nodeKeys.addAll(aliases);
+      this.nodeKeysHostSpec = hostSpec;
+    }
+  }
+
   private void initMonitorService() {
     if (this.monitorService == null) {
       this.monitorService = this.monitorServiceSupplier.get();
@@ -255,6 +353,7 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
   /** Call this plugin's monitor service to release all resources associated with this plugin. */
   @Override
   public void releaseResources() {
+    this.idleMonitorContext.set(null);
     if (this.monitorService != null) {
       this.monitorService.releaseResources();
     }
@@ -311,6 +410,8 @@ public class HostMonitoringConnectionPlugin extends AbstractConnectionPlugin
       }
       this.nodeKeys.clear();
       this.nodeKeys.addAll(this.pluginService.getCurrentHostSpec().getAliases());
+      this.nodeKeysHostSpec = null;
+      this.idleMonitorContext.set(null);
     }
 
     return OldConnectionSuggestedAction.NO_OPINION;
@@ -17,10 +17,11 @@
 package software.amazon.jdbc.plugin.efm;
 
 /**
- * Interface for monitors. This class uses background threads to monitor servers with one or more
- * connections for more efficient failure detection during method execution.
+ * Interface for monitors. Monitors check servers with one or more connections for more efficient
+ * failure detection during method execution. The checks run on a thread pool shared by all
+ * monitors, see {@link MonitorThreadContainer}.
  */
-public interface Monitor extends Runnable {
+public interface Monitor {
 
   void startMonitoring(MonitorConnectionContext context);
 
@@ -35,4 +36,16 @@ public interface Monitor extends Runnable {
    * @return true if the monitoring has stopped; false otherwise.
    */
   boolean isStopped();
+
+  /**
+   * Run one round of monitoring. If there are connections to monitor, the server is probed once
+   * and the connections are updated with the result.
+   *
+   * @return the delay in milliseconds before the next round, or a negative value if the monitor
+   *     has been disposed and shouldn't run again.
+   */
+  long runCheck();
+
+  /** Stop monitoring and release the resources held by this {@link Monitor} instance. */
+  void close();
 }
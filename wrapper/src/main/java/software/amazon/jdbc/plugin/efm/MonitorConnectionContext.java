@@ -40,7 +40,7 @@ public class MonitorConnectionContext {
   private final Set<String> hostAliases;
   private final Connection connectionToAbort;
 
-  private long startMonitorTime; // in nanos
+  private volatile long startMonitorTime; // in nanos
   private long invalidNodeStartTime; // in nanos
   private long failureCount;
   private boolean nodeUnhealthy;
@@ -74,6 +74,41 @@ public class MonitorConnectionContext {
     this.startMonitorTime = startMonitorTimeNano;
   }
 
+  /**
+   * Checks whether this context can monitor another method call with the given settings.
+   *
+   * @param connectionToAbort The connection executing the method call.
+   * @param failureDetectionTimeMillis Grace period after which node monitoring starts.
+   * @param failureDetectionIntervalMillis Interval between each failed connection check.
+   * @param failureDetectionCount Number of failed connection checks before considering database
+   *     node as unhealthy.
+   * @return true if the context was created for the same connection and settings.
+   */
+  boolean isReusableFor(
+      Connection connectionToAbort,
+      long failureDetectionTimeMillis,
+      long failureDetectionIntervalMillis,
+      long failureDetectionCount) {
+    return this.connectionToAbort == connectionToAbort
+        && this.failureDetectionTimeMillis == failureDetectionTimeMillis
+        && this.failureDetectionIntervalMillis == failureDetectionIntervalMillis
+        && this.failureDetectionCount == failureDetectionCount;
+  }
+
+  /**
+   * Clear the monitoring state of a stopped context so that it can monitor another method call of
+   * the same connection. The context must not be used by any other method call at the same time.
+   *
+   * @param startMonitorTimeNano The time when monitoring of the method call starts in nanos.
+   */
+  void reset(long startMonitorTimeNano) {
+    this.startMonitorTime = startMonitorTimeNano;
+    this.failureCount = 0;
+    this.invalidNodeStartTime = 0;
+    this.nodeUnhealthy = false;
+    this.activeContext.set(true);
+  }
+
   Set<String> getHostAliases() {
     return this.hostAliases;
   }
@@ -155,7 +190,9 @@ public class MonitorConnectionContext {
    * @param isValid Whether the connection is valid.
    */
   public void updateConnectionStatus(long statusCheckStartTime, long currentTime, boolean isValid) {
-    if (!this.activeContext.get()) {
+    if (!this.activeContext.get() || statusCheckStartTime < this.startMonitorTime) {
+      // A status check that started before the context was last started may belong to a method
+      // call that has already completed.
       return;
     }
 
@@ -16,11 +16,16 @@
 
 package software.amazon.jdbc.plugin.efm;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Properties;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -32,8 +37,9 @@ import software.amazon.jdbc.util.Messages;
 import software.amazon.jdbc.util.PropertyUtils;
 
 /**
- * This class uses a background thread to monitor a particular server with one or more active {@link
- * Connection}.
+ * This class monitors a particular server with one or more active {@link Connection}. Each call to
+ * {@link #runCheck()} probes the server once; the calls are scheduled by the {@link
+ * MonitorThreadContainer}.
  */
 public class MonitorImpl implements Monitor {
 
@@ -49,19 +55,32 @@ public class MonitorImpl implements Monitor {
   }
 
   private static final Logger LOGGER = Logger.getLogger(MonitorImpl.class.getName());
-  private static final long THREAD_SLEEP_WHEN_INACTIVE_MILLIS = 100;
+  private static final long CHECK_DELAY_WHEN_INACTIVE_MILLIS = 100;
   private static final String MONITORING_PROPERTY_PREFIX = "monitoring-";
+  private static final String SOCKET_PROBE = "socket";
 
-  private final Queue<MonitorConnectionContext> contexts = new ConcurrentLinkedQueue<>();
+  private final Set<MonitorConnectionContext> contexts = ConcurrentHashMap.newKeySet();
+  // Number of monitored contexts by failure detection interval, to find the shortest one without
+  // scanning all contexts.
+  private final TreeMap<Long, Integer> contextCountByInterval = new TreeMap<>();
   private final PluginService pluginService;
   private final Properties properties;
   private final HostSpec hostSpec;
   private Connection monitoringConn = null;
-  private long connectionCheckIntervalMillis = Long.MAX_VALUE;
+  // Whether the last check of monitoringConn succeeded, so that it can be reused by other monitors.
+  private boolean isMonitoringConnValid = false;
+  private Properties monitoringConnProperties = null;
+  private String monitoringConnPoolKey = null;
+  private volatile long connectionCheckIntervalMillis = Long.MAX_VALUE;
   private final AtomicLong lastContextUsedTimestamp = new AtomicLong(); // in nanos
   private final long monitorDisposalTimeMillis;
   private final MonitorService monitorService;
   private final AtomicBoolean stopped = new AtomicBoolean(true);
+  private final boolean useSocketProbe;
+  private final AtomicBoolean socketProbeInProgress = new AtomicBoolean();
+  // The resolved address of the server, kept until a socket probe fails so that probes don't look
+  // up the host name every time.
+  private volatile InetSocketAddress socketProbeAddress;
 
   /**
    * Store the monitoring configuration for a connection.
@@ -70,7 +89,7 @@ public class MonitorImpl implements Monitor {
    * @param hostSpec The {@link HostSpec} of the server this {@link MonitorImpl} instance is
    *     monitoring.
    * @param properties The {@link Properties} containing additional monitoring configuration.
-   * @param monitorDisposalTimeMillis Time before stopping the monitoring thread where there are no active
+   * @param monitorDisposalTimeMillis Time before disposing of this monitor when there are no active
    *     connection to the server this {@link MonitorImpl} instance is monitoring.
    * @param monitorService A reference to the {@link MonitorServiceImpl} implementation that
    *     initialized this class.
@@ -86,18 +105,34 @@ public class MonitorImpl implements Monitor {
     this.properties = properties;
     this.monitorDisposalTimeMillis = monitorDisposalTimeMillis;
     this.monitorService = monitorService;
+    this.useSocketProbe = this.isSocketProbeConfigured();
 
     this.lastContextUsedTimestamp.set(this.getCurrentTimeNano());
   }
 
+  private boolean isSocketProbeConfigured() {
+    final String probe = HostMonitoringConnectionPlugin.FAILURE_DETECTION_PROBE.getString(this.properties);
+    if (!SOCKET_PROBE.equalsIgnoreCase(probe)) {
+      return false;
+    }
+    if (!this.hostSpec.isPortSpecified()) {
+      LOGGER.warning(
+          () -> Messages.get(
+              "MonitorImpl.socketProbeWithoutPort",
+              new Object[] {this.hostSpec.getHost()}));
+      return false;
+    }
+    return true;
+  }
+
   @Override
   public void startMonitoring(MonitorConnectionContext context) {
-    this.connectionCheckIntervalMillis =
-        Math.min(this.connectionCheckIntervalMillis, context.getFailureDetectionIntervalMillis());
     final long currentTime = this.getCurrentTimeNano();
     context.setStartMonitorTime(currentTime);
     this.lastContextUsedTimestamp.set(currentTime);
-    this.contexts.add(context);
+    if (this.contexts.add(context)) {
+      this.updateContextCount(context.getFailureDetectionIntervalMillis(), 1);
+    }
   }
 
   @Override
@@ -108,56 +143,120 @@ public class MonitorImpl implements Monitor {
     }
 
     context.invalidate();
-    this.contexts.remove(context);
-
-    this.connectionCheckIntervalMillis = findShortestIntervalMillis();
+    if (this.contexts.remove(context)) {
+      this.updateContextCount(context.getFailureDetectionIntervalMillis(), -1);
+    }
   }
 
-  public synchronized void clearContexts() {
-    this.contexts.clear();
-    this.connectionCheckIntervalMillis = findShortestIntervalMillis();
+  public void clearContexts() {
+    synchronized (this.contextCountByInterval) {
+      this.contexts.clear();
+      this.contextCountByInterval.clear();
+      this.connectionCheckIntervalMillis = Long.MAX_VALUE;
+    }
   }
 
   @Override
-  public void run() {
+  public long runCheck() {
+    this.stopped.set(false);
+    if (!this.contexts.isEmpty()) {
+      final long statusCheckStartTime = this.getCurrentTimeNano();
+      this.lastContextUsedTimestamp.set(statusCheckStartTime);
+
+      if (this.useSocketProbe) {
+        // The probe completes asynchronously and updates the contexts itself.
+        this.startSocketProbe(statusCheckStartTime);
+        return this.getConnectionCheckIntervalMillis();
+      }
+
+      final ConnectionStatus status =
+          checkConnectionStatus(this.getConnectionCheckIntervalMillis());
+      this.updateContexts(statusCheckStartTime, statusCheckStartTime + status.elapsedTime, status.isValid);
+
+      return Math.max(0, this.getConnectionCheckIntervalMillis() - TimeUnit.NANOSECONDS.toMillis(status.elapsedTime));
+    }
+
+    if ((this.getCurrentTimeNano() - this.lastContextUsedTimestamp.get())
+        >= TimeUnit.MILLISECONDS.toNanos(this.monitorDisposalTimeMillis)) {
+      monitorService.notifyUnused(this);
+      this.close();
+      return -1;
+    }
+    return CHECK_DELAY_WHEN_INACTIVE_MILLIS;
+  }
+
+  private void updateContexts(final long statusCheckStartTime, final long statusCheckEndTime, final boolean isValid) {
+    for (MonitorConnectionContext monitorContext : this.contexts) {
+      monitorContext.updateConnectionStatus(statusCheckStartTime, statusCheckEndTime, isValid);
+    }
+  }
+
+  /**
+   * Start a probe that opens a TCP connection to the monitored server, unless the previous probe is
+   * still pending. The probe times out after the shortest failure detection interval. The host name
+   * is resolved for the first probe and again after a probe fails, in case the server moved.
+   *
+   * @param statusCheckStartTime The time when the status check started in nanos.
+   */
+  void startSocketProbe(final long statusCheckStartTime) {
+    if (!this.socketProbeInProgress.compareAndSet(false, true)) {
+      return;
+    }
+
+    InetSocketAddress address = this.socketProbeAddress;
+    if (address == null) {
+      address = new InetSocketAddress(this.hostSpec.getHost(), this.hostSpec.getPort());
+      if (address.isUnresolved()) {
+        LOGGER.fine(
+            () -> Messages.get(
+                "MonitorImpl.socketProbeUnresolvedHost",
+                new Object[] {this.hostSpec.getHost()}));
+        this.updateContexts(statusCheckStartTime, this.getCurrentTimeNano(), false);
+        this.socketProbeInProgress.set(false);
+        return;
+      }
+      this.socketProbeAddress = address;
+    }
+
+    final CompletableFuture<Boolean> probe;
     try {
-      this.stopped.set(false);
-      while (true) {
-        if (!this.contexts.isEmpty()) {
-          final long statusCheckStartTime = this.getCurrentTimeNano();
-          this.lastContextUsedTimestamp.set(statusCheckStartTime);
-
-          final ConnectionStatus status =
-              checkConnectionStatus(this.getConnectionCheckIntervalMillis());
-
-          for (MonitorConnectionContext monitorContext : this.contexts) {
-            monitorContext.updateConnectionStatus(
-                statusCheckStartTime, statusCheckStartTime + status.elapsedTime, status.isValid);
-          }
-
-          TimeUnit.MILLISECONDS.sleep(
-              Math.max(0, this.getConnectionCheckIntervalMillis() - TimeUnit.NANOSECONDS.toMillis(status.elapsedTime)));
-        } else {
-          if ((this.getCurrentTimeNano() - this.lastContextUsedTimestamp.get())
-              >= TimeUnit.MILLISECONDS.toNanos(this.monitorDisposalTimeMillis)) {
-            monitorService.notifyUnused(this);
-            break;
-          }
-          TimeUnit.MILLISECONDS.sleep(THREAD_SLEEP_WHEN_INACTIVE_MILLIS);
-        }
+      probe = SocketProbeSelector.getInstance().probe(address, this.getConnectionCheckIntervalMillis());
+    } catch (IOException ex) {
+      this.socketProbeAddress = null;
+      this.socketProbeInProgress.set(false);
+      LOGGER.warning(
+          () -> Messages.get(
+              "MonitorImpl.socketProbeFailed",
+              new Object[] {this.hostSpec.getHost(), ex.getMessage()}));
+      return;
+    }
+
+    probe.whenComplete((isValid, ex) -> {
+      if (!Boolean.TRUE.equals(isValid)) {
+        this.socketProbeAddress = null;
       }
-    } catch (InterruptedException intEx) {
-      // do nothing; exit thread
-    } finally {
-      if (this.monitoringConn != null) {
+      this.updateContexts(statusCheckStartTime, this.getCurrentTimeNano(), Boolean.TRUE.equals(isValid));
+      this.socketProbeInProgress.set(false);
+    });
+  }
+
+  @Override
+  public void close() {
+    if (this.monitoringConn != null) {
+      if (this.isMonitoringConnValid) {
+        // Keep the connection open for monitors created later for the same server.
+        MonitoringConnectionPool.release(
+            this.monitoringConnPoolKey, this.monitoringConn, this.monitorDisposalTimeMillis);
+      } else {
         try {
           this.monitoringConn.close();
         } catch (SQLException ex) {
           // ignore
         }
       }
-      this.stopped.set(true);
+      this.isMonitoringConnValid = false;
     }
+    this.stopped.set(true);
   }
 
   /**
@@ -172,33 +271,51 @@ public class MonitorImpl implements Monitor {
     long start = this.getCurrentTimeNano();
     try {
       if (this.monitoringConn == null || this.monitoringConn.isClosed()) {
-        // open a new connection
-        Properties monitoringConnProperties = PropertyUtils.copyProperties(this.properties);
-
-        this.properties.stringPropertyNames().stream()
-            .filter(p -> p.startsWith(MONITORING_PROPERTY_PREFIX))
-            .forEach(
-                p -> {
-                  monitoringConnProperties.put(
-                      p.substring(MONITORING_PROPERTY_PREFIX.length()),
-                      this.properties.getProperty(p));
-                  monitoringConnProperties.remove(p);
-                });
-
-        start = this.getCurrentTimeNano();
-        this.monitoringConn = this.pluginService.connect(this.hostSpec, monitoringConnProperties);
-        return new ConnectionStatus(true, this.getCurrentTimeNano() - start);
+        if (this.monitoringConnProperties == null) {
+          this.monitoringConnProperties = this.createMonitoringConnProperties();
+          this.monitoringConnPoolKey = MonitoringConnectionPool.getKey(this.hostSpec, this.monitoringConnProperties);
+        }
+
+        // Reuse a connection left by an earlier monitor of the same server if there is one.
+        this.isMonitoringConnValid = false;
+        this.monitoringConn = MonitoringConnectionPool.borrow(this.monitoringConnPoolKey);
+        if (this.monitoringConn == null) {
+          start = this.getCurrentTimeNano();
+          this.monitoringConn = this.pluginService.connect(this.hostSpec, this.monitoringConnProperties);
+          this.isMonitoringConnValid = true;
+          return new ConnectionStatus(true, this.getCurrentTimeNano() - start);
+        }
       }
 
       start = this.getCurrentTimeNano();
-      boolean isValid = this.monitoringConn.isValid(
-          (int) TimeUnit.MILLISECONDS.toSeconds(shortestFailureDetectionIntervalMillis));
+      // isValid takes whole seconds, and a timeout of 0 means no timeout at all, so round sub-second
+      // intervals up.
+      final int timeoutSeconds =
+          (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(shortestFailureDetectionIntervalMillis + 999));
+      boolean isValid = this.monitoringConn.isValid(timeoutSeconds);
+      this.isMonitoringConnValid = isValid;
       return new ConnectionStatus(isValid, this.getCurrentTimeNano() - start);
     } catch (SQLException sqlEx) {
+      this.isMonitoringConnValid = false;
       return new ConnectionStatus(false, this.getCurrentTimeNano() - start);
     }
   }
 
+  private Properties createMonitoringConnProperties() {
+    final Properties monitoringConnProperties = PropertyUtils.copyProperties(this.properties);
+
+    this.properties.stringPropertyNames().stream()
+        .filter(p -> p.startsWith(MONITORING_PROPERTY_PREFIX))
+        .forEach(
+            p -> {
+              monitoringConnProperties.put(
+                  p.substring(MONITORING_PROPERTY_PREFIX.length()),
+                  this.properties.getProperty(p));
+              monitoringConnProperties.remove(p);
+            });
+    return monitoringConnProperties;
+  }
+
   // This method helps to organize unit tests.
   long getCurrentTimeNano() {
     return System.nanoTime();
@@ -218,11 +335,14 @@ public class MonitorImpl implements Monitor {
     return this.stopped.get();
   }
 
-  private long findShortestIntervalMillis() {
-    long currentMin = Long.MAX_VALUE;
-    for (MonitorConnectionContext context : this.contexts) {
-      currentMin = Math.min(currentMin, context.getFailureDetectionIntervalMillis());
+  private void updateContextCount(final long intervalMillis, final int delta) {
+    synchronized (this.contextCountByInterval) {
+      this.contextCountByInterval.compute(intervalMillis, (k, count) -> {
+        final int newCount = (count == null ? 0 : count) + delta;
+        return newCount > 0 ? newCount : null;
+      });
+      final Map.Entry<Long, Integer> shortest = this.contextCountByInterval.firstEntry();
+      this.connectionCheckIntervalMillis = shortest == null ? Long.MAX_VALUE : shortest.getKey();
     }
-    return currentMin;
   }
 }
@@ -36,6 +36,17 @@ public interface MonitorService {
       int failureDetectionIntervalMillis,
       int failureDetectionCount);
 
+  /**
+   * Start monitoring again with a context returned by {@link #startMonitoring} that has since been
+   * stopped. Reusing the context of a connection avoids creating one for every monitored method
+   * call.
+   *
+   * @param context The stopped {@link MonitorConnectionContext} to reuse.
+   * @param hostSpec Information such as hostname of the server.
+   * @param properties The user configuration for the current connection.
+   */
+  void restartMonitoring(MonitorConnectionContext context, HostSpec hostSpec, Properties properties);
+
   /**
    * Stop monitoring for a connection represented by the given {@link MonitorConnectionContext}.
    * Removes the context from the {@link MonitorImpl}.
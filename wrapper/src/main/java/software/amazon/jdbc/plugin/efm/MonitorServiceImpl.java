@@ -42,11 +42,29 @@ public class MonitorServiceImpl implements MonitorService {
           "60000",
           "Interval in milliseconds for a monitor to be considered inactive and to be disposed.");
 
+  protected static final AwsWrapperProperty MONITOR_THREAD_POOL_SIZE =
+      new AwsWrapperProperty(
+          "monitorThreadPoolSize",
+          String.valueOf(MonitorThreadContainer.DEFAULT_THREAD_POOL_SIZE),
+          "Minimum number of threads shared by all monitors to check the servers they monitor. "
+              + "The pool grows to one thread per monitored server when there are more servers.");
+
   MonitorThreadContainer threadContainer;
 
   final MonitorInitializer monitorInitializer;
 
   public MonitorServiceImpl(final @NonNull PluginService pluginService) {
+    this(pluginService, new Properties());
+  }
+
+  /**
+   * Create a monitor service. The thread pool size set in the given properties only applies if no
+   * other connection has started monitoring yet, since the thread pool is shared by all monitors.
+   *
+   * @param pluginService A service for creating new connections.
+   * @param props The user configuration for the current connection.
+   */
+  public MonitorServiceImpl(final @NonNull PluginService pluginService, final @NonNull Properties props) {
     this(
         (hostSpec, properties, monitorService) ->
             new MonitorImpl(
@@ -56,7 +74,8 @@ public class MonitorServiceImpl implements MonitorService {
                 MONITOR_DISPOSAL_TIME_MS.getLong(properties),
                 monitorService),
         () ->
-            Executors.newCachedThreadPool(
+            Executors.newScheduledThreadPool(
+                Math.max(1, MONITOR_THREAD_POOL_SIZE.getInteger(props)),
                 r -> {
                   final Thread monitoringThread = new Thread(r);
                   monitoringThread.setDaemon(true);
@@ -105,6 +124,16 @@ public class MonitorServiceImpl implements MonitorService {
     return context;
   }
 
+  @Override
+  public void restartMonitoring(
+      @NonNull MonitorConnectionContext context,
+      HostSpec hostSpec,
+      Properties properties) {
+    final Monitor monitor = getMonitor(context.getHostAliases(), hostSpec, properties);
+    context.reset(System.nanoTime());
+    monitor.startMonitoring(context);
+  }
+
   @Override
   public void stopMonitoring(@NonNull MonitorConnectionContext context) {
 
@@ -142,6 +171,10 @@ public class MonitorServiceImpl implements MonitorService {
   public void releaseResources() {
     this.threadContainer = null;
     MonitorThreadContainer.releaseInstance();
+    if (!MonitorThreadContainer.isInUse()) {
+      // The last monitor service is gone, no monitor will reuse the idle monitoring connections.
+      MonitoringConnectionPool.closeAll();
+    }
   }
 
   @Override
@@ -23,25 +23,39 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import software.amazon.jdbc.util.Messages;
 
 /**
- * This singleton class keeps track of all the monitoring threads and handles the creation and clean
- * up of each monitoring thread.
+ * This singleton class keeps track of all the monitors and handles their creation and clean up.
+ *
+ * <p>Monitors don't own a thread. Each monitor check is scheduled on a thread pool shared by all
+ * monitors and reschedules itself when it completes. Since a check blocks its thread until the
+ * server responds or the check times out, the pool grows to at least one thread per monitor, so that
+ * checks stuck on unresponsive servers can't delay the checks of the other servers.
  */
 public class MonitorThreadContainer {
+  private static final Logger LOGGER = Logger.getLogger(MonitorThreadContainer.class.getName());
+  static final int DEFAULT_THREAD_POOL_SIZE = 8;
+  static final long IDLE_CONNECTION_CLEANUP_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
   private static MonitorThreadContainer singleton = null;
   private static final AtomicInteger CLASS_USAGE_COUNT = new AtomicInteger();
   private final Map<String, Monitor> monitorMap = new ConcurrentHashMap<>();
   private final Map<Monitor, Future<?>> tasksMap = new ConcurrentHashMap<>();
   private final Queue<Monitor> availableMonitors = new ConcurrentLinkedDeque<>();
-  private final ExecutorService threadPool;
+  private final ScheduledExecutorService threadPool;
+  private final int minThreadPoolSize;
   private static final ReentrantLock LOCK_OBJECT = new ReentrantLock();
 
   /**
@@ -50,7 +64,7 @@ public class MonitorThreadContainer {
    * @return a singleton instance of the {@link MonitorThreadContainer}.
    */
   public static MonitorThreadContainer getInstance() {
-    return getInstance(Executors::newCachedThreadPool);
+    return getInstance(() -> Executors.newScheduledThreadPool(DEFAULT_THREAD_POOL_SIZE));
   }
 
   static MonitorThreadContainer getInstance(ExecutorServiceInitializer executorServiceInitializer) {
@@ -92,8 +106,26 @@ public class MonitorThreadContainer {
     }
   }
 
+  /**
+   * Check whether the container is currently in use.
+   *
+   * @return true if the container was created and not yet released by all its users.
+   */
+  public static boolean isInUse() {
+    return singleton != null;
+  }
+
   private MonitorThreadContainer(ExecutorServiceInitializer executorServiceInitializer) {
     this.threadPool = executorServiceInitializer.createExecutorService();
+    this.minThreadPoolSize = this.threadPool instanceof ThreadPoolExecutor
+        ? ((ThreadPoolExecutor) this.threadPool).getCorePoolSize()
+        : 0;
+    // Idle monitoring connections expire even if no monitor is created or disposed anymore.
+    this.threadPool.scheduleWithFixedDelay(
+        MonitoringConnectionPool::removeExpired,
+        IDLE_CONNECTION_CLEANUP_INTERVAL_MILLIS,
+        IDLE_CONNECTION_CLEANUP_INTERVAL_MILLIS,
+        TimeUnit.MILLISECONDS);
   }
 
   public Map<String, Monitor> getMonitorMap() {
@@ -104,7 +136,7 @@ public class MonitorThreadContainer {
     return tasksMap;
   }
 
-  public ExecutorService getThreadPool() {
+  public ScheduledExecutorService getThreadPool() {
     return threadPool;
   }
 
@@ -162,7 +194,23 @@ public class MonitorThreadContainer {
   }
 
   void addTask(Monitor monitor) {
-    tasksMap.computeIfAbsent(monitor, k -> threadPool.submit(monitor));
+    tasksMap.computeIfAbsent(monitor, k -> threadPool.schedule(new MonitorTask(monitor), 0, TimeUnit.MILLISECONDS));
+    resizeThreadPool();
+  }
+
+  /**
+   * Keep at least one thread per monitor in the thread pool, but never fewer threads than the pool
+   * was created with.
+   */
+  private synchronized void resizeThreadPool() {
+    if (!(threadPool instanceof ThreadPoolExecutor)) {
+      return;
+    }
+    final ThreadPoolExecutor executor = (ThreadPoolExecutor) threadPool;
+    final int poolSize = Math.max(minThreadPoolSize, tasksMap.size());
+    if (executor.getCorePoolSize() != poolSize) {
+      executor.setCorePoolSize(poolSize);
+    }
   }
 
   /**
@@ -181,10 +229,9 @@ public class MonitorThreadContainer {
   }
 
   /**
-   * Remove references to the given {@link MonitorImpl} object and stop the background monitoring
-   * thread.
+   * Remove references to the given {@link MonitorImpl} object and stop scheduling its checks.
    *
-   * @param monitor The {@link MonitorImpl} representing a monitoring thread.
+   * @param monitor The {@link MonitorImpl} to stop.
    */
   public void releaseResource(Monitor monitor) {
     if (monitor == null) {
@@ -196,9 +243,10 @@ public class MonitorThreadContainer {
     tasksMap.computeIfPresent(
         monitor,
         (k, v) -> {
-          v.cancel(true);
+          v.cancel(false);
           return null;
         });
+    resizeThreadPool();
   }
 
   private void releaseResources() {
@@ -206,9 +254,51 @@ public class MonitorThreadContainer {
     tasksMap.values().stream()
         .filter(val -> !val.isDone() && !val.isCancelled())
         .forEach(val -> val.cancel(true));
+    tasksMap.keySet().forEach(Monitor::close);
+    tasksMap.clear();
 
     if (threadPool != null) {
       threadPool.shutdownNow();
     }
   }
+
+  /**
+   * Runs one check of a monitor and schedules the next one, until the monitor is disposed or its
+   * task is removed from the container. A monitor whose check fails unexpectedly is closed and
+   * removed from the container, so that a new monitor is created for the server when needed.
+   */
+  private class MonitorTask implements Runnable {
+
+    private final Monitor monitor;
+
+    MonitorTask(Monitor monitor) {
+      this.monitor = monitor;
+    }
+
+    @Override
+    public void run() {
+      final long delayMillis;
+      try {
+        delayMillis = this.monitor.runCheck();
+      } catch (final Exception ex) {
+        LOGGER.log(Level.WARNING, ex, () -> Messages.get("MonitorThreadContainer.monitorCheckFailed"));
+        releaseResource(this.monitor);
+        availableMonitors.remove(this.monitor);
+        this.monitor.close();
+        return;
+      }
+
+      if (delayMillis < 0) {
+        return;
+      }
+
+      try {
+        tasksMap.computeIfPresent(
+            this.monitor,
+            (k, v) -> v.isCancelled() ? null : threadPool.schedule(this, delayMillis, TimeUnit.MILLISECONDS));
+      } catch (RejectedExecutionException ex) {
+        // the thread pool has been shut down
+      }
+    }
+  }
 }
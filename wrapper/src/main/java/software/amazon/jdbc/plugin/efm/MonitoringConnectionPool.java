@@ -0,0 +1,241 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.plugin.efm;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import software.amazon.jdbc.HostSpec;
+
+/**
+ * Keeps the monitoring connections of disposed monitors open for a while, so that monitors created
+ * later for the same server and connection properties reuse them instead of opening new
+ * connections. This avoids a burst of new connections to the database when many monitors are
+ * created again at the same time, for example after a network interruption.
+ *
+ * <p>Idle connections that weren't reused in time are closed when connections are borrowed or
+ * released, and periodically by the monitor thread pool, see {@link MonitorThreadContainer}.
+ */
+public class MonitoringConnectionPool {
+
+  static final int MAX_IDLE_CONNECTIONS_PER_KEY = 2;
+
+  private static final Map<String, Deque<IdleConnection>> idleConnections = new ConcurrentHashMap<>();
+
+  private MonitoringConnectionPool() {
+  }
+
+  /**
+   * Get the key that monitoring connections to the given server with the given properties are
+   * pooled by. Connections are only shared by monitors that open them with the same properties.
+   * The key holds a digest of the properties rather than the properties themselves, so that it
+   * doesn't keep credentials in memory.
+   *
+   * @param hostSpec The server the connections are opened to.
+   * @param monitoringConnProperties The properties the connections are opened with.
+   * @return the pool key.
+   */
+  static String getKey(final HostSpec hostSpec, final Properties monitoringConnProperties) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      // Every Java platform supports SHA-256.
+      throw new IllegalStateException(ex);
+    }
+
+    // Lengths are included so that different properties can't produce the same input.
+    for (final String name : new TreeSet<>(monitoringConnProperties.stringPropertyNames())) {
+      final String value = monitoringConnProperties.getProperty(name);
+      digest.update((name.length() + ":" + name + value.length() + ":" + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    final StringBuilder key = new StringBuilder(hostSpec.getUrl()).append('\u0000');
+    for (final byte b : digest.digest()) {
+      key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return key.toString();
+  }
+
+  /**
+   * Take an idle connection from the pool.
+   *
+   * @param key The pool key of the connection.
+   * @return an open connection, or null if there is none for the given key.
+   */
+  static @Nullable Connection borrow(final String key) {
+    removeExpired(System.nanoTime());
+
+    final Deque<IdleConnection> connections = idleConnections.get(key);
+    if (connections == null) {
+      return null;
+    }
+
+    while (true) {
+      final IdleConnection idleConnection;
+      synchronized (connections) {
+        idleConnection = connections.pollFirst();
+        removeIfEmpty(key, connections);
+      }
+      if (idleConnection == null) {
+        return null;
+      }
+      if (!idleConnection.isExpired(System.nanoTime()) && !isClosed(idleConnection.connection)) {
+        return idleConnection.connection;
+      }
+      close(idleConnection.connection);
+    }
+  }
+
+  /**
+   * Return a healthy connection to the pool. The connection is closed instead if the pool already
+   * holds enough connections for the key.
+   *
+   * @param key The pool key of the connection.
+   * @param connection The connection, which must no longer be used by the caller.
+   * @param maxIdleTimeMillis Time after which the connection is closed if it hasn't been reused.
+   */
+  static void release(final String key, final Connection connection, final long maxIdleTimeMillis) {
+    final long currentTimeNano = System.nanoTime();
+    removeExpired(currentTimeNano);
+
+    if (isClosed(connection)) {
+      return;
+    }
+
+    while (true) {
+      final Deque<IdleConnection> connections = idleConnections.computeIfAbsent(key, k -> new ArrayDeque<>());
+      synchronized (connections) {
+        if (idleConnections.get(key) != connections) {
+          // The queue was removed while it was empty.
+          continue;
+        }
+        if (connections.size() < MAX_IDLE_CONNECTIONS_PER_KEY) {
+          connections.addFirst(
+              new IdleConnection(connection, currentTimeNano + TimeUnit.MILLISECONDS.toNanos(maxIdleTimeMillis)));
+          return;
+        }
+      }
+      break;
+    }
+    close(connection);
+  }
+
+  /** Close all idle connections. */
+  static void closeAll() {
+    final List<Connection> connectionsToClose = new ArrayList<>();
+    for (Map.Entry<String, Deque<IdleConnection>> entry : idleConnections.entrySet()) {
+      final Deque<IdleConnection> connections = entry.getValue();
+      synchronized (connections) {
+        connections.forEach(idleConnection -> connectionsToClose.add(idleConnection.connection));
+        connections.clear();
+        removeIfEmpty(entry.getKey(), connections);
+      }
+    }
+    connectionsToClose.forEach(MonitoringConnectionPool::close);
+  }
+
+  /** Close the idle connections that weren't reused in time. */
+  static void removeExpired() {
+    removeExpired(System.nanoTime());
+  }
+
+  static int getKeyCount() {
+    return idleConnections.size();
+  }
+
+  static int getIdleConnectionCount(final String key) {
+    final Deque<IdleConnection> connections = idleConnections.get(key);
+    if (connections == null) {
+      return 0;
+    }
+    synchronized (connections) {
+      return connections.size();
+    }
+  }
+
+  private static void removeExpired(final long currentTimeNano) {
+    final List<Connection> expiredConnections = new ArrayList<>();
+    for (Map.Entry<String, Deque<IdleConnection>> entry : idleConnections.entrySet()) {
+      final Deque<IdleConnection> connections = entry.getValue();
+      synchronized (connections) {
+        final Iterator<IdleConnection> iterator = connections.iterator();
+        while (iterator.hasNext()) {
+          final IdleConnection idleConnection = iterator.next();
+          if (idleConnection.isExpired(currentTimeNano)) {
+            iterator.remove();
+            expiredConnections.add(idleConnection.connection);
+          }
+        }
+        removeIfEmpty(entry.getKey(), connections);
+      }
+    }
+    // Close connections outside the locks, as closing may wait for the server.
+    expiredConnections.forEach(MonitoringConnectionPool::close);
+  }
+
+  // Must be called while holding the lock of the queue, which release() checks is still in the map.
+  private static void removeIfEmpty(final String key, final Deque<IdleConnection> connections) {
+    if (connections.isEmpty()) {
+      idleConnections.remove(key, connections);
+    }
+  }
+
+  private static boolean isClosed(final Connection connection) {
+    try {
+      return connection.isClosed();
+    } catch (SQLException ex) {
+      return true;
+    }
+  }
+
+  private static void close(final Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException ex) {
+      // ignore
+    }
+  }
+
+  private static class IdleConnection {
+
+    final Connection connection;
+    final long expirationTimeNano;
+
+    IdleConnection(final Connection connection, final long expirationTimeNano) {
+      this.connection = connection;
+      this.expirationTimeNano = expirationTimeNano;
+    }
+
+    boolean isExpired(final long currentTimeNano) {
+      return currentTimeNano - this.expirationTimeNano >= 0;
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.plugin.efm;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import software.amazon.jdbc.util.Messages;
+
+/**
+ * Probes servers by opening TCP connections to them without blocking the calling thread. A single
+ * background thread waits on a {@link Selector} for the pending probes of all monitors, so probes
+ * can use timeouts of a few milliseconds and don't hold a thread while the server is unresponsive.
+ *
+ * <p>Probe results are delivered on a separate thread pool, so slow work done with a result, such
+ * as aborting a connection, doesn't delay other probes.
+ *
+ * <p>A probe closes the TCP connection as soon as it's established, without the database handshake.
+ * Databases see this as an aborted connection attempt: MySQL counts it towards
+ * {@code max_connect_errors} and PostgreSQL logs an incomplete startup packet. That's why monitors
+ * only use socket probes when they're enabled explicitly.
+ */
+public class SocketProbeSelector {
+
+  private static final Logger LOGGER = Logger.getLogger(SocketProbeSelector.class.getName());
+  private static final ReentrantLock LOCK_OBJECT = new ReentrantLock();
+  private static SocketProbeSelector singleton = null;
+
+  private final Queue<Probe> newProbes = new ConcurrentLinkedQueue<>();
+  private final ExecutorService resultExecutor;
+  private final Selector selector;
+
+  /**
+   * Get the {@link SocketProbeSelector} shared by all monitors, starting its thread if needed.
+   *
+   * @return the shared instance.
+   * @throws IOException if a selector can't be opened.
+   */
+  public static SocketProbeSelector getInstance() throws IOException {
+    if (singleton == null) {
+      LOCK_OBJECT.lock();
+      try {
+        if (singleton == null) {
+          singleton = new SocketProbeSelector();
+        }
+      } finally {
+        LOCK_OBJECT.unlock();
+      }
+    }
+    return singleton;
+  }
+
+  private SocketProbeSelector() throws IOException {
+    this.selector = Selector.open();
+    this.resultExecutor = Executors.newCachedThreadPool(
+        r -> {
+          final Thread resultThread = new Thread(r);
+          resultThread.setDaemon(true);
+          return resultThread;
+        });
+    final Thread selectorThread = new Thread(this::run, "aws-jdbc-efm-socket-probe");
+    selectorThread.setDaemon(true);
+    selectorThread.start();
+  }
+
+  /**
+   * Start a probe of the given server.
+   *
+   * @param address The address of the server. The probe fails if it isn't resolved.
+   * @param timeoutMillis The time in milliseconds the server has to accept the connection.
+   * @return a future that completes with true if the server accepted the connection in time, or
+   *     false otherwise.
+   */
+  public CompletableFuture<Boolean> probe(final InetSocketAddress address, final long timeoutMillis) {
+    final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    if (address.isUnresolved()) {
+      result.complete(false);
+      return result;
+    }
+
+    final SocketChannel channel;
+    try {
+      channel = SocketChannel.open();
+      channel.configureBlocking(false);
+      if (channel.connect(address)) {
+        closeChannel(channel);
+        result.complete(true);
+        return result;
+      }
+    } catch (IOException ex) {
+      result.complete(false);
+      return result;
+    }
+
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(1, timeoutMillis));
+    this.newProbes.add(new Probe(channel, deadline, result));
+    this.selector.wakeup();
+    return result;
+  }
+
+  private void run() {
+    while (true) {
+      try {
+        Probe probe;
+        while ((probe = this.newProbes.poll()) != null) {
+          try {
+            probe.channel.register(this.selector, SelectionKey.OP_CONNECT, probe);
+          } catch (IOException ex) {
+            this.finish(probe, null, false);
+          }
+        }
+
+        this.selector.select(this.getSelectTimeoutMillis());
+
+        final Iterator<SelectionKey> selectedKeys = this.selector.selectedKeys().iterator();
+        while (selectedKeys.hasNext()) {
+          final SelectionKey key = selectedKeys.next();
+          selectedKeys.remove();
+          boolean isConnected;
+          try {
+            isConnected = ((SocketChannel) key.channel()).finishConnect();
+          } catch (IOException ex) {
+            isConnected = false;
+          }
+          if (isConnected || !key.channel().isOpen()) {
+            this.finish((Probe) key.attachment(), key, isConnected);
+          }
+        }
+
+        final long now = System.nanoTime();
+        for (SelectionKey key : this.selector.keys()) {
+          final Probe pendingProbe = (Probe) key.attachment();
+          if (key.isValid() && now - pendingProbe.deadlineNano >= 0) {
+            this.finish(pendingProbe, key, false);
+          }
+        }
+      } catch (IOException | RuntimeException ex) {
+        LOGGER.warning(() -> Messages.get("SocketProbeSelector.unexpectedError", new Object[] {ex}));
+      }
+    }
+  }
+
+  private long getSelectTimeoutMillis() {
+    final long now = System.nanoTime();
+    long earliestDeadline = Long.MAX_VALUE;
+    for (SelectionKey key : this.selector.keys()) {
+      if (key.isValid()) {
+        earliestDeadline = Math.min(earliestDeadline, ((Probe) key.attachment()).deadlineNano - now);
+      }
+    }
+    if (earliestDeadline == Long.MAX_VALUE) {
+      // Wait until a probe is added.
+      return 0;
+    }
+    return Math.max(1, TimeUnit.NANOSECONDS.toMillis(earliestDeadline) + 1);
+  }
+
+  private void finish(final Probe probe, final SelectionKey key, final boolean isConnected) {
+    if (key != null) {
+      key.cancel();
+    }
+    closeChannel(probe.channel);
+    this.resultExecutor.execute(() -> probe.result.complete(isConnected));
+  }
+
+  private static void closeChannel(final SocketChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      // ignore
+    }
+  }
+
+  private static class Probe {
+
+    final SocketChannel channel;
+    final long deadlineNano;
+    final CompletableFuture<Boolean> result;
+
+    Probe(final SocketChannel channel, final long deadlineNano, final CompletableFuture<Boolean> result) {
+      this.channel = channel;
+      this.deadlineNano = deadlineNano;
+      this.result = result;
+    }
+  }
+}
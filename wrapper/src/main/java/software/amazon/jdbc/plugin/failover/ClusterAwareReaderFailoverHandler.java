@@ -20,22 +20,25 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.logging.Logger;
 import software.amazon.jdbc.HostAvailability;
+import software.amazon.jdbc.HostHealthRegistry;
 import software.amazon.jdbc.HostRole;
 import software.amazon.jdbc.HostSpec;
+import software.amazon.jdbc.HostStatisticsRegistry;
 import software.amazon.jdbc.PluginService;
 import software.amazon.jdbc.util.Messages;
 import software.amazon.jdbc.util.SqlState;
@@ -45,11 +48,12 @@ import software.amazon.jdbc.util.Utils;
  * An implementation of ReaderFailoverHandler.
  *
  * <p>Reader Failover Process goal is to connect to any available reader. In order to connect
- * faster, this implementation tries to connect to two readers at the same time. The first
- * successfully connected reader is returned as the process result. If both readers are unavailable
- * (i.e. could not be connected to), the process picks up another pair of readers and repeat. If no
- * reader has been connected to, the process may consider a writer host, and other hosts marked
- * down, to connect to.
+ * faster, this implementation races connection attempts to several readers. An attempt to the next
+ * reader starts as soon as the previous attempt fails, or when it hasn't completed within
+ * {@code failoverReaderConnectStaggerMs}, with up to {@code failoverReaderMaxParallelism} attempts
+ * running at the same time. The first successfully connected reader is returned as the process
+ * result, and the connections opened by the other attempts are closed. If no reader has been
+ * connected to, the process may consider a writer host, and other hosts marked down, to connect to.
  */
 public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler {
 
@@ -57,12 +61,19 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
       Logger.getLogger(ClusterAwareReaderFailoverHandler.class.getName());
   protected static final int DEFAULT_FAILOVER_TIMEOUT = 60000; // 60 sec
   protected static final int DEFAULT_READER_CONNECT_TIMEOUT = 30000; // 30 sec
+  private static final long NO_DEADLINE = Long.MIN_VALUE;
+  static final String READER_SELECTION_RANDOM = "random";
+  static final String READER_SELECTION_WEIGHTED = "weighted";
   public static final ReaderFailoverResult FAILED_READER_FAILOVER_RESULT = new ReaderFailoverResult(null,
       null, false);
   protected Properties initialConnectionProps;
   protected int maxFailoverTimeoutMs;
   protected int timeoutMs;
+  protected int maxParallelism;
+  protected int connectStaggerMs;
+  protected boolean isWeightedReaderSelection;
   protected final PluginService pluginService;
+  protected final FailoverExecutor failoverExecutor;
 
   /**
    * ClusterAwareReaderFailoverHandler constructor.
@@ -94,10 +105,32 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
       Properties initialConnectionProps,
       int failoverTimeoutMs,
       int timeoutMs) {
+    this(
+        pluginService,
+        initialConnectionProps,
+        failoverTimeoutMs,
+        timeoutMs,
+        FailoverExecutor.getInstance(initialConnectionProps));
+  }
+
+  /** This constructor is for testing purposes only. */
+  ClusterAwareReaderFailoverHandler(
+      PluginService pluginService,
+      Properties initialConnectionProps,
+      int failoverTimeoutMs,
+      int timeoutMs,
+      FailoverExecutor failoverExecutor) {
     this.pluginService = pluginService;
     this.initialConnectionProps = initialConnectionProps;
     this.maxFailoverTimeoutMs = failoverTimeoutMs;
     this.timeoutMs = timeoutMs;
+    this.maxParallelism =
+        Math.max(1, FailoverConnectionPlugin.FAILOVER_READER_MAX_PARALLELISM.getInteger(initialConnectionProps));
+    this.connectStaggerMs =
+        Math.max(0, FailoverConnectionPlugin.FAILOVER_READER_CONNECT_STAGGER_MS.getInteger(initialConnectionProps));
+    this.isWeightedReaderSelection = !READER_SELECTION_RANDOM.equalsIgnoreCase(
+        FailoverConnectionPlugin.FAILOVER_READER_SELECTION_STRATEGY.getString(initialConnectionProps));
+    this.failoverExecutor = failoverExecutor;
   }
 
   /**
@@ -127,69 +160,41 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
       return FAILED_READER_FAILOVER_RESULT;
     }
 
-    ExecutorService executor = Executors.newSingleThreadExecutor();
-    Future<ReaderFailoverResult> future = submitInternalFailoverTask(hosts, currentHost, executor);
-    return getInternalFailoverResult(executor, future);
-  }
-
-  private Future<ReaderFailoverResult> submitInternalFailoverTask(
-      List<HostSpec> hosts,
-      HostSpec currentHost,
-      ExecutorService executor) {
-    Future<ReaderFailoverResult> future = executor.submit(() -> {
-      ReaderFailoverResult result;
-      try {
-        while (true) {
-          result = failoverInternal(hosts, currentHost);
-          if (result != null && result.isConnected()) {
-            break;
-          }
+    final long deadlineNano = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.maxFailoverTimeoutMs);
+    try {
+      while (true) {
+        final ReaderFailoverResult result = failoverInternal(hosts, currentHost, deadlineNano);
+        if (result != null && result.isConnected()) {
+          return result;
+        }
 
-          TimeUnit.SECONDS.sleep(1);
+        final long waitTimeMs = getWaitTimeMs(deadlineNano);
+        if (waitTimeMs <= 0) {
+          return FAILED_READER_FAILOVER_RESULT;
         }
-        return result;
-      } catch (SQLException ex) {
-        return new ReaderFailoverResult(null, null, false, ex);
-      } catch (Exception ex) {
-        return new ReaderFailoverResult(null, null, false, new SQLException(ex));
+        TimeUnit.MILLISECONDS.sleep(Math.min(1000, waitTimeMs));
       }
-    });
-    executor.shutdown();
-    return future;
-  }
-
-  private ReaderFailoverResult getInternalFailoverResult(
-      ExecutorService executor,
-      Future<ReaderFailoverResult> future) throws SQLException {
-    ReaderFailoverResult defaultResult = new ReaderFailoverResult(
-        null, null, false);
-    try {
-      ReaderFailoverResult result = future.get(this.maxFailoverTimeoutMs, TimeUnit.MILLISECONDS);
-      return result == null ? defaultResult : result;
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new SQLException(Messages.get("ClusterAwareReaderFailoverHandler.interruptedThread"), "70100", e);
-    } catch (ExecutionException e) {
-      return defaultResult;
-    } catch (TimeoutException e) {
-      future.cancel(true);
-      return defaultResult;
-    } finally {
-      if (!executor.isTerminated()) {
-        executor.shutdownNow(); // terminate all remaining tasks
+    } catch (SQLException ex) {
+      if (Thread.currentThread().isInterrupted()) {
+        throw ex;
       }
+      return new ReaderFailoverResult(null, null, false, ex);
     }
   }
 
   protected ReaderFailoverResult failoverInternal(
       List<HostSpec> hosts,
-      HostSpec currentHost)
+      HostSpec currentHost,
+      long deadlineNano)
       throws SQLException {
     if (currentHost != null) {
       this.pluginService.setAvailability(currentHost.asAliases(), HostAvailability.NOT_AVAILABLE);
     }
     List<HostSpec> hostsByPriority = getHostsByPriority(hosts);
-    return getConnectionFromHostGroup(hostsByPriority);
+    return getConnectionFromHostGroup(hostsByPriority, deadlineNano);
   }
 
   public List<HostSpec> getHostsByPriority(List<HostSpec> hosts) {
@@ -202,13 +207,13 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
         writerHost = host;
         continue;
       }
-      if (host.getAvailability() == HostAvailability.AVAILABLE) {
+      if (HostHealthRegistry.isAvailable(host)) {
         activeReaders.add(host);
       } else {
         downHostList.add(host);
       }
     }
-    Collections.shuffle(activeReaders);
+    shuffleReaders(activeReaders);
     Collections.shuffle(downHostList);
 
     List<HostSpec> hostsByPriority = new ArrayList<>(activeReaders);
@@ -239,7 +244,7 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
     }
 
     List<HostSpec> hostsByPriority = getReaderHostsByPriority(hostList);
-    return getConnectionFromHostGroup(hostsByPriority);
+    return getConnectionFromHostGroup(hostsByPriority, NO_DEADLINE);
   }
 
   public List<HostSpec> getReaderHostsByPriority(List<HostSpec> hosts) {
@@ -250,13 +255,13 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
       if (host.getRole() == HostRole.WRITER) {
         continue;
       }
-      if (host.getAvailability() == HostAvailability.AVAILABLE) {
+      if (HostHealthRegistry.isAvailable(host)) {
         activeReaders.add(host);
       } else {
         downHostList.add(host);
       }
     }
-    Collections.shuffle(activeReaders);
+    shuffleReaders(activeReaders);
     Collections.shuffle(downHostList);
 
     List<HostSpec> hostsByPriority = new ArrayList<>();
@@ -266,25 +271,80 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
     return hostsByPriority;
   }
 
-  private ReaderFailoverResult getConnectionFromHostGroup(List<HostSpec> hosts)
+  /**
+   * Order the available readers, either uniformly at random or weighted by their connect time,
+   * replica lag and recent connect failures, depending on {@code failoverReaderSelectionStrategy}.
+   *
+   * @param readers The readers to reorder.
+   */
+  private void shuffleReaders(List<HostSpec> readers) {
+    if (this.isWeightedReaderSelection) {
+      HostStatisticsRegistry.weightedShuffle(readers);
+    } else {
+      Collections.shuffle(readers);
+    }
+  }
+
+  private ReaderFailoverResult getConnectionFromHostGroup(List<HostSpec> hosts, long deadlineNano)
       throws SQLException {
-    ExecutorService executor = Executors.newFixedThreadPool(2);
-    CompletionService<ReaderFailoverResult> completionService = new ExecutorCompletionService<>(executor);
+    final ConnectionAttemptRace race = new ConnectionAttemptRace();
+    final CompletionService<ReaderFailoverResult> completionService =
+        new ExecutorCompletionService<>(this.failoverExecutor.getConnectionAttemptExecutor());
+    // Running connection attempts in the order they were started, with their start times.
+    final Map<Future<ReaderFailoverResult>, Long> runningAttempts = new LinkedHashMap<>();
+    final long staggerNano = TimeUnit.MILLISECONDS.toNanos(this.connectStaggerMs);
+    final long attemptTimeoutNano = TimeUnit.MILLISECONDS.toNanos(this.timeoutMs);
+    int nextHostIndex = 0;
+    long nextStartTimeNano = System.nanoTime();
 
     try {
-      for (int i = 0; i < hosts.size(); i += 2) {
-        // submit connection attempt tasks in batches of 2
-        ReaderFailoverResult result = getResultFromNextTaskBatch(hosts, executor, completionService, i);
-        if (result.isConnected() || result.getException() != null) {
-          return result;
+      while (nextHostIndex < hosts.size() || !runningAttempts.isEmpty()) {
+        final long nowNano = System.nanoTime();
+        final boolean canStartAttempt =
+            nextHostIndex < hosts.size() && runningAttempts.size() < this.maxParallelism;
+        if (canStartAttempt && (runningAttempts.isEmpty() || nowNano - nextStartTimeNano >= 0)) {
+          final HostSpec host = hosts.get(nextHostIndex++);
+          runningAttempts.put(completionService.submit(new ConnectionAttemptTask(host, race)), nowNano);
+          nextStartTimeNano = nowNano + staggerNano;
+          continue;
+        }
+
+        long waitTimeNano = TimeUnit.MILLISECONDS.toNanos(getWaitTimeMs(deadlineNano));
+        if (waitTimeNano <= 0) {
+          break;
+        }
+
+        // Give up on the oldest attempt once it has run longer than the connection attempt timeout.
+        final Iterator<Map.Entry<Future<ReaderFailoverResult>, Long>> attempts =
+            runningAttempts.entrySet().iterator();
+        final Map.Entry<Future<ReaderFailoverResult>, Long> oldestAttempt = attempts.next();
+        final long oldestAttemptRemainingNano = oldestAttempt.getValue() + attemptTimeoutNano - nowNano;
+        if (oldestAttemptRemainingNano <= 0) {
+          oldestAttempt.getKey().cancel(true);
+          attempts.remove();
+          continue;
+        }
+        waitTimeNano = Math.min(waitTimeNano, oldestAttemptRemainingNano);
+        if (canStartAttempt) {
+          waitTimeNano = Math.min(waitTimeNano, nextStartTimeNano - nowNano);
         }
 
-        try {
-          TimeUnit.SECONDS.sleep(1);
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt();
-          throw new SQLException(Messages.get("ClusterAwareReaderFailoverHandler.interruptedThread"), "70100", e);
+        final Future<ReaderFailoverResult> completedAttempt = getNextCompletedAttempt(completionService, waitTimeNano);
+        if (completedAttempt == null || runningAttempts.remove(completedAttempt) == null) {
+          // Nothing completed in time, or an attempt that was given up on has completed.
+          continue;
         }
+
+        final ReaderFailoverResult result = getAttemptResult(completedAttempt);
+        if (result.isConnected()) {
+          race.claim(result.getConnection());
+          return result;
+        }
+        if (result.getException() != null) {
+          return result;
+        }
+        // The attempt failed, so the next host doesn't need to wait for it any longer.
+        nextStartTimeNano = System.nanoTime();
       }
 
       return new ReaderFailoverResult(
@@ -292,49 +352,17 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
           null,
           false);
     } finally {
-      executor.shutdownNow();
-    }
-  }
-
-  private ReaderFailoverResult getResultFromNextTaskBatch(
-      List<HostSpec> hosts,
-      ExecutorService executor,
-      CompletionService<ReaderFailoverResult> completionService,
-      int i) throws SQLException {
-    ReaderFailoverResult result;
-    int numTasks = i + 1 < hosts.size() ? 2 : 1;
-    completionService.submit(new ConnectionAttemptTask(hosts.get(i)));
-    if (numTasks == 2) {
-      completionService.submit(new ConnectionAttemptTask(hosts.get(i + 1)));
-    }
-    for (int taskNum = 0; taskNum < numTasks; taskNum++) {
-      result = getNextResult(completionService);
-      if (result.isConnected()) {
-        executor.shutdownNow();
-        return result;
-      }
-      if (result.getException() != null) {
-        executor.shutdownNow();
-        return result;
-      }
+      // Stop the attempts that are still running. The shared threads are only interrupted, not stopped.
+      runningAttempts.keySet().forEach(attempt -> attempt.cancel(true));
+      race.finish();
     }
-    return new ReaderFailoverResult(
-        null,
-        null,
-        false);
   }
 
-  private ReaderFailoverResult getNextResult(CompletionService<ReaderFailoverResult> service)
-      throws SQLException {
+  private Future<ReaderFailoverResult> getNextCompletedAttempt(
+      CompletionService<ReaderFailoverResult> service,
+      long waitTimeNano) throws SQLException {
     try {
-      Future<ReaderFailoverResult> future = service.poll(this.timeoutMs, TimeUnit.MILLISECONDS);
-      if (future == null) {
-        return FAILED_READER_FAILOVER_RESULT;
-      }
-      ReaderFailoverResult result = future.get();
-      return result == null ? FAILED_READER_FAILOVER_RESULT : result;
-    } catch (ExecutionException e) {
-      return FAILED_READER_FAILOVER_RESULT;
+      return service.poll(waitTimeNano, TimeUnit.NANOSECONDS);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       // "Thread was interrupted"
@@ -346,12 +374,39 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
     }
   }
 
+  private ReaderFailoverResult getAttemptResult(Future<ReaderFailoverResult> attempt) {
+    try {
+      ReaderFailoverResult result = attempt.get();
+      return result == null ? FAILED_READER_FAILOVER_RESULT : result;
+    } catch (ExecutionException | InterruptedException e) {
+      // The attempt has already completed, so get() doesn't wait.
+      return FAILED_READER_FAILOVER_RESULT;
+    }
+  }
+
+  /**
+   * Get the time to wait for a connection attempt, which is limited by both the connection attempt
+   * timeout and the deadline of the failover process.
+   *
+   * @param deadlineNano The deadline of the failover process, or {@link #NO_DEADLINE}.
+   * @return the time to wait in millis, or 0 if the deadline has passed.
+   */
+  private long getWaitTimeMs(long deadlineNano) {
+    if (deadlineNano == NO_DEADLINE) {
+      return this.timeoutMs;
+    }
+    long remainingTimeMs = TimeUnit.NANOSECONDS.toMillis(deadlineNano - System.nanoTime());
+    return Math.max(0, Math.min(this.timeoutMs, remainingTimeMs));
+  }
+
   private class ConnectionAttemptTask implements Callable<ReaderFailoverResult> {
 
     private final HostSpec newHost;
+    private final ConnectionAttemptRace race;
 
-    private ConnectionAttemptTask(HostSpec newHost) {
+    private ConnectionAttemptTask(HostSpec newHost, ConnectionAttemptRace race) {
       this.newHost = newHost;
+      this.race = race;
     }
 
     /**
@@ -371,8 +426,17 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
             () -> Messages.get(
                 "ClusterAwareReaderFailoverHandler.successfulReaderConnection",
                 new Object[] {this.newHost.getUrl()}));
+        if (!this.race.offer(conn)) {
+          // Another reader was connected to first.
+          closeConnection(conn);
+          return FAILED_READER_FAILOVER_RESULT;
+        }
         return new ReaderFailoverResult(conn, this.newHost, true);
       } catch (SQLException e) {
+        if (this.race.isFinished()) {
+          // The attempt was cancelled, which says nothing about the host.
+          return FAILED_READER_FAILOVER_RESULT;
+        }
         pluginService.setAvailability(newHost.asAliases(), HostAvailability.NOT_AVAILABLE);
         LOGGER.fine(
             () -> Messages.get(
@@ -391,4 +455,57 @@ public class ClusterAwareReaderFailoverHandler implements ReaderFailoverHandler
       }
     }
   }
+
+  /**
+   * Keeps track of the connections opened by the attempts of a single reader failover process, so
+   * that the connections that aren't returned as the process result are closed.
+   */
+  private static class ConnectionAttemptRace {
+
+    private final Set<Connection> unclaimedConnections = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean finished;
+
+    synchronized boolean isFinished() {
+      return this.finished;
+    }
+
+    /**
+     * Register a connection opened by an attempt.
+     *
+     * @param conn The new connection.
+     * @return false if the process has already finished, in which case the caller should close the
+     *     connection.
+     */
+    synchronized boolean offer(Connection conn) {
+      if (this.finished) {
+        return false;
+      }
+      this.unclaimedConnections.add(conn);
+      return true;
+    }
+
+    synchronized void claim(Connection conn) {
+      this.unclaimedConnections.remove(conn);
+    }
+
+    void finish() {
+      final List<Connection> connectionsToClose;
+      synchronized (this) {
+        this.finished = true;
+        connectionsToClose = new ArrayList<>(this.unclaimedConnections);
+        this.unclaimedConnections.clear();
+      }
+      connectionsToClose.forEach(ClusterAwareReaderFailoverHandler::closeConnection);
+    }
+  }
+
+  private static void closeConnection(Connection conn) {
+    try {
+      if (conn != null && !conn.isClosed()) {
+        conn.close();
+      }
+    } catch (SQLException e) {
+      // ignore
+    }
+  }
 }
@@ -18,6 +18,7 @@ package software.amazon.jdbc.plugin.failover;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
@@ -25,13 +26,12 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import software.amazon.jdbc.HostAvailability;
+import software.amazon.jdbc.HostHealthRegistry;
 import software.amazon.jdbc.HostRole;
 import software.amazon.jdbc.HostSpec;
 import software.amazon.jdbc.PluginService;
@@ -57,6 +57,7 @@ public class ClusterAwareWriterFailoverHandler implements WriterFailoverHandler
   protected Properties initialConnectionProps;
   protected PluginService pluginService;
   protected ReaderFailoverHandler readerFailoverHandler;
+  protected FailoverExecutor failoverExecutor;
   private static final WriterFailoverResult DEFAULT_RESULT =
       new WriterFailoverResult(false, false, null, null, "None");
 
@@ -67,6 +68,7 @@ public class ClusterAwareWriterFailoverHandler implements WriterFailoverHandler
     this.pluginService = pluginService;
     this.readerFailoverHandler = readerFailoverHandler;
     this.initialConnectionProps = initialConnectionProps;
+    this.failoverExecutor = FailoverExecutor.getInstance(initialConnectionProps);
   }
 
   public ClusterAwareWriterFailoverHandler(
@@ -99,23 +101,23 @@ public class ClusterAwareWriterFailoverHandler implements WriterFailoverHandler
       return DEFAULT_RESULT;
     }
 
-    final ExecutorService executorService = Executors.newFixedThreadPool(2);
-    final CompletionService<WriterFailoverResult> completionService = new ExecutorCompletionService<>(executorService);
-    submitTasks(currentTopology, executorService, completionService);
+    final long startTimeNano = System.nanoTime();
+    // Both tasks need their own thread. They spend most of the failover timeout waiting, so they run
+    // on overflow threads rather than waiting for shared threads to become free.
+    final FailoverExecutor.ReservedExecutor executor = this.failoverExecutor.reserve(2);
 
+    final CompletionService<WriterFailoverResult> completionService = new ExecutorCompletionService<>(executor);
+    final List<Future<WriterFailoverResult>> tasks = new ArrayList<>();
     try {
-      final long startTimeNano = System.nanoTime();
-      WriterFailoverResult result = getNextResult(executorService, completionService, this.maxFailoverTimeoutMs);
-      final long endTimeNano = System.nanoTime();
-      if (result.isConnected() || result.getException() != null) {
-        return result;
-      }
-
-      final int durationMs = (int) TimeUnit.NANOSECONDS.toMillis(endTimeNano - startTimeNano);
-      final int remainingTimeMs = this.maxFailoverTimeoutMs - durationMs;
+      submitTasks(currentTopology, completionService, tasks);
 
-      if (remainingTimeMs > 0) {
-        result = getNextResult(executorService, completionService, remainingTimeMs);
+      // Wait until either task connects, or both fail.
+      for (int i = 0; i < tasks.size(); i++) {
+        final int remainingTimeMs = getRemainingTimeMs(startTimeNano);
+        if (remainingTimeMs <= 0) {
+          break;
+        }
+        final WriterFailoverResult result = getNextResult(completionService, remainingTimeMs);
         if (result.isConnected() || result.getException() != null) {
           return result;
         }
@@ -124,12 +126,17 @@ public class ClusterAwareWriterFailoverHandler implements WriterFailoverHandler
       LOGGER.fine(() -> Messages.get("ClusterAwareWriterFailoverHandler.failedToConnectToWriterInstance"));
       return DEFAULT_RESULT;
     } finally {
-      if (!executorService.isTerminated()) {
-        executorService.shutdownNow(); // terminate all remaining tasks
-      }
+      executor.releaseUnused();
+      // terminate all remaining tasks
+      tasks.forEach(task -> task.cancel(true));
     }
   }
 
+  private int getRemainingTimeMs(final long startTimeNano) {
+    final int durationMs = (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTimeNano);
+    return this.maxFailoverTimeoutMs - durationMs;
+  }
+
   private HostSpec getWriter(final List<HostSpec> topology) {
     if (topology == null || topology.isEmpty()) {
       return null;
@@ -144,19 +151,18 @@ public class ClusterAwareWriterFailoverHandler implements WriterFailoverHandler
   }
 
   private void submitTasks(
-      final List<HostSpec> currentTopology, final ExecutorService executorService,
-      final CompletionService<WriterFailoverResult> completionService) {
+      final List<HostSpec> currentTopology,
+      final CompletionService<WriterFailoverResult> completionService,
+      final List<Future<WriterFailoverResult>> tasks) {
     final HostSpec writerHost = this.getWriter(currentTopology);
     this.pluginService.setAvailability(writerHost.asAliases(), HostAvailability.NOT_AVAILABLE);
-    completionService.submit(new ReconnectToWriterHandler(writerHost));
-    completionService.submit(new WaitForNewWriterHandler(
+    tasks.add(completionService.submit(new ReconnectToWriterHandler(writerHost)));
+    tasks.add(completionService.submit(new WaitForNewWriterHandler(
         currentTopology,
-        writerHost));
-    executorService.shutdown();
+        writerHost)));
   }
 
   private WriterFailoverResult getNextResult(
-      final ExecutorService executorService,
       final CompletionService<WriterFailoverResult> completionService,
       final int timeoutMs) throws SQLException {
     try {
@@ -168,13 +174,11 @@ public class ClusterAwareWriterFailoverHandler implements WriterFailoverHandler
       }
       final WriterFailoverResult result = firstCompleted.get();
       if (result.isConnected()) {
-        executorService.shutdownNow();
         logTaskSuccess(result);
         return result;
       }
 
       if (result.getException() != null) {
-        executorService.shutdownNow();
         return result;
       }
     } catch (final InterruptedException e) {
@@ -316,6 +320,7 @@ public class ClusterAwareWriterFailoverHandler implements WriterFailoverHandler
     private List<HostSpec> currentTopology;
     private HostSpec currentReaderHost;
     private Connection currentReaderConnection;
+    private HostSpec deferredWriterCandidate;
 
     public WaitForNewWriterHandler(
         final List<HostSpec> currentTopology,
@@ -446,6 +451,16 @@ public class ClusterAwareWriterFailoverHandler implements WriterFailoverHandler
         LOGGER.finest(() -> Messages.get("ClusterAwareWriterFailoverHandler.alreadyWriter"));
         this.currentConnection = this.currentReaderConnection;
         return true;
+      } else if (!HostHealthRegistry.isAvailable(writerCandidate)
+          && !isSame(writerCandidate, this.deferredWriterCandidate)) {
+        // Another connection recently failed to reach the candidate, e.g. while it was being promoted.
+        // Read the topology once more before waiting out a connect timeout on it.
+        LOGGER.fine(
+            () -> Messages.get(
+                "ClusterAwareWriterFailoverHandler.taskBDeferringUnavailableWriter",
+                new Object[] {writerCandidate.getUrl()}));
+        this.deferredWriterCandidate = writerCandidate;
+        return false;
       } else {
         LOGGER.fine(
             () -> Messages.get(
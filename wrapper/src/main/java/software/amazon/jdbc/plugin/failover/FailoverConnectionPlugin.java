@@ -132,6 +132,39 @@ public class FailoverConnectionPlugin extends AbstractConnectionPlugin {
           "30000",
           "Reader connection attempt timeout during a reader failover process.");
 
+  public static final AwsWrapperProperty FAILOVER_READER_MAX_PARALLELISM =
+      new AwsWrapperProperty(
+          "failoverReaderMaxParallelism",
+          "4",
+          "Maximum number of reader connection attempts that run at the same time during a reader "
+              + "failover process.");
+
+  public static final AwsWrapperProperty FAILOVER_READER_CONNECT_STAGGER_MS =
+      new AwsWrapperProperty(
+          "failoverReaderConnectStaggerMs",
+          "250",
+          "Time to wait for a reader connection attempt before an attempt to the next reader is started "
+              + "in parallel during a reader failover process.");
+
+  public static final AwsWrapperProperty FAILOVER_READER_SELECTION_STRATEGY =
+      new AwsWrapperProperty(
+          "failoverReaderSelectionStrategy",
+          ClusterAwareReaderFailoverHandler.READER_SELECTION_WEIGHTED,
+          "How to order the available readers during a reader failover process. "
+              + "'weighted' prefers readers with a low connect time, replica lag and connect failure rate, "
+              + "'random' picks readers uniformly at random.");
+
+  public static final AwsWrapperProperty FAILOVER_THREAD_POOL_SIZE =
+      new AwsWrapperProperty(
+          "failoverThreadPoolSize",
+          String.valueOf(FailoverExecutor.DEFAULT_THREAD_POOL_SIZE),
+          "Maximum number of threads shared by the failover processes of all connections.");
+
+  public static final AwsWrapperProperty FAILOVER_VIRTUAL_THREADS =
+      new AwsWrapperProperty(
+          "failoverVirtualThreads", "false",
+          "Run failover tasks on virtual threads when the Java runtime supports them.");
+
   public static final AwsWrapperProperty ENABLE_CLUSTER_AWARE_FAILOVER =
       new AwsWrapperProperty(
           "enableClusterAwareFailover", "true",
@@ -249,6 +282,8 @@ public class FailoverConnectionPlugin extends AbstractConnectionPlugin {
       return;
     }
 
+    validateReaderSelectionStrategy();
+
     if (hostListProviderService.isStaticHostListProvider()) {
       hostListProviderService.setHostListProvider(hostListProviderSupplier.get());
     }
@@ -341,6 +376,17 @@ public class FailoverConnectionPlugin extends AbstractConnectionPlugin {
         FAILOVER_READER_CONNECT_TIMEOUT_MS.getInteger(this.properties);
   }
 
+  private void validateReaderSelectionStrategy() throws SQLException {
+    final String strategy = FAILOVER_READER_SELECTION_STRATEGY.getString(this.properties);
+    if (!ClusterAwareReaderFailoverHandler.READER_SELECTION_WEIGHTED.equalsIgnoreCase(strategy)
+        && !ClusterAwareReaderFailoverHandler.READER_SELECTION_RANDOM.equalsIgnoreCase(strategy)) {
+      throw new SQLException(
+          Messages.get(
+              "Failover.unknownReaderSelectionStrategy",
+              new Object[] {strategy, FAILOVER_READER_SELECTION_STRATEGY.name}));
+    }
+  }
+
   private void invalidInvocationOnClosedConnection() throws SQLException {
     if (!this.closedExplicitly) {
       this.isClosed = false;
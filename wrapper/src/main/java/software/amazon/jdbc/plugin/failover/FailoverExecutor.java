@@ -0,0 +1,334 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.plugin.failover;
+
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import software.amazon.jdbc.util.Messages;
+
+/**
+ * Runs the tasks of the failover processes of all connections in the process on a shared, bounded
+ * set of threads, so that many connections failing over at the same time don't each start threads
+ * of their own.
+ *
+ * <p>Usually at most {@code failoverThreadPoolSize} tasks run at a time. When all threads are busy,
+ * connection attempts are queued until a thread becomes free. This slows failover down rather than
+ * overwhelming the client or the database with new threads and connections. Failover processes stop
+ * waiting for their tasks at their deadline, and queued tasks that were cancelled by then don't run.
+ *
+ * <p>Tasks that can't wait run on overflow threads instead, which aren't limited: virtual threads if
+ * the Java runtime supports them, and platform threads otherwise. These are the tasks of writer
+ * failover processes, which would otherwise reach their deadline without trying anything, and
+ * connection attempts started by a task that already runs on a failover thread, such as a writer
+ * failover task looking for a reader, which would otherwise wait behind the task that started them.
+ */
+public class FailoverExecutor {
+
+  private static final Logger LOGGER = Logger.getLogger(FailoverExecutor.class.getName());
+
+  static final int DEFAULT_THREAD_POOL_SIZE = 64;
+  private static final long IDLE_THREAD_TIMEOUT_SEC = 60;
+
+  private static final ReentrantLock LOCK_OBJECT = new ReentrantLock();
+  private static FailoverExecutor singleton = null;
+
+  private final ExecutorService threadPool;
+  private final ExecutorService overflowThreadPool;
+  private final Semaphore permits;
+  private final int maxTaskCount;
+  private final Executor connectionAttemptExecutor = this::executeOrQueue;
+  private final Queue<Runnable> queuedTasks = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<Boolean> isRunningTask = ThreadLocal.withInitial(() -> false);
+  private final AtomicInteger peakActiveTaskCount = new AtomicInteger();
+  private final AtomicLong completedTaskCount = new AtomicLong();
+  private final AtomicLong queuedTaskCount = new AtomicLong();
+  private final AtomicLong overflowTaskCount = new AtomicLong();
+
+  /**
+   * Get the {@link FailoverExecutor} shared by all connections, creating it with the given
+   * properties if needed. Later calls return the same instance regardless of their properties.
+   *
+   * @param props The connection properties to read the thread pool settings from.
+   * @return the shared instance.
+   */
+  public static FailoverExecutor getInstance(final Properties props) {
+    if (singleton == null) {
+      LOCK_OBJECT.lock();
+      try {
+        if (singleton == null) {
+          singleton = new FailoverExecutor(
+              FailoverConnectionPlugin.FAILOVER_THREAD_POOL_SIZE.getInteger(props),
+              FailoverConnectionPlugin.FAILOVER_VIRTUAL_THREADS.getBoolean(props));
+        }
+      } finally {
+        LOCK_OBJECT.unlock();
+      }
+    }
+    return singleton;
+  }
+
+  FailoverExecutor(final int maxTaskCount, final boolean useVirtualThreads) {
+    if (maxTaskCount <= 0) {
+      throw new IllegalArgumentException(
+          Messages.get("FailoverExecutor.invalidThreadPoolSize", new Object[] {maxTaskCount}));
+    }
+    this.maxTaskCount = maxTaskCount;
+    this.permits = new Semaphore(maxTaskCount);
+
+    ExecutorService virtualThreadPool = null;
+    if (useVirtualThreads) {
+      virtualThreadPool = createVirtualThreadExecutor();
+      if (virtualThreadPool == null) {
+        LOGGER.warning(() -> Messages.get("FailoverExecutor.virtualThreadsUnavailable"));
+      }
+    }
+
+    if (virtualThreadPool != null) {
+      this.threadPool = virtualThreadPool;
+      this.overflowThreadPool = virtualThreadPool;
+    } else {
+      // Threads are only created for tasks that hold a permit, so the permits bound the pool size.
+      this.threadPool = createThreadPool("aws-jdbc-failover-");
+      // Overflow threads aren't bounded, so they are virtual threads whenever the runtime has them.
+      final ExecutorService overflowVirtualThreadPool = createVirtualThreadExecutor();
+      this.overflowThreadPool = overflowVirtualThreadPool != null
+          ? overflowVirtualThreadPool
+          : createThreadPool("aws-jdbc-failover-overflow-");
+    }
+  }
+
+  /**
+   * Get an executor for connection attempts. It runs tasks on a shared thread if one is free, and
+   * queues them until one is free otherwise, so it never blocks waiting for a thread. Callers are
+   * expected to stop waiting for the tasks at their own deadline and cancel them.
+   *
+   * @return the executor.
+   */
+  public Executor getConnectionAttemptExecutor() {
+    return this.connectionAttemptExecutor;
+  }
+
+  /**
+   * Reserve threads for tasks that have to run in parallel and can't wait for threads to become
+   * free. If not enough shared threads are free, the tasks run on overflow threads.
+   *
+   * @param taskCount The number of tasks.
+   * @return an executor that runs up to {@code taskCount} tasks on the reserved threads.
+   */
+  public ReservedExecutor reserve(final int taskCount) {
+    if (!this.permits.tryAcquire(taskCount)) {
+      LOGGER.fine(
+          () -> Messages.get(
+              "FailoverExecutor.runningOnOverflowThreads",
+              new Object[] {taskCount, this.getActiveTaskCount()}));
+      return new ReservedExecutor(taskCount, false);
+    }
+    this.updatePeakActiveTaskCount();
+    return new ReservedExecutor(taskCount, true);
+  }
+
+  /**
+   * Get the number of tasks running on shared threads.
+   *
+   * @return the number of running tasks.
+   */
+  public int getActiveTaskCount() {
+    return this.maxTaskCount - this.permits.availablePermits();
+  }
+
+  public int getPeakActiveTaskCount() {
+    return this.peakActiveTaskCount.get();
+  }
+
+  public long getCompletedTaskCount() {
+    return this.completedTaskCount.get();
+  }
+
+  /**
+   * Get the number of connection attempts that were queued because all shared threads were busy.
+   *
+   * @return the number of connection attempts.
+   */
+  public long getQueuedTaskCount() {
+    return this.queuedTaskCount.get();
+  }
+
+  /**
+   * Get the number of tasks that ran on overflow threads because all shared threads were busy.
+   *
+   * @return the number of tasks.
+   */
+  public long getOverflowTaskCount() {
+    return this.overflowTaskCount.get();
+  }
+
+  private void executeOrQueue(final Runnable task) {
+    if (!this.permits.tryAcquire()) {
+      if (this.isRunningTask.get()) {
+        // Waiting behind the task that started it could take until the task's deadline.
+        this.executeOnOverflowThread(task);
+        return;
+      }
+      this.queuedTaskCount.incrementAndGet();
+      LOGGER.finest(() -> Messages.get("FailoverExecutor.queuingTask"));
+      this.queuedTasks.add(task);
+      // A thread may have become free before the task was queued.
+      this.runQueuedTasks();
+      return;
+    }
+    this.updatePeakActiveTaskCount();
+    this.executeWithPermit(task);
+  }
+
+  private void executeWithPermit(final Runnable task) {
+    try {
+      this.threadPool.execute(() -> {
+        this.isRunningTask.set(true);
+        try {
+          task.run();
+        } finally {
+          this.isRunningTask.set(false);
+          this.completedTaskCount.incrementAndGet();
+          this.permits.release();
+          this.runQueuedTasks();
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      this.permits.release();
+      throw ex;
+    }
+  }
+
+  private void executeOnOverflowThread(final Runnable task) {
+    this.overflowTaskCount.incrementAndGet();
+    this.overflowThreadPool.execute(() -> {
+      this.isRunningTask.set(true);
+      try {
+        task.run();
+      } finally {
+        this.isRunningTask.set(false);
+        this.completedTaskCount.incrementAndGet();
+      }
+    });
+  }
+
+  private void runQueuedTasks() {
+    while (!this.queuedTasks.isEmpty() && this.permits.tryAcquire()) {
+      final Runnable task = this.queuedTasks.poll();
+      if (task == null) {
+        this.permits.release();
+        continue;
+      }
+      this.updatePeakActiveTaskCount();
+      try {
+        this.executeWithPermit(task);
+      } catch (RejectedExecutionException ex) {
+        LOGGER.fine(() -> Messages.get("FailoverExecutor.queuedTaskRejected"));
+      }
+    }
+  }
+
+  private void updatePeakActiveTaskCount() {
+    final int activeTaskCount = this.getActiveTaskCount();
+    this.peakActiveTaskCount.accumulateAndGet(activeTaskCount, Math::max);
+  }
+
+  private static ExecutorService createThreadPool(final String threadNamePrefix) {
+    final AtomicInteger threadCount = new AtomicInteger();
+    return new ThreadPoolExecutor(
+        0,
+        Integer.MAX_VALUE,
+        IDLE_THREAD_TIMEOUT_SEC,
+        TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        r -> {
+          final Thread failoverThread = new Thread(r, threadNamePrefix + threadCount.incrementAndGet());
+          failoverThread.setDaemon(true);
+          return failoverThread;
+        });
+  }
+
+  private static @Nullable ExecutorService createVirtualThreadExecutor() {
+    try {
+      // Virtual threads are available from Java 21, while the driver is built for Java 8.
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * An executor for a fixed number of tasks that run on threads reserved with
+   * {@link FailoverExecutor#reserve(int)}.
+   */
+  public class ReservedExecutor implements Executor {
+
+    private final boolean holdsPermits;
+    private int remainingTaskCount;
+
+    ReservedExecutor(final int taskCount, final boolean holdsPermits) {
+      this.remainingTaskCount = taskCount;
+      this.holdsPermits = holdsPermits;
+    }
+
+    @Override
+    public synchronized void execute(final Runnable task) {
+      if (this.remainingTaskCount <= 0) {
+        throw new RejectedExecutionException(Messages.get("FailoverExecutor.noReservedThreads"));
+      }
+      this.remainingTaskCount--;
+      if (this.holdsPermits) {
+        executeWithPermit(task);
+      } else {
+        executeOnOverflowThread(task);
+      }
+    }
+
+    /**
+     * Whether the tasks run on overflow threads because not enough shared threads were free.
+     *
+     * @return true if the tasks run on overflow threads.
+     */
+    public boolean isOverflow() {
+      return !this.holdsPermits;
+    }
+
+    /** Give back the threads reserved for tasks that weren't started. */
+    public synchronized void releaseUnused() {
+      if (this.remainingTaskCount > 0) {
+        if (this.holdsPermits) {
+          permits.release(this.remainingTaskCount);
+        }
+        this.remainingTaskCount = 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Least recently used cache bounded by both the number of entries and their approximate size in
+ * bytes. Each entry may have its own time to live; expired entries are removed when they're read
+ * or when they reach the least recently used end of the cache.
+ *
+ * <p>The cache counts hits, misses, evictions and expirations so it can be sized from observed
+ * usage.
+ *
+ * @param <K> The type of the key to store
+ * @param <V> The type of the value to store
+ */
+public class BoundedLruCache<K, V> {
+
+  private final ReentrantLock reentrantLock = new ReentrantLock();
+  private final LinkedHashMap<K, Entry<V>> linkedHashMap = new LinkedHashMap<>(16, 0.75F, true);
+  private final ToLongFunction<V> sizeEstimator;
+
+  private volatile int maxEntries;
+  private volatile long maxSizeBytes;
+  private long sizeBytes;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong expirationCount = new AtomicLong();
+
+  /**
+   * Bounded LRU cache constructor.
+   *
+   * @param maxEntries The maximum number of entries to keep
+   * @param maxSizeBytes The maximum approximate size of all values in bytes
+   * @param sizeEstimator A function returning the approximate size of a value in bytes
+   */
+  public BoundedLruCache(
+      final int maxEntries,
+      final long maxSizeBytes,
+      final ToLongFunction<V> sizeEstimator) {
+    this.maxEntries = maxEntries;
+    this.maxSizeBytes = maxSizeBytes;
+    this.sizeEstimator = sizeEstimator;
+  }
+
+  /**
+   * Retrieves the value from a key, if it's present and not expired.
+   *
+   * @param key The key in the key-value pair
+   * @return The value from the key, or null if there is none
+   */
+  public @Nullable V get(final K key) {
+    try {
+      this.reentrantLock.lock();
+
+      final Entry<V> entry = this.linkedHashMap.get(key);
+      if (entry == null) {
+        this.missCount.incrementAndGet();
+        return null;
+      }
+      if (entry.isExpired(System.nanoTime())) {
+        this.removeEntry(key, entry);
+        this.expirationCount.incrementAndGet();
+        this.missCount.incrementAndGet();
+        return null;
+      }
+      this.hitCount.incrementAndGet();
+      return entry.value;
+    } finally {
+      this.reentrantLock.unlock();
+    }
+  }
+
+  /**
+   * Stores a value, evicting least recently used entries until the cache is within its limits
+   * again. Values larger than the whole size budget aren't stored; the previous value of the key is
+   * removed instead.
+   *
+   * @param key The key in the key-value pair
+   * @param value The value to store
+   * @param timeToLiveNano How long the value may be returned for, or 0 if it never expires
+   * @return True if the value has been stored
+   */
+  public boolean put(final K key, final V value, final long timeToLiveNano) {
+    final long size = this.sizeEstimator.applyAsLong(value);
+    if (size > this.maxSizeBytes || this.maxEntries <= 0) {
+      this.remove(key);
+      return false;
+    }
+
+    final long expirationTimeNano = timeToLiveNano > 0 ? System.nanoTime() + timeToLiveNano : 0;
+
+    try {
+      this.reentrantLock.lock();
+
+      final Entry<V> previous = this.linkedHashMap.put(key, new Entry<>(value, size, expirationTimeNano));
+      if (previous != null) {
+        this.sizeBytes -= previous.size;
+      }
+      this.sizeBytes += size;
+      this.evictIfNeeded();
+      return true;
+    } finally {
+      this.reentrantLock.unlock();
+    }
+  }
+
+  /**
+   * Removes a key and its value.
+   *
+   * @param key The key to remove
+   * @return The removed value, or null if there was none
+   */
+  public @Nullable V remove(final K key) {
+    try {
+      this.reentrantLock.lock();
+
+      final Entry<V> entry = this.linkedHashMap.get(key);
+      if (entry == null) {
+        return null;
+      }
+      this.removeEntry(key, entry);
+      return entry.value;
+    } finally {
+      this.reentrantLock.unlock();
+    }
+  }
+
+  /**
+   * Removes all entries matching the given condition.
+   *
+   * @param condition The condition to check each key and value against
+   * @return The number of removed entries
+   */
+  public int removeIf(final BiPredicate<K, V> condition) {
+    try {
+      this.reentrantLock.lock();
+
+      int removed = 0;
+      final Iterator<Map.Entry<K, Entry<V>>> iterator = this.linkedHashMap.entrySet().iterator();
+      while (iterator.hasNext()) {
+        final Map.Entry<K, Entry<V>> entry = iterator.next();
+        if (condition.test(entry.getKey(), entry.getValue().value)) {
+          iterator.remove();
+          this.sizeBytes -= entry.getValue().size;
+          removed++;
+        }
+      }
+      return removed;
+    } finally {
+      this.reentrantLock.unlock();
+    }
+  }
+
+  /**
+   * Removes all entries. Counters are not reset.
+   */
+  public void clear() {
+    try {
+      this.reentrantLock.lock();
+
+      this.linkedHashMap.clear();
+      this.sizeBytes = 0;
+    } finally {
+      this.reentrantLock.unlock();
+    }
+  }
+
+  /**
+   * Changes the limits of the cache, evicting entries if the cache doesn't fit the new limits.
+   *
+   * @param maxEntries The maximum number of entries to keep
+   * @param maxSizeBytes The maximum approximate size of all values in bytes
+   */
+  public void setLimits(final int maxEntries, final long maxSizeBytes) {
+    try {
+      this.reentrantLock.lock();
+
+      this.maxEntries = maxEntries;
+      this.maxSizeBytes = maxSizeBytes;
+      this.evictIfNeeded();
+    } finally {
+      this.reentrantLock.unlock();
+    }
+  }
+
+  public int getMaxEntries() {
+    return this.maxEntries;
+  }
+
+  public long getMaxSizeBytes() {
+    return this.maxSizeBytes;
+  }
+
+  /**
+   * Retrieves the number of entries stored, including expired entries that haven't been removed
+   * yet.
+   *
+   * @return The number of entries stored
+   */
+  public int size() {
+    try {
+      this.reentrantLock.lock();
+
+      return this.linkedHashMap.size();
+    } finally {
+      this.reentrantLock.unlock();
+    }
+  }
+
+  /**
+   * Retrieves the approximate size of all stored values.
+   *
+   * @return The approximate size in bytes
+   */
+  public long getSizeBytes() {
+    try {
+      this.reentrantLock.lock();
+
+      return this.sizeBytes;
+    } finally {
+      this.reentrantLock.unlock();
+    }
+  }
+
+  public long getHitCount() {
+    return this.hitCount.get();
+  }
+
+  public long getMissCount() {
+    return this.missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return this.evictionCount.get();
+  }
+
+  public long getExpirationCount() {
+    return this.expirationCount.get();
+  }
+
+  private void evictIfNeeded() {
+    final long now = System.nanoTime();
+    final Iterator<Map.Entry<K, Entry<V>>> iterator = this.linkedHashMap.entrySet().iterator();
+    while (iterator.hasNext()
+        && (this.linkedHashMap.size() > this.maxEntries || this.sizeBytes > this.maxSizeBytes)) {
+      final Entry<V> eldest = iterator.next().getValue();
+      iterator.remove();
+      this.sizeBytes -= eldest.size;
+      if (eldest.isExpired(now)) {
+        this.expirationCount.incrementAndGet();
+      } else {
+        this.evictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  private void removeEntry(final K key, final Entry<V> entry) {
+    this.linkedHashMap.remove(key);
+    this.sizeBytes -= entry.size;
+  }
+
+  private static class Entry<V> {
+
+    private final V value;
+    private final long size;
+    private final long expirationTimeNano;
+
+    private Entry(final V value, final long size, final long expirationTimeNano) {
+      this.value = value;
+      this.size = size;
+      this.expirationTimeNano = expirationTimeNano;
+    }
+
+    private boolean isExpired(final long now) {
+      return this.expirationTimeNano != 0 && now - this.expirationTimeNano >= 0;
+    }
+  }
+}
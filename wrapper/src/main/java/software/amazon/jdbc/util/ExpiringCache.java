@@ -18,10 +18,11 @@ package software.amazon.jdbc.util;
 
 import java.util.AbstractMap;
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -29,52 +30,34 @@ import org.checkerframework.checker.nullness.qual.KeyFor;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
- * Expiring Cache class. This cache uses a LinkedHashMap to store values with a specific time they
- * were stored. Items that exceed the expired time will be removed when attempting to retrieve them.
+ * Expiring Cache class. This cache uses a ConcurrentHashMap to store values with a specific time
+ * they were stored. Items that exceed the expired time are no longer returned, and are removed when
+ * a new item is stored.
+ *
+ * <p>Reads and writes don't take a lock. Each key has a node in an expiry queue. A node is only
+ * queued when a key is added; replacing the value of a key reuses its node, which is moved to the
+ * tail once it reaches the head of the queue. The queue is therefore only roughly in expiry order: a
+ * node moved to the tail can be queued behind the nodes of keys stored after its latest value.
+ * Inserting an entry evicts the expired entries at the head of the queue, which costs amortized
+ * constant time per entry rather than a scan of the whole cache, and stops at the first entry that
+ * hasn't expired yet. Expired entries queued behind it are evicted later, but are never returned.
+ * Only one thread evicts entries at a time; the others skip it.
  *
  * @param <K> The type of the key to store
  * @param <V> The type of the value to store
  */
 public class ExpiringCache<K, V> implements Map<K, V> {
 
-  private long expireTimeMs;
-  private @Nullable OnEvictRunnable<V> onEvictRunnable;
+  private volatile long expireTimeMs;
+  private volatile @Nullable OnEvictRunnable<V> onEvictRunnable;
   private final ReentrantLock reentrantLock = new ReentrantLock();
+  private final ReentrantLock evictionLock = new ReentrantLock();
 
   /** The HashMap which stores the key-value pair. */
-  private final LinkedHashMap<K, Hit<V>> linkedHashMap =
-      new LinkedHashMap<K, Hit<V>>(1, 0.75F, true) {
-
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<K, Hit<V>> eldest) {
-
-          // removeEldestEntry() method is always called on inserting a new entry.
-          // It makes sense to skip processing of such a new entry.
-          // When this method is called with an old and expired entry, we can
-          // iterate through all entries and remove all expired ones.
-
-          if (eldest.getValue().isExpire(expireTimeMs)) {
-
-            Iterator<Hit<V>> i = values().iterator();
-
-            while (i.hasNext()) {
-              Hit<V> hit = i.next();
-              if (!hit.isExpire(expireTimeMs)) {
-                continue;
-              }
-              i.remove();
-              if (onEvictRunnable != null) {
-                try {
-                  onEvictRunnable.call(hit.payload);
-                } catch (Exception ex) {
-                  // ignore
-                }
-              }
-            }
-          }
-          return false;
-        }
-      };
+  private final Map<K, Hit<K, V>> map = new ConcurrentHashMap<>();
+
+  /** Nodes of the stored keys, in the order they were queued. Nodes of removed keys are skipped. */
+  private final Queue<ExpiryNode<K, V>> expiryQueue = new ConcurrentLinkedQueue<>();
 
   /**
    * Expiring cache constructor.
@@ -121,14 +104,8 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public int size() {
-    try {
-      this.reentrantLock.lock();
-
-      return (int)
-          this.linkedHashMap.values().stream().filter(x -> !x.isExpire(expireTimeMs)).count();
-    } finally {
-      this.reentrantLock.unlock();
-    }
+    final long expireTimeMs = this.expireTimeMs;
+    return (int) this.map.values().stream().filter(x -> !x.isExpire(expireTimeMs)).count();
   }
 
   /**
@@ -138,13 +115,8 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public boolean isEmpty() {
-    try {
-      this.reentrantLock.lock();
-
-      return !this.linkedHashMap.values().stream().anyMatch(x -> !x.isExpire(expireTimeMs));
-    } finally {
-      this.reentrantLock.unlock();
-    }
+    final long expireTimeMs = this.expireTimeMs;
+    return this.map.values().stream().allMatch(x -> x.isExpire(expireTimeMs));
   }
 
   /**
@@ -155,14 +127,7 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public boolean containsKey(Object key) {
-    try {
-      this.reentrantLock.lock();
-
-      V payload = this.get(key);
-      return payload != null;
-    } finally {
-      this.reentrantLock.unlock();
-    }
+    return this.get(key) != null;
   }
 
   /**
@@ -173,14 +138,9 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public boolean containsValue(Object value) {
-    try {
-      this.reentrantLock.lock();
-
-      return this.linkedHashMap.values().stream()
-          .anyMatch(x -> !x.isExpire(expireTimeMs) && x.payload == value);
-    } finally {
-      this.reentrantLock.unlock();
-    }
+    final long expireTimeMs = this.expireTimeMs;
+    return this.map.values().stream()
+        .anyMatch(x -> !x.isExpire(expireTimeMs) && x.payload == value);
   }
 
   /**
@@ -191,24 +151,18 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public @Nullable V get(Object key) {
-    try {
-      this.reentrantLock.lock();
-
-      Hit<V> hit = this.linkedHashMap.get(key);
+    Hit<K, V> hit = this.map.get(key);
 
-      if (hit == null) {
-        return null;
-      }
-
-      if (hit.isExpire(expireTimeMs)) {
-        this.linkedHashMap.remove(key);
-        return null;
-      }
+    if (hit == null) {
+      return null;
+    }
 
-      return hit.payload;
-    } finally {
-      this.reentrantLock.unlock();
+    if (hit.isExpire(this.expireTimeMs)) {
+      // The entry is left for the expiry queue, so that it's evicted like any other entry.
+      return null;
     }
+
+    return hit.payload;
   }
 
   /**
@@ -221,13 +175,25 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public @Nullable V put(K key, V value) {
-    try {
-      this.reentrantLock.lock();
+    while (true) {
+      final Hit<K, V> prevValue = this.map.get(key);
+      final boolean reuseNode = prevValue != null && prevValue.node.queued;
+      final ExpiryNode<K, V> node = reuseNode ? prevValue.node : new ExpiryNode<>(key);
+      final Hit<K, V> hit = new Hit<>(value, node);
+
+      final boolean stored = prevValue == null
+          ? this.map.putIfAbsent(key, hit) == null
+          : this.map.replace(key, prevValue, hit);
+      if (!stored) {
+        continue;
+      }
 
-      Hit<V> prevValue = this.linkedHashMap.put(key, new Hit<>(value));
+      if (!reuseNode) {
+        node.hit = hit;
+        this.expiryQueue.add(node);
+      }
+      this.evictExpiredEntries();
       return prevValue == null ? null : prevValue.payload;
-    } finally {
-      this.reentrantLock.unlock();
     }
   }
 
@@ -239,14 +205,8 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public @Nullable V remove(Object key) {
-    try {
-      this.reentrantLock.lock();
-
-      Hit<V> prevValue = this.linkedHashMap.remove(key);
-      return prevValue == null ? null : prevValue.payload;
-    } finally {
-      this.reentrantLock.unlock();
-    }
+    Hit<K, V> prevValue = this.map.remove(key);
+    return prevValue == null ? null : prevValue.payload;
   }
 
   /**
@@ -256,27 +216,18 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public void putAll(Map<? extends K, ? extends V> m) {
-    try {
-      this.reentrantLock.lock();
-
-      for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
-        this.linkedHashMap.put(entry.getKey(), new Hit<>(entry.getValue()));
-      }
-    } finally {
-      this.reentrantLock.unlock();
+    for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+      this.put(entry.getKey(), entry.getValue());
     }
   }
 
   /** Clears all mapping from the cache. */
   @Override
   public void clear() {
-    try {
-      this.reentrantLock.lock();
-
-      this.linkedHashMap.clear();
-    } finally {
-      this.reentrantLock.unlock();
-    }
+    // The queue is cleared first, so that an entry stored concurrently is never left in the map
+    // without its expiry node.
+    this.expiryQueue.clear();
+    this.map.clear();
   }
 
   /**
@@ -286,16 +237,11 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public Set<@KeyFor("this") K> keySet() {
-    try {
-      this.reentrantLock.lock();
-
-      return this.linkedHashMap.entrySet().stream()
-          .filter(x -> !x.getValue().isExpire(expireTimeMs))
-          .map(Entry::getKey)
-          .collect(Collectors.toSet());
-    } finally {
-      this.reentrantLock.unlock();
-    }
+    final long expireTimeMs = this.expireTimeMs;
+    return this.map.entrySet().stream()
+        .filter(x -> !x.getValue().isExpire(expireTimeMs))
+        .map(Entry::getKey)
+        .collect(Collectors.toSet());
   }
 
   /**
@@ -305,16 +251,11 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public Collection<V> values() {
-    try {
-      this.reentrantLock.lock();
-
-      return this.linkedHashMap.values().stream()
-          .filter(x -> !x.isExpire(expireTimeMs))
-          .map(x -> x.payload)
-          .collect(Collectors.toList());
-    } finally {
-      this.reentrantLock.unlock();
-    }
+    final long expireTimeMs = this.expireTimeMs;
+    return this.map.values().stream()
+        .filter(x -> !x.isExpire(expireTimeMs))
+        .map(x -> x.payload)
+        .collect(Collectors.toList());
   }
 
   /**
@@ -324,50 +265,101 @@ public class ExpiringCache<K, V> implements Map<K, V> {
    */
   @Override
   public Set<Entry<@KeyFor("this") K, V>> entrySet() {
-    try {
-      this.reentrantLock.lock();
+    final long expireTimeMs = this.expireTimeMs;
+    return this.map.entrySet().stream()
+        .filter(x -> !x.getValue().isExpire(expireTimeMs))
+        .map(x -> new AbstractMap.SimpleEntry<>(x.getKey(), x.getValue().payload))
+        .collect(Collectors.toSet());
+  }
 
-      return this.linkedHashMap.entrySet().stream()
-          .filter(x -> !x.getValue().isExpire(expireTimeMs))
-          .map(x -> new AbstractMap.SimpleEntry<>(x.getKey(), x.getValue().payload))
-          .collect(Collectors.toSet());
-    } finally {
-      this.reentrantLock.unlock();
-    }
+  /** Returns the number of nodes in the expiry queue. This method is for testing purposes only. */
+  int getExpiryQueueSize() {
+    return this.expiryQueue.size();
   }
 
   public void setOnEvictRunnable(OnEvictRunnable<V> onEvictRunnable) {
-    try {
-      this.reentrantLock.lock();
-
-      this.onEvictRunnable = onEvictRunnable;
-    } finally {
-      this.reentrantLock.unlock();
-    }
+    this.onEvictRunnable = onEvictRunnable;
   }
 
+  /**
+   * Get a lock for callers that need to update a cached value in several steps. The cache doesn't
+   * use this lock itself, so readers of the cache don't wait for it: values updated in place must
+   * be safe to read while they're updated.
+   *
+   * @return the lock
+   */
   public ReentrantLock getLock() {
     return this.reentrantLock;
   }
 
+  private void evictExpiredEntries() {
+    ExpiryNode<K, V> node = this.expiryQueue.peek();
+    if (node == null || !node.hit.isExpire(this.expireTimeMs) || !this.evictionLock.tryLock()) {
+      return;
+    }
+
+    try {
+      while ((node = this.expiryQueue.peek()) != null && node.hit.isExpire(this.expireTimeMs)) {
+        this.expiryQueue.poll();
+        final Hit<K, V> hit = this.map.get(node.key);
+        if (hit == null || hit.node != node) {
+          // The key was removed since the node was queued.
+          continue;
+        }
+        if (!hit.isExpire(this.expireTimeMs)) {
+          // The value was replaced since the node was queued; it expires later.
+          node.hit = hit;
+          this.expiryQueue.add(node);
+          continue;
+        }
+
+        // Values stored from now on get a new node, unless the value is replaced before it's removed.
+        node.queued = false;
+        if (this.map.remove(node.key, hit)) {
+          final OnEvictRunnable<V> onEvictRunnable = this.onEvictRunnable;
+          if (onEvictRunnable != null) {
+            try {
+              onEvictRunnable.call(hit.payload);
+            } catch (Exception ex) {
+              // ignore
+            }
+          }
+          continue;
+        }
+        final Hit<K, V> replacement = this.map.get(node.key);
+        if (replacement != null && replacement.node == node) {
+          node.queued = true;
+          node.hit = replacement;
+          this.expiryQueue.add(node);
+        }
+      }
+    } finally {
+      this.evictionLock.unlock();
+    }
+  }
+
   /**
    * Class to contain the time of when a value was stored.
    *
+   * @param <K> Type of key
    * @param <V> Type of value
    */
-  private static class Hit<V> {
+  private static class Hit<K, V> {
 
     private final long time; // in nanos
     private final V payload;
+    private final ExpiryNode<K, V> node;
 
     /**
      * Constructor for Hit. Will record the current time the object will be stored.
      *
      * @param payload The value to store
+     * @param node The expiry queue node of the key
      */
-    Hit(V payload) {
+    Hit(V payload, ExpiryNode<K, V> node) {
       this.time = System.nanoTime();
       this.payload = payload;
+      this.node = node;
     }
 
     /**
@@ -382,6 +374,27 @@ public class ExpiringCache<K, V> implements Map<K, V> {
     }
   }
 
+  /**
+   * The expiry queue node of a key. Shared by the values stored for the key while it's queued.
+   *
+   * @param <K> Type of key
+   * @param <V> Type of value
+   */
+  private static class ExpiryNode<K, V> {
+
+    private final K key;
+
+    /** The value the node was queued for; the key doesn't expire before it. */
+    private volatile Hit<K, V> hit;
+
+    /** Whether the node is queued or about to be queued again. */
+    private volatile boolean queued = true;
+
+    ExpiryNode(K key) {
+      this.key = key;
+    }
+  }
+
   public interface OnEvictRunnable<V> {
     void call(final V value);
   }
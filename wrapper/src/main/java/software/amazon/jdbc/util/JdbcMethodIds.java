@@ -0,0 +1,102 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.util;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns a small integer ID to each method name used by the plugin pipelines, for example
+ * "ResultSet.next" or "connect".
+ *
+ * <p>IDs for every public method of the driver wrapper classes are generated once, when this class
+ * is loaded. Any other method name is assigned the next free ID the first time it's seen. IDs are
+ * never reused, so they can be used as indexes into per-connection tables.
+ */
+public class JdbcMethodIds {
+
+  private static final String WRAPPER_CLASS_SUFFIX = "Wrapper";
+  private static final String[] PIPELINE_METHODS = {
+      "connect", "initHostProvider", "notifyConnectionChanged", "notifyNodeListChanged"
+  };
+
+  private static final ConcurrentMap<String, Integer> idsByName = new ConcurrentHashMap<>();
+  private static final AtomicInteger nextId = new AtomicInteger();
+
+  static {
+    final Set<String> methodNames = new TreeSet<>(Arrays.asList(PIPELINE_METHODS));
+    for (Class<?> wrapperClass : WrapperUtils.getWrapperClasses()) {
+      final String simpleName = wrapperClass.getSimpleName();
+      if (!simpleName.endsWith(WRAPPER_CLASS_SUFFIX)) {
+        continue;
+      }
+      final String interfaceName =
+          simpleName.substring(0, simpleName.length() - WRAPPER_CLASS_SUFFIX.length());
+      for (Method method : wrapperClass.getDeclaredMethods()) {
+        if (Modifier.isPublic(method.getModifiers())
+            && !Modifier.isStatic(method.getModifiers())
+            && !method.isSynthetic()) {
+          methodNames.add(interfaceName + "." + method.getName());
+        }
+      }
+    }
+    methodNames.forEach(JdbcMethodIds::getId);
+  }
+
+  private JdbcMethodIds() {
+  }
+
+  /**
+   * Returns the ID of the given method name, assigning a new one if the name hasn't been seen yet.
+   *
+   * @param methodName the method name, as passed to the plugin pipelines
+   * @return the method ID
+   */
+  public static int getId(final String methodName) {
+    final Integer id = idsByName.get(methodName);
+    if (id != null) {
+      return id;
+    }
+    return idsByName.computeIfAbsent(methodName, (name) -> nextId.getAndIncrement());
+  }
+
+  /**
+   * Returns the number of IDs assigned so far. Every assigned ID is less than this value.
+   *
+   * @return the number of assigned IDs
+   */
+  public static int getCount() {
+    return nextId.get();
+  }
+
+  /**
+   * Returns a read-only view of all assigned IDs keyed by method name.
+   *
+   * @return the assigned IDs
+   */
+  public static Map<String, Integer> getIds() {
+    return Collections.unmodifiableMap(idsByName);
+  }
+}
@@ -29,6 +29,7 @@ public class SqlState {
   public static final SqlState COMMUNICATION_LINK_CHANGED = new SqlState("08S02");
   public static final SqlState CONNECTION_UNABLE_TO_CONNECT = new SqlState("08001");
   public static final SqlState CONNECTION_NOT_OPEN = new SqlState("08003");
+  public static final SqlState DATA_EXCEPTION = new SqlState("22000");
 
   // TODO: add custom error codes support
 
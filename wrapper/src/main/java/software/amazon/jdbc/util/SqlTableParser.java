@@ -0,0 +1,236 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the tables a SQL statement reads or writes. The parsing is lightweight and errs on the side
+ * of reporting too many tables, so it's suitable for deciding which cached results a write may
+ * have changed, but not for anything that needs an exact answer.
+ */
+public class SqlTableParser {
+
+  private static final String TABLE_NAME = "([\\w$`\"\\[\\].]+)";
+
+  private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+
+  private static final Pattern FROM_CLAUSE = Pattern.compile(
+      "\\bfrom\\s+([^\\s(].*?)(?=\\b(?:where|group|order|having|limit|union|intersect|except|join|inner|left|right"
+          + "|full|cross|natural|on|using|for|window|fetch|offset)\\b|[();]|$)",
+      Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+  private static final Pattern JOIN = Pattern.compile(
+      "\\bjoin\\s+" + TABLE_NAME, Pattern.CASE_INSENSITIVE);
+
+  private static final Pattern WRITTEN_TABLE = Pattern.compile(
+      "^(?:insert\\s+(?:ignore\\s+)?into|replace\\s+into|upsert\\s+into|merge\\s+into|update(?:\\s+only)?"
+          + "|delete\\s+from|truncate(?:\\s+table)?|(?:create|drop|alter)\\s+table(?:\\s+if\\s+(?:not\\s+)?exists)?)"
+          + "\\s+" + TABLE_NAME,
+      Pattern.CASE_INSENSITIVE);
+
+  /** Data-changing statements inside a WITH statement, e.g. PostgreSQL's data-modifying CTEs. */
+  private static final Pattern DATA_CHANGE_IN_WITH = Pattern.compile(
+      "\\b(?:insert|update|delete|merge)\\b", Pattern.CASE_INSENSITIVE);
+
+  /** A JOIN or a comma after the first table of an UPDATE or DELETE, which may write more tables. */
+  private static final Pattern MULTI_TABLE_WRITE = Pattern.compile(
+      "\\bjoin\\b|^\\s*,", Pattern.CASE_INSENSITIVE);
+
+  private static final Pattern WRITTEN_TABLE_IN_WITH = Pattern.compile(
+      "\\b(?:insert\\s+into|merge\\s+into|update(?:\\s+only)?|delete\\s+from)\\s+" + TABLE_NAME,
+      Pattern.CASE_INSENSITIVE);
+
+  private static final String WITH = "with";
+  private static final String UPDATE = "update";
+  private static final String DELETE = "delete";
+
+  private static final Set<String> READ_ONLY_KEYWORDS = Collections.unmodifiableSet(new HashSet<>(
+      Arrays.asList("select", "with", "show", "describe", "desc", "explain", "values", "table",
+          "set", "use", "begin", "start", "commit", "rollback", "savepoint", "release", "end", "abort")));
+
+  private SqlTableParser() {
+  }
+
+  /**
+   * Splits SQL that may contain several statements separated by semicolons, the same way {@link
+   * software.amazon.jdbc.plugin.DefaultConnectionPlugin} does to track the transaction state.
+   * Whitespace is collapsed to single spaces.
+   *
+   * @param sql the SQL, possibly with several statements
+   * @return the statements; empty if the SQL is null or blank
+   */
+  public static List<String> parseMultiStatementQueries(String sql) {
+    if (sql == null || sql.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    sql = sql.replaceAll("\\s+", " ");
+
+    // Check to see if string only has blank spaces.
+    if (sql.trim().isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    return Arrays.stream(sql.split(";")).collect(Collectors.toList());
+  }
+
+  /**
+   * Checks whether the SQL doesn't change any data, for example a query or a transaction control
+   * statement. SQL with several statements is only considered read-only if all of them are. A WITH
+   * statement is only considered read-only if it doesn't contain INSERT, UPDATE, DELETE or MERGE
+   * anywhere.
+   *
+   * @param sql the SQL, possibly with several statements
+   * @return true if the SQL only reads data
+   */
+  public static boolean isReadOnly(final String sql) {
+    final List<String> statements = getStatements(sql);
+    if (statements.isEmpty()) {
+      return false;
+    }
+    for (final String statement : statements) {
+      if (!isReadOnlyStatement(statement)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the names of the tables a query reads from.
+   *
+   * @param sql the SQL query
+   * @return the lower-case table names without schema or quotes; empty if none were found
+   */
+  public static Set<String> getReadTables(final String sql) {
+    final String statement = stripComments(sql);
+    final Set<String> tables = new HashSet<>();
+
+    final Matcher fromMatcher = FROM_CLAUSE.matcher(statement);
+    while (fromMatcher.find()) {
+      for (String item : fromMatcher.group(1).split(",")) {
+        final String trimmed = item.trim();
+        if (!trimmed.isEmpty()) {
+          addTable(tables, trimmed.split("\\s+")[0]);
+        }
+      }
+    }
+
+    final Matcher joinMatcher = JOIN.matcher(statement);
+    while (joinMatcher.find()) {
+      addTable(tables, joinMatcher.group(1));
+    }
+    return tables;
+  }
+
+  /**
+   * Returns the names of the tables data-changing statements write to. Read-only statements in SQL
+   * with several statements are skipped.
+   *
+   * @param sql the SQL, possibly with several statements
+   * @return the lower-case table names without schema or quotes; empty if they weren't found for
+   *     any one of the statements, in which case the SQL may have written to any table
+   */
+  public static Set<String> getWrittenTables(final String sql) {
+    final Set<String> tables = new HashSet<>();
+    for (final String statement : getStatements(sql)) {
+      if (isReadOnlyStatement(statement)) {
+        continue;
+      }
+      final Set<String> statementTables = getStatementWrittenTables(statement);
+      if (statementTables.isEmpty()) {
+        return Collections.emptySet();
+      }
+      tables.addAll(statementTables);
+    }
+    return tables;
+  }
+
+  private static Set<String> getStatementWrittenTables(final String statement) {
+    final Set<String> tables = new HashSet<>();
+    final String keyword = getFirstKeyword(statement);
+    if (WITH.equals(keyword)) {
+      final Matcher matcher = WRITTEN_TABLE_IN_WITH.matcher(statement);
+      while (matcher.find()) {
+        addTable(tables, matcher.group(1));
+      }
+      return tables;
+    }
+
+    final Matcher matcher = WRITTEN_TABLE.matcher(statement);
+    if (!matcher.find()) {
+      return Collections.emptySet();
+    }
+    // Multi-table updates and deletes, e.g. "update a join b ... set b.x = 1" or "update a, b set ...",
+    // may write tables other than the first one.
+    if ((UPDATE.equals(keyword) || DELETE.equals(keyword))
+        && MULTI_TABLE_WRITE.matcher(statement.substring(matcher.end())).find()) {
+      return Collections.emptySet();
+    }
+    addTable(tables, matcher.group(1));
+    return tables;
+  }
+
+  private static boolean isReadOnlyStatement(final String statement) {
+    final String keyword = getFirstKeyword(statement);
+    if (WITH.equals(keyword)) {
+      return !DATA_CHANGE_IN_WITH.matcher(statement).find();
+    }
+    return READ_ONLY_KEYWORDS.contains(keyword);
+  }
+
+  private static List<String> getStatements(final String sql) {
+    final List<String> statements = new ArrayList<>();
+    for (final String statement : parseMultiStatementQueries(stripComments(sql))) {
+      final String trimmed = statement.trim();
+      if (!trimmed.isEmpty()) {
+        statements.add(trimmed);
+      }
+    }
+    return statements;
+  }
+
+  private static String getFirstKeyword(final String statement) {
+    int end = 0;
+    while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+      end++;
+    }
+    return statement.substring(0, end).toLowerCase(Locale.ROOT);
+  }
+
+  private static String stripComments(final String sql) {
+    return COMMENTS.matcher(sql).replaceAll(" ").trim();
+  }
+
+  private static void addTable(final Set<String> tables, final String name) {
+    final String unquoted = name.replaceAll("[`\"\\[\\]]", "");
+    final String table = unquoted.substring(unquoted.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    if (!table.isEmpty()) {
+      tables.add(table);
+    }
+  }
+}
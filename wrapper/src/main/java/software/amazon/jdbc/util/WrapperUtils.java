@@ -42,6 +42,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -51,6 +52,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import software.amazon.jdbc.ConnectionPluginManager;
+import software.amazon.jdbc.ConnectionPluginManager.ChainGeneration;
 import software.amazon.jdbc.JdbcCallable;
 import software.amazon.jdbc.JdbcRunnable;
 import software.amazon.jdbc.wrapper.ArrayWrapper;
@@ -80,30 +82,57 @@ public class WrapperUtils {
   private static final ConcurrentMap<Class<?>, Boolean> isJdbcInterfaceCache =
       new ConcurrentHashMap<>();
 
-  private static final Map<Class<?>, Class<?>> availableWrappers =
-      new HashMap<Class<?>, Class<?>>() {
+  /**
+   * Wrapper factories keyed by the JDBC interface they wrap. More specific interfaces come first, so
+   * the first interface implemented by a target object is the best match for it.
+   */
+  private static final Map<Class<?>, WrapperFactory> availableWrappers =
+      new LinkedHashMap<Class<?>, WrapperFactory>() {
         {
-          put(CallableStatement.class, CallableStatementWrapper.class);
-          put(PreparedStatement.class, PreparedStatementWrapper.class);
-          put(Statement.class, StatementWrapper.class);
-          put(ResultSet.class, ResultSetWrapper.class);
-          put(Array.class, ArrayWrapper.class);
-          put(Blob.class, BlobWrapper.class);
-          put(NClob.class, NClobWrapper.class);
-          put(Clob.class, ClobWrapper.class);
-          put(Ref.class, RefWrapper.class);
-          put(Struct.class, StructWrapper.class);
-          put(Savepoint.class, SavepointWrapper.class);
-          put(DatabaseMetaData.class, DatabaseMetaDataWrapper.class);
-          put(ParameterMetaData.class, ParameterMetaDataWrapper.class);
-          put(ResultSetMetaData.class, ResultSetMetaDataWrapper.class);
-          put(SQLData.class, SQLDataWrapper.class);
-          put(SQLInput.class, SQLInputWrapper.class);
-          put(SQLOutput.class, SQLOutputWrapper.class);
-          put(SQLType.class, SQLTypeWrapper.class);
+          put(CallableStatement.class,
+              (target, pluginManager) -> new CallableStatementWrapper((CallableStatement) target, pluginManager));
+          put(PreparedStatement.class,
+              (target, pluginManager) -> new PreparedStatementWrapper((PreparedStatement) target, pluginManager));
+          put(Statement.class,
+              (target, pluginManager) -> new StatementWrapper((Statement) target, pluginManager));
+          put(ResultSet.class,
+              (target, pluginManager) -> new ResultSetWrapper((ResultSet) target, pluginManager));
+          put(Array.class,
+              (target, pluginManager) -> new ArrayWrapper((Array) target, pluginManager));
+          put(Blob.class,
+              (target, pluginManager) -> new BlobWrapper((Blob) target, pluginManager));
+          put(NClob.class,
+              (target, pluginManager) -> new NClobWrapper((NClob) target, pluginManager));
+          put(Clob.class,
+              (target, pluginManager) -> new ClobWrapper((Clob) target, pluginManager));
+          put(Ref.class,
+              (target, pluginManager) -> new RefWrapper((Ref) target, pluginManager));
+          put(Struct.class,
+              (target, pluginManager) -> new StructWrapper((Struct) target, pluginManager));
+          put(Savepoint.class,
+              (target, pluginManager) -> new SavepointWrapper((Savepoint) target, pluginManager));
+          put(DatabaseMetaData.class,
+              (target, pluginManager) -> new DatabaseMetaDataWrapper((DatabaseMetaData) target, pluginManager));
+          put(ParameterMetaData.class,
+              (target, pluginManager) -> new ParameterMetaDataWrapper((ParameterMetaData) target, pluginManager));
+          put(ResultSetMetaData.class,
+              (target, pluginManager) -> new ResultSetMetaDataWrapper((ResultSetMetaData) target, pluginManager));
+          put(SQLData.class,
+              (target, pluginManager) -> new SQLDataWrapper((SQLData) target, pluginManager));
+          put(SQLInput.class,
+              (target, pluginManager) -> new SQLInputWrapper((SQLInput) target, pluginManager));
+          put(SQLOutput.class,
+              (target, pluginManager) -> new SQLOutputWrapper((SQLOutput) target, pluginManager));
+          put(SQLType.class,
+              (target, pluginManager) -> new SQLTypeWrapper((SQLType) target, pluginManager));
         }
       };
 
+  private static final WrapperFactory NO_WRAPPER = (target, pluginManager) -> target;
+
+  private static final ConcurrentMap<Class<?>, WrapperFactory> wrapperFactoryByTargetClassCache =
+      new ConcurrentHashMap<>();
+
   private static Set<Class<?>> allWrapperClasses = new HashSet<Class<?>>() {
     {
       add(ArrayWrapper.class);
@@ -128,6 +157,15 @@ public class WrapperUtils {
     }
   };
 
+  /**
+   * Returns all wrapper classes provided by the driver.
+   *
+   * @return a read-only set of wrapper classes
+   */
+  public static Set<Class<?>> getWrapperClasses() {
+    return Collections.unmodifiableSet(allWrapperClasses);
+  }
+
   public static void runWithPlugins(
       final ConnectionPluginManager pluginManager,
       final Object methodInvokeOn,
@@ -178,30 +216,14 @@ public class WrapperUtils {
       final JdbcCallable<T, RuntimeException> jdbcMethodFunc,
       Object... jdbcMethodArgs) {
 
-    pluginManager.lock();
-
-    try {
-      Object[] argsCopy =
-          jdbcMethodArgs == null ? null : Arrays.copyOf(jdbcMethodArgs, jdbcMethodArgs.length);
-
-      T result =
-          pluginManager.execute(
-              resultClass,
-              RuntimeException.class,
-              methodInvokeOn,
-              methodName,
-              jdbcMethodFunc,
-              argsCopy);
-
-      try {
-        return wrapWithProxyIfNeeded(resultClass, result, pluginManager);
-      } catch (InstantiationException e) {
-        throw new RuntimeException(e);
-      }
-
-    } finally {
-      pluginManager.unlock();
-    }
+    return executeWithPlugins(
+        resultClass,
+        RuntimeException.class,
+        pluginManager,
+        methodInvokeOn,
+        methodName,
+        jdbcMethodFunc,
+        jdbcMethodArgs);
   }
 
   public static <T, E extends Exception> T executeWithPlugins(
@@ -214,6 +236,22 @@ public class WrapperUtils {
       Object... jdbcMethodArgs)
       throws E {
 
+    // A connection switch doesn't wait for calls dispatched without the lock; it defers closing the
+    // old connection until they complete. Varargs arrays are created per call site, so there is no
+    // need to copy them when the lock is not taken.
+    final ChainGeneration generation =
+        pluginManager.isLockFreeDispatch() ? pluginManager.tryBeginLockFreeCall() : null;
+    if (generation != null) {
+      try {
+        final T result =
+            pluginManager.execute(
+                resultClass, exceptionClass, methodInvokeOn, methodName, jdbcMethodFunc, jdbcMethodArgs);
+        return wrapResult(resultClass, result, pluginManager);
+      } finally {
+        pluginManager.endLockFreeCall(generation);
+      }
+    }
+
     pluginManager.lock();
 
     try {
@@ -224,17 +262,22 @@ public class WrapperUtils {
           pluginManager.execute(
               resultClass, exceptionClass, methodInvokeOn, methodName, jdbcMethodFunc, argsCopy);
 
-      try {
-        return wrapWithProxyIfNeeded(resultClass, result, pluginManager);
-      } catch (InstantiationException e) {
-        throw new RuntimeException(e);
-      }
+      return wrapResult(resultClass, result, pluginManager);
 
     } finally {
       pluginManager.unlock();
     }
   }
 
+  private static <T> T wrapResult(
+      final Class<T> resultClass, final T result, final ConnectionPluginManager pluginManager) {
+    try {
+      return wrapWithProxyIfNeeded(resultClass, result, pluginManager);
+    } catch (InstantiationException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   protected static @Nullable <T> T wrapWithProxyIfNeeded(
       final Class<T> resultClass, @Nullable T toProxy, final ConnectionPluginManager pluginManager)
       throws InstantiationException {
@@ -252,15 +295,18 @@ public class WrapperUtils {
       return toProxy;
     }
 
-    Class<?> wrapperClass = availableWrappers.get(resultClass);
+    WrapperFactory wrapperFactory = availableWrappers.get(resultClass);
 
-    if (wrapperClass != null) {
-      return createInstance(
-          wrapperClass,
-          resultClass,
-          new Class<?>[] {resultClass, ConnectionPluginManager.class},
-          toProxy,
-          pluginManager);
+    if (wrapperFactory == null) {
+      // The declared result type has no wrapper, e.g. Object; find one from the actual target class.
+      wrapperFactory = getWrapperFactory(toProxy.getClass());
+    }
+
+    if (wrapperFactory != NO_WRAPPER) {
+      final Object wrapper = wrapperFactory.create(toProxy, pluginManager);
+      if (resultClass.isInstance(wrapper)) {
+        return resultClass.cast(wrapper);
+      }
     }
 
     if (isJdbcInterface(toProxy.getClass())) {
@@ -273,6 +319,32 @@ public class WrapperUtils {
     return toProxy;
   }
 
+  /**
+   * Returns the factory of the wrapper that best matches the given target driver class. Calls to
+   * this function are cached for improved efficiency.
+   *
+   * @param targetClass the class of a target driver object
+   * @return the wrapper factory, or a factory that returns the target object itself if no wrapper
+   *     applies
+   */
+  private static WrapperFactory getWrapperFactory(final Class<?> targetClass) {
+    final WrapperFactory cachedFactory = wrapperFactoryByTargetClassCache.get(targetClass);
+    if (cachedFactory != null) {
+      return cachedFactory;
+    }
+
+    WrapperFactory wrapperFactory = NO_WRAPPER;
+    for (Map.Entry<Class<?>, WrapperFactory> entry : availableWrappers.entrySet()) {
+      if (entry.getKey().isAssignableFrom(targetClass)) {
+        wrapperFactory = entry.getValue();
+        break;
+      }
+    }
+
+    final WrapperFactory oldFactory = wrapperFactoryByTargetClassCache.putIfAbsent(targetClass, wrapperFactory);
+    return oldFactory != null ? oldFactory : wrapperFactory;
+  }
+
   /**
    * Check whether the given package is a JDBC package.
    *
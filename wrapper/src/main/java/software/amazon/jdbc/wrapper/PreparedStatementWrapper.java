@@ -45,13 +45,60 @@ import software.amazon.jdbc.util.WrapperUtils;
 
 public class PreparedStatementWrapper implements PreparedStatement {
 
+  /**
+   * Parameter setters and statement property accessors. They are called directly on the target
+   * statement when no plugin subscribes to any of them.
+   */
+  protected static final String[] PASS_THROUGH_METHODS = {
+      "PreparedStatement.setNull",
+      "PreparedStatement.setBoolean",
+      "PreparedStatement.setByte",
+      "PreparedStatement.setShort",
+      "PreparedStatement.setInt",
+      "PreparedStatement.setLong",
+      "PreparedStatement.setFloat",
+      "PreparedStatement.setDouble",
+      "PreparedStatement.setBigDecimal",
+      "PreparedStatement.setString",
+      "PreparedStatement.setNString",
+      "PreparedStatement.setBytes",
+      "PreparedStatement.setDate",
+      "PreparedStatement.setTime",
+      "PreparedStatement.setTimestamp",
+      "PreparedStatement.clearParameters",
+      "PreparedStatement.getMaxFieldSize",
+      "PreparedStatement.setMaxFieldSize",
+      "PreparedStatement.getMaxRows",
+      "PreparedStatement.setMaxRows",
+      "PreparedStatement.setEscapeProcessing",
+      "PreparedStatement.getQueryTimeout",
+      "PreparedStatement.setQueryTimeout",
+      "PreparedStatement.getUpdateCount",
+      "PreparedStatement.getFetchDirection",
+      "PreparedStatement.setFetchDirection",
+      "PreparedStatement.getFetchSize",
+      "PreparedStatement.setFetchSize",
+      "PreparedStatement.getResultSetConcurrency",
+      "PreparedStatement.getResultSetType",
+      "PreparedStatement.getResultSetHoldability",
+      "PreparedStatement.isClosed",
+      "PreparedStatement.isPoolable",
+      "PreparedStatement.setPoolable",
+      "PreparedStatement.closeOnCompletion",
+      "PreparedStatement.isCloseOnCompletion"
+  };
+
   protected PreparedStatement statement;
   protected ConnectionPluginManager pluginManager;
 
+  /** True if calls to {@link #PASS_THROUGH_METHODS} go straight to the target driver object. */
+  protected final boolean passThrough;
+
   public PreparedStatementWrapper(
       @NonNull PreparedStatement statement, @NonNull ConnectionPluginManager pluginManager) {
     this.statement = statement;
     this.pluginManager = pluginManager;
+    this.passThrough = pluginManager.canCallTargetDirectly(PASS_THROUGH_METHODS);
   }
 
   @Override
@@ -97,6 +144,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void clearParameters() throws SQLException {
+    if (this.passThrough) {
+      this.statement.clearParameters();
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -127,6 +179,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void closeOnCompletion() throws SQLException {
+    if (this.passThrough) {
+      this.statement.closeOnCompletion();
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -318,6 +375,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
   @SuppressWarnings("MagicConstant")
   @Override
   public int getFetchDirection() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getFetchDirection();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -329,6 +390,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public int getFetchSize() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getFetchSize();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -351,6 +416,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public int getMaxFieldSize() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getMaxFieldSize();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -362,6 +431,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public int getMaxRows() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getMaxRows();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -418,6 +491,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public int getQueryTimeout() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getQueryTimeout();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -441,6 +518,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
   @SuppressWarnings("MagicConstant")
   @Override
   public int getResultSetConcurrency() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getResultSetConcurrency();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -452,6 +533,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public int getResultSetHoldability() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getResultSetHoldability();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -464,6 +549,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
   @SuppressWarnings("MagicConstant")
   @Override
   public int getResultSetType() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getResultSetType();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -475,6 +564,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public int getUpdateCount() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getUpdateCount();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -497,6 +590,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public boolean isCloseOnCompletion() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.isCloseOnCompletion();
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
@@ -508,6 +605,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public boolean isClosed() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.isClosed();
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
@@ -520,6 +621,10 @@ public class PreparedStatementWrapper implements PreparedStatement {
   @SuppressWarnings("SpellCheckingInspection")
   @Override
   public boolean isPoolable() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.isPoolable();
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
@@ -586,6 +691,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setBigDecimal(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -674,6 +784,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setBoolean(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -686,6 +801,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setByte(int parameterIndex, byte x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setByte(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -698,6 +818,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setBytes(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -798,6 +923,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setDate(int parameterIndex, Date x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setDate(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -810,6 +940,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setDate(parameterIndex, x, cal);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -823,6 +958,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setDouble(int parameterIndex, double x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setDouble(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -835,6 +975,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setEscapeProcessing(boolean enable) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setEscapeProcessing(enable);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -846,6 +991,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setFetchDirection(int direction) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setFetchDirection(direction);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -857,6 +1007,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setFetchSize(int rows) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setFetchSize(rows);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -868,6 +1023,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setFloat(int parameterIndex, float x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setFloat(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -880,6 +1040,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setInt(int parameterIndex, int x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setInt(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -892,6 +1057,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setLong(int parameterIndex, long x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setLong(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -904,6 +1074,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setMaxFieldSize(int max) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setMaxFieldSize(max);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -915,6 +1090,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setMaxRows(int max) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setMaxRows(max);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -989,6 +1169,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setNString(int parameterIndex, String value) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setNString(parameterIndex, value);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1001,6 +1186,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setNull(int parameterIndex, int sqlType) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setNull(parameterIndex, sqlType);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1013,6 +1203,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setNull(parameterIndex, sqlType, typeName);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1095,6 +1290,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
   @SuppressWarnings("SpellCheckingInspection")
   @Override
   public void setPoolable(boolean poolable) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setPoolable(poolable);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1106,6 +1306,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setQueryTimeout(int seconds) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setQueryTimeout(seconds);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1154,6 +1359,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setShort(int parameterIndex, short x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setShort(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1166,6 +1376,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setString(int parameterIndex, String x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setString(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1178,6 +1393,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setTime(int parameterIndex, Time x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setTime(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1190,6 +1410,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setTime(parameterIndex, x, cal);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1203,6 +1428,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setTimestamp(parameterIndex, x);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -1215,6 +1445,11 @@ public class PreparedStatementWrapper implements PreparedStatement {
 
   @Override
   public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setTimestamp(parameterIndex, x, cal);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -44,13 +44,42 @@ import software.amazon.jdbc.util.WrapperUtils;
 
 public class ResultSetWrapper implements ResultSet {
 
+  /**
+   * Row navigation and value getters. They are called directly on the target result set when no
+   * plugin subscribes to any of them.
+   */
+  protected static final String[] PASS_THROUGH_METHODS = {
+      "ResultSet.next",
+      "ResultSet.wasNull",
+      "ResultSet.findColumn",
+      "ResultSet.getString",
+      "ResultSet.getNString",
+      "ResultSet.getBoolean",
+      "ResultSet.getByte",
+      "ResultSet.getShort",
+      "ResultSet.getInt",
+      "ResultSet.getLong",
+      "ResultSet.getFloat",
+      "ResultSet.getDouble",
+      "ResultSet.getBigDecimal",
+      "ResultSet.getBytes",
+      "ResultSet.getDate",
+      "ResultSet.getTime",
+      "ResultSet.getTimestamp",
+      "ResultSet.getRow"
+  };
+
   protected ResultSet resultSet;
   protected ConnectionPluginManager pluginManager;
 
+  /** True if calls to {@link #PASS_THROUGH_METHODS} go straight to the target driver object. */
+  protected final boolean passThrough;
+
   public ResultSetWrapper(
       @NonNull ResultSet resultSet, @NonNull ConnectionPluginManager pluginManager) {
     this.resultSet = resultSet;
     this.pluginManager = pluginManager;
+    this.passThrough = pluginManager.canCallTargetDirectly(PASS_THROUGH_METHODS);
   }
 
   @Override
@@ -127,6 +156,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public int findColumn(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.findColumn(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -226,6 +259,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getBigDecimal(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         BigDecimal.class,
         SQLException.class,
@@ -238,6 +275,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getBigDecimal(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         BigDecimal.class,
         SQLException.class,
@@ -298,6 +339,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public boolean getBoolean(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getBoolean(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
@@ -310,6 +355,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public boolean getBoolean(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getBoolean(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
@@ -322,6 +371,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public byte getByte(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getByte(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         byte.class,
         SQLException.class,
@@ -334,6 +387,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public byte getByte(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getByte(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         byte.class,
         SQLException.class,
@@ -346,6 +403,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public byte[] getBytes(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getBytes(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         byte[].class,
         SQLException.class,
@@ -358,6 +419,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public byte[] getBytes(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getBytes(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         byte[].class,
         SQLException.class,
@@ -441,6 +506,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Date getDate(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getDate(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Date.class,
         SQLException.class,
@@ -453,6 +522,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Date getDate(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getDate(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Date.class,
         SQLException.class,
@@ -465,6 +538,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getDate(columnIndex, cal);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Date.class,
         SQLException.class,
@@ -478,6 +555,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getDate(columnLabel, cal);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Date.class,
         SQLException.class,
@@ -491,6 +572,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public double getDouble(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getDouble(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         double.class,
         SQLException.class,
@@ -503,6 +588,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public double getDouble(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getDouble(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         double.class,
         SQLException.class,
@@ -538,6 +627,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public float getFloat(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getFloat(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         float.class,
         SQLException.class,
@@ -550,6 +643,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public float getFloat(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getFloat(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         float.class,
         SQLException.class,
@@ -574,6 +671,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public int getInt(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getInt(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -586,6 +687,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public int getInt(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getInt(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -598,6 +703,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public long getLong(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getLong(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         long.class,
         SQLException.class,
@@ -610,6 +719,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public long getLong(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getLong(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         long.class,
         SQLException.class,
@@ -681,6 +794,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public String getNString(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getNString(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         String.class,
         SQLException.class,
@@ -693,6 +810,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public String getNString(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getNString(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         String.class,
         SQLException.class,
@@ -805,6 +926,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public int getRow() throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getRow();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -866,6 +991,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public short getShort(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getShort(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         short.class,
         SQLException.class,
@@ -878,6 +1007,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public short getShort(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getShort(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         short.class,
         SQLException.class,
@@ -901,6 +1034,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public String getString(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getString(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         String.class,
         SQLException.class,
@@ -913,6 +1050,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public String getString(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getString(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         String.class,
         SQLException.class,
@@ -925,6 +1066,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Time getTime(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getTime(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Time.class,
         SQLException.class,
@@ -937,6 +1082,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Time getTime(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getTime(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Time.class,
         SQLException.class,
@@ -949,6 +1098,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getTime(columnIndex, cal);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Time.class,
         SQLException.class,
@@ -962,6 +1115,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getTime(columnLabel, cal);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Time.class,
         SQLException.class,
@@ -975,6 +1132,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Timestamp getTimestamp(int columnIndex) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getTimestamp(columnIndex);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Timestamp.class,
         SQLException.class,
@@ -987,6 +1148,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Timestamp getTimestamp(String columnLabel) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getTimestamp(columnLabel);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Timestamp.class,
         SQLException.class,
@@ -999,6 +1164,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getTimestamp(columnIndex, cal);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Timestamp.class,
         SQLException.class,
@@ -1012,6 +1181,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.getTimestamp(columnLabel, cal);
+    }
+
     return WrapperUtils.executeWithPlugins(
         Timestamp.class,
         SQLException.class,
@@ -1199,6 +1372,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public boolean next() throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.next();
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
@@ -2386,6 +2563,10 @@ public class ResultSetWrapper implements ResultSet {
 
   @Override
   public boolean wasNull() throws SQLException {
+    if (this.passThrough) {
+      return this.resultSet.wasNull();
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
@@ -27,13 +27,44 @@ import software.amazon.jdbc.util.WrapperUtils;
 
 public class StatementWrapper implements Statement {
 
+  /**
+   * Statement property accessors. They are called directly on the target statement when no plugin
+   * subscribes to any of them.
+   */
+  protected static final String[] PASS_THROUGH_METHODS = {
+      "Statement.getMaxFieldSize",
+      "Statement.setMaxFieldSize",
+      "Statement.getMaxRows",
+      "Statement.setMaxRows",
+      "Statement.setEscapeProcessing",
+      "Statement.getQueryTimeout",
+      "Statement.setQueryTimeout",
+      "Statement.getUpdateCount",
+      "Statement.getFetchDirection",
+      "Statement.setFetchDirection",
+      "Statement.getFetchSize",
+      "Statement.setFetchSize",
+      "Statement.getResultSetConcurrency",
+      "Statement.getResultSetType",
+      "Statement.getResultSetHoldability",
+      "Statement.isClosed",
+      "Statement.isPoolable",
+      "Statement.setPoolable",
+      "Statement.closeOnCompletion",
+      "Statement.isCloseOnCompletion"
+  };
+
   protected Statement statement;
   protected ConnectionPluginManager pluginManager;
 
+  /** True if calls to {@link #PASS_THROUGH_METHODS} go straight to the target driver object. */
+  protected final boolean passThrough;
+
   public StatementWrapper(
       @NonNull Statement statement, @NonNull ConnectionPluginManager pluginManager) {
     this.statement = statement;
     this.pluginManager = pluginManager;
+    this.passThrough = pluginManager.canCallTargetDirectly(PASS_THROUGH_METHODS);
   }
 
   @Override
@@ -111,6 +142,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public int getMaxFieldSize() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getMaxFieldSize();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -122,6 +157,11 @@ public class StatementWrapper implements Statement {
 
   @Override
   public void setMaxFieldSize(int max) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setMaxFieldSize(max);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -133,6 +173,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public int getMaxRows() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getMaxRows();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -144,6 +188,11 @@ public class StatementWrapper implements Statement {
 
   @Override
   public void setMaxRows(int max) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setMaxRows(max);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -155,6 +204,11 @@ public class StatementWrapper implements Statement {
 
   @Override
   public void setEscapeProcessing(boolean enable) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setEscapeProcessing(enable);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -166,6 +220,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public int getQueryTimeout() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getQueryTimeout();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -177,6 +235,11 @@ public class StatementWrapper implements Statement {
 
   @Override
   public void setQueryTimeout(int seconds) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setQueryTimeout(seconds);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -292,6 +355,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public int getUpdateCount() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getUpdateCount();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -326,6 +393,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public int getFetchDirection() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getFetchDirection();
+    }
+
     //noinspection MagicConstant
     return WrapperUtils.executeWithPlugins(
         int.class,
@@ -338,6 +409,11 @@ public class StatementWrapper implements Statement {
 
   @Override
   public void setFetchDirection(int direction) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setFetchDirection(direction);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -349,6 +425,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public int getFetchSize() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getFetchSize();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -360,6 +440,11 @@ public class StatementWrapper implements Statement {
 
   @Override
   public void setFetchSize(int rows) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setFetchSize(rows);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -371,6 +456,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public int getResultSetConcurrency() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getResultSetConcurrency();
+    }
+
     //noinspection MagicConstant
     return WrapperUtils.executeWithPlugins(
         int.class,
@@ -383,6 +472,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public int getResultSetType() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getResultSetType();
+    }
+
     //noinspection MagicConstant
     return WrapperUtils.executeWithPlugins(
         int.class,
@@ -449,6 +542,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public int getResultSetHoldability() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.getResultSetHoldability();
+    }
+
     return WrapperUtils.executeWithPlugins(
         int.class,
         SQLException.class,
@@ -460,6 +557,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public boolean isClosed() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.isClosed();
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
@@ -472,6 +573,10 @@ public class StatementWrapper implements Statement {
   @SuppressWarnings("SpellCheckingInspection")
   @Override
   public boolean isPoolable() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.isPoolable();
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
@@ -484,6 +589,11 @@ public class StatementWrapper implements Statement {
   @SuppressWarnings("SpellCheckingInspection")
   @Override
   public void setPoolable(boolean poolable) throws SQLException {
+    if (this.passThrough) {
+      this.statement.setPoolable(poolable);
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -495,6 +605,11 @@ public class StatementWrapper implements Statement {
 
   @Override
   public void closeOnCompletion() throws SQLException {
+    if (this.passThrough) {
+      this.statement.closeOnCompletion();
+      return;
+    }
+
     WrapperUtils.runWithPlugins(
         SQLException.class,
         this.pluginManager,
@@ -505,6 +620,10 @@ public class StatementWrapper implements Statement {
 
   @Override
   public boolean isCloseOnCompletion() throws SQLException {
+    if (this.passThrough) {
+      return this.statement.isCloseOnCompletion();
+    }
+
     return WrapperUtils.executeWithPlugins(
         boolean.class,
         SQLException.class,
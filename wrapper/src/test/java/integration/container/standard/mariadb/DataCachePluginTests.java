@@ -66,7 +66,11 @@ public class DataCachePluginTests extends StandardMariadbBaseTest {
 
     assertFalse(resultSet.next()); // no more data
 
-    conn.createStatement().execute("update testTable set id=id*10, name=concat(\"name\", id)");
+    // Update the table through a connection without the data cache plugin, so the cached results
+    // aren't invalidated.
+    try (Connection updateConn = DriverManager.getConnection(getUrl(), initDefaultPropsNoTimeouts())) {
+      updateConn.createStatement().execute("update testTable set id=id*10, name=concat(\"name\", id)");
+    }
 
     // Actual data in the database table
     // 10, "name10"
@@ -78,15 +82,15 @@ public class DataCachePluginTests extends StandardMariadbBaseTest {
     assertTrue(testResultSet.isWrapperFor(CachedResultSet.class));
 
     // It's expected to get cached data
-    assertTrue(resultSet.next());
-    assertEquals(1, resultSet.getObject(1));
-    assertEquals("name1", resultSet.getObject(2));
-    assertTrue(resultSet.next());
-    assertEquals(2, resultSet.getObject(1));
-    assertEquals("name2", resultSet.getObject(2));
-    assertTrue(resultSet.next());
-    assertEquals(3, resultSet.getObject(1));
-    assertEquals("name3", resultSet.getObject(2));
+    assertTrue(testResultSet.next());
+    assertEquals(1, testResultSet.getObject(1));
+    assertEquals("name1", testResultSet.getObject(2));
+    assertTrue(testResultSet.next());
+    assertEquals(2, testResultSet.getObject(1));
+    assertEquals("name2", testResultSet.getObject(2));
+    assertTrue(testResultSet.next());
+    assertEquals(3, testResultSet.getObject(1));
+    assertEquals("name3", testResultSet.getObject(2));
 
     // The following SQL statement isn't in the cache so data is fetched from DB
     Statement statementFromDb = conn.createStatement();
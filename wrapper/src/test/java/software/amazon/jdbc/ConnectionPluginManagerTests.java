@@ -17,7 +17,11 @@
 package software.amazon.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -26,9 +30,18 @@ import static org.mockito.Mockito.verify;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import software.amazon.jdbc.ConnectionPluginManager.ChainGeneration;
 import software.amazon.jdbc.mock.TestPluginOne;
 import software.amazon.jdbc.mock.TestPluginThree;
 import software.amazon.jdbc.mock.TestPluginThrowException;
@@ -382,4 +395,137 @@ public class ConnectionPluginManagerTests {
     assertEquals("TestPluginOne:after", calls.get(6));
   }
 
+  @Test
+  public void testExecuteWithoutSubscribedPluginsCallsTargetDirectly() throws Exception {
+
+    ArrayList<String> calls = new ArrayList<>();
+
+    ArrayList<ConnectionPlugin> testPlugins = new ArrayList<>();
+    testPlugins.add(new TestPluginThree(calls));
+
+    Properties testProperties = new Properties();
+
+    ConnectionProvider mockConnectionProvider = mock(ConnectionProvider.class);
+
+    ConnectionWrapper mockConnectionWrapper = mock(ConnectionWrapper.class);
+
+    ConnectionPluginManager target =
+        new ConnectionPluginManager(mockConnectionProvider, testProperties, testPlugins, mockConnectionWrapper);
+
+    Object result =
+        target.execute(
+            String.class,
+            Exception.class,
+            Connection.class,
+            "testJdbcCall_B",
+            () -> {
+              calls.add("targetCall");
+              return "resulTestValue";
+            },
+            new Object[] {});
+
+    assertEquals("resulTestValue", result);
+
+    assertEquals(1, calls.size());
+    assertEquals("targetCall", calls.get(0));
+  }
+
+  @Test
+  public void testChainUpdateDoesNotWaitForLockFreeCallsOfOtherThreads() throws Exception {
+    ConnectionPluginManager target = new ConnectionPluginManager(
+        mock(ConnectionProvider.class), new Properties(), new ArrayList<>(), mock(ConnectionWrapper.class));
+    CountDownLatch callStarted = new CountDownLatch(1);
+    CountDownLatch releaseCall = new CountDownLatch(1);
+    AtomicBoolean oldConnectionReleased = new AtomicBoolean();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      Future<?> call = executor.submit(() -> {
+        ChainGeneration generation = target.tryBeginLockFreeCall();
+        assertNotNull(generation);
+        try {
+          callStarted.countDown();
+          releaseCall.await();
+        } finally {
+          target.endLockFreeCall(generation);
+        }
+        return null;
+      });
+      assertTrue(callStarted.await(5, TimeUnit.SECONDS));
+
+      executor.submit(() -> {
+        target.beginChainUpdate();
+        target.endChainUpdate();
+        target.runAfterLockFreeCalls(() -> oldConnectionReleased.set(true));
+      }).get(5, TimeUnit.SECONDS);
+      assertFalse(oldConnectionReleased.get());
+
+      releaseCall.countDown();
+      call.get(5, TimeUnit.SECONDS);
+      assertTrue(oldConnectionReleased.get());
+    } finally {
+      releaseCall.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testConcurrentLockFreeCallsCanBothSwitchConnection() throws Exception {
+    ConnectionPluginManager target = new ConnectionPluginManager(
+        mock(ConnectionProvider.class), new Properties(), new ArrayList<>(), mock(ConnectionWrapper.class));
+    PluginServiceImpl pluginService = new PluginServiceImpl(target, new Properties(), "url", "protocol");
+    Connection initialConnection = mock(Connection.class);
+    pluginService.setCurrentConnection(initialConnection, new HostSpec("initial-host"));
+    CyclicBarrier bothCallsStarted = new CyclicBarrier(2);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      List<Future<?>> failovers = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        final Connection newConnection = mock(Connection.class);
+        final HostSpec newHost = new HostSpec("new-host-" + i);
+        failovers.add(executor.submit(() -> {
+          ChainGeneration generation = target.tryBeginLockFreeCall();
+          assertNotNull(generation);
+          try {
+            bothCallsStarted.await(5, TimeUnit.SECONDS);
+            pluginService.setCurrentConnection(newConnection, newHost);
+          } finally {
+            target.endLockFreeCall(generation);
+          }
+          return null;
+        }));
+      }
+
+      for (Future<?> failover : failovers) {
+        failover.get(5, TimeUnit.SECONDS);
+      }
+      verify(initialConnection, times(1)).close();
+      assertTrue(pluginService.getCurrentHostSpec().getHost().startsWith("new-host-"));
+      assertNotNull(target.tryBeginLockFreeCall());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testLockFreeCallCanUpdateChain() {
+    ConnectionPluginManager target = new ConnectionPluginManager(
+        mock(ConnectionProvider.class), new Properties(), new ArrayList<>(), mock(ConnectionWrapper.class));
+    AtomicBoolean oldConnectionReleased = new AtomicBoolean();
+
+    ChainGeneration generation = target.tryBeginLockFreeCall();
+    assertNotNull(generation);
+    target.beginChainUpdate();
+    assertNull(target.tryBeginLockFreeCall());
+    target.endChainUpdate();
+    target.runAfterLockFreeCalls(() -> oldConnectionReleased.set(true));
+    assertFalse(oldConnectionReleased.get());
+    target.endLockFreeCall(generation);
+    assertTrue(oldConnectionReleased.get());
+
+    ChainGeneration nextGeneration = target.tryBeginLockFreeCall();
+    assertNotNull(nextGeneration);
+    target.endLockFreeCall(nextGeneration);
+  }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class HostListSnapshotTest {
+
+  @Test
+  void testUnchangedHostsKeepVersion() {
+    final HostListSnapshot snapshot = HostListSnapshot.next(null, Arrays.asList(
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.WRITER),
+        new HostSpec("hostB", HostSpec.NO_PORT, HostRole.READER)));
+
+    final HostListSnapshot sameSnapshot = HostListSnapshot.next(snapshot, Arrays.asList(
+        new HostSpec("hostB", HostSpec.NO_PORT, HostRole.READER, HostAvailability.NOT_AVAILABLE),
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.WRITER)));
+
+    assertSame(snapshot, sameSnapshot);
+    assertTrue(sameSnapshot.getChangesSince(snapshot).isEmpty());
+  }
+
+  @Test
+  void testChangesAreSharedWithPreviousVersion() {
+    final HostListSnapshot snapshot1 = HostListSnapshot.next(null, Arrays.asList(
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.WRITER),
+        new HostSpec("hostB", HostSpec.NO_PORT, HostRole.READER)));
+    final HostListSnapshot snapshot2 = HostListSnapshot.next(snapshot1, Arrays.asList(
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.READER),
+        new HostSpec("hostC", HostSpec.NO_PORT, HostRole.WRITER)));
+
+    assertNotEquals(snapshot1.getVersion(), snapshot2.getVersion());
+    final Map<String, EnumSet<NodeChangeOptions>> changes = snapshot2.getChangesSince(snapshot1);
+    assertSame(changes, snapshot2.getChangesSince(snapshot1));
+    assertEquals(3, changes.size());
+    assertEquals(
+        EnumSet.of(NodeChangeOptions.PROMOTED_TO_READER, NodeChangeOptions.NODE_CHANGED),
+        changes.get("hostA/"));
+    assertEquals(EnumSet.of(NodeChangeOptions.NODE_DELETED), changes.get("hostB/"));
+    assertEquals(EnumSet.of(NodeChangeOptions.NODE_ADDED), changes.get("hostC/"));
+  }
+
+  @Test
+  void testChangesSinceOlderVersion() {
+    final HostListSnapshot snapshot1 = HostListSnapshot.next(null, Arrays.asList(
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.WRITER)));
+    final HostListSnapshot snapshot2 = HostListSnapshot.next(snapshot1, Arrays.asList(
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.WRITER),
+        new HostSpec("hostB", HostSpec.NO_PORT, HostRole.READER)));
+    final HostListSnapshot snapshot3 = HostListSnapshot.next(snapshot2, Arrays.asList(
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.WRITER),
+        new HostSpec("hostB", HostSpec.NO_PORT, HostRole.READER),
+        new HostSpec("hostC", HostSpec.NO_PORT, HostRole.READER)));
+
+    final Map<String, EnumSet<NodeChangeOptions>> changes = snapshot3.getChangesSince(snapshot1);
+    assertEquals(2, changes.size());
+    assertEquals(EnumSet.of(NodeChangeOptions.NODE_ADDED), changes.get("hostB/"));
+    assertEquals(EnumSet.of(NodeChangeOptions.NODE_ADDED), changes.get("hostC/"));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HostStatisticsRegistryTest {
+
+  private final HostSpec fastHost = new HostSpec("fast-host", 1234, HostRole.READER);
+  private final HostSpec slowHost = new HostSpec("slow-host", 1234, HostRole.READER);
+
+  @BeforeEach
+  void setUp() {
+    HostStatisticsRegistry.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    HostStatisticsRegistry.clear();
+  }
+
+  @Test
+  void testScoreCombinesConnectTimeReplicaLagAndFailures() {
+    assertNull(HostStatisticsRegistry.getScore(fastHost));
+
+    HostStatisticsRegistry.recordConnectTime(fastHost.asAliases(), TimeUnit.MILLISECONDS.toNanos(20));
+    HostStatisticsRegistry.recordReplicaLag(fastHost.asAliases(), 30);
+    assertEquals(50, HostStatisticsRegistry.getScore(fastHost), 0.001);
+
+    HostStatisticsRegistry.recordConnectFailure(fastHost.asAliases());
+    assertEquals(
+        50 + HostStatisticsRegistry.SMOOTHING_FACTOR * HostStatisticsRegistry.FAILURE_PENALTY_MS,
+        HostStatisticsRegistry.getScore(fastHost),
+        0.001);
+  }
+
+  @Test
+  void testStatisticsAreSharedByAliases() {
+    final HostSpec host = new HostSpec("instance-1.xyz.us-east-2.rds.amazonaws.com", 1234, HostRole.READER);
+    host.addAlias("instance-1");
+    HostStatisticsRegistry.recordReplicaLag(host.asAliases(), 100);
+
+    final HostSpec sameHost = new HostSpec("instance-1", 1234, HostRole.READER);
+    sameHost.addAlias("instance-1");
+    final Double score = HostStatisticsRegistry.getScore(sameHost);
+    assertNotNull(score);
+    assertEquals(100, score, 0.001);
+  }
+
+  @Test
+  void testWeightedShufflePrefersFastHosts() {
+    HostStatisticsRegistry.recordConnectTime(fastHost.asAliases(), TimeUnit.MILLISECONDS.toNanos(5));
+    HostStatisticsRegistry.recordConnectTime(slowHost.asAliases(), TimeUnit.MILLISECONDS.toNanos(2000));
+    HostStatisticsRegistry.recordConnectFailure(slowHost.asAliases());
+
+    int fastHostFirstCount = 0;
+    for (int i = 0; i < 200; i++) {
+      final List<HostSpec> hosts = new ArrayList<>(Arrays.asList(slowHost, fastHost));
+      HostStatisticsRegistry.weightedShuffle(hosts);
+      assertEquals(2, hosts.size());
+      if (hosts.get(0) == fastHost) {
+        fastHostFirstCount++;
+      }
+    }
+    assertTrue(fastHostFirstCount > 180);
+  }
+
+  @Test
+  void testWeightedShuffleWithoutStatisticsKeepsAllHosts() {
+    final List<HostSpec> hosts = new ArrayList<>(Arrays.asList(slowHost, fastHost));
+    HostStatisticsRegistry.weightedShuffle(hosts);
+    assertTrue(hosts.contains(slowHost));
+    assertTrue(hosts.contains(fastHost));
+  }
+}
@@ -20,14 +20,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -46,7 +49,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import software.amazon.jdbc.hostlistprovider.VersionedHostListProvider;
 
 public class PluginServiceImplTests {
 
@@ -68,13 +73,19 @@ public class PluginServiceImplTests {
   void setUp() throws SQLException {
     closeable = MockitoAnnotations.openMocks(this);
     when(oldConnection.isClosed()).thenReturn(false);
+    doAnswer(invocation -> {
+      invocation.getArgument(0, Runnable.class).run();
+      return null;
+    }).when(pluginManager).runAfterLockFreeCalls(any());
     PluginServiceImpl.hostAvailabilityExpiringCache.clear();
+    HostHealthRegistry.clear();
   }
 
   @AfterEach
   void cleanUp() throws Exception {
     closeable.close();
     PluginServiceImpl.hostAvailabilityExpiringCache.clear();
+    HostHealthRegistry.clear();
   }
 
   @Test
@@ -346,6 +357,92 @@ public class PluginServiceImplTests {
     verify(pluginManager, times(0)).notifyNodeListChanged(any());
   }
 
+  @Test
+  public void testSetNodeListFromSnapshots() throws SQLException {
+    doNothing().when(pluginManager).notifyNodeListChanged(argumentChangesMap.capture());
+
+    final HostListSnapshot snapshot1 = HostListSnapshot.next(
+        null, Collections.singletonList(new HostSpec("hostA", HostSpec.NO_PORT, HostRole.WRITER)));
+    final HostListSnapshot snapshot2 = HostListSnapshot.next(snapshot1, Arrays.asList(
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.WRITER),
+        new HostSpec("hostB", HostSpec.NO_PORT, HostRole.READER)));
+
+    final HostListProvider versionedProvider = Mockito.mock(
+        HostListProvider.class, withSettings().extraInterfaces(VersionedHostListProvider.class));
+    when(versionedProvider.refresh())
+        .thenReturn(snapshot1.getHosts(), snapshot1.getHosts(), snapshot2.getHosts());
+    when(((VersionedHostListProvider) versionedProvider).getHostListSnapshot())
+        .thenReturn(snapshot1, snapshot1, snapshot2);
+
+    PluginServiceImpl target = spy(
+        new PluginServiceImpl(pluginManager, PROPERTIES, URL, DRIVER_PROTOCOL));
+    target.hostListProvider = versionedProvider;
+
+    target.refreshHostList();
+    verify(pluginManager, times(1)).notifyNodeListChanged(any());
+
+    // The same version doesn't need to be compared.
+    target.refreshHostList();
+    verify(pluginManager, times(1)).notifyNodeListChanged(any());
+
+    target.refreshHostList();
+    verify(pluginManager, times(2)).notifyNodeListChanged(any());
+    assertEquals(snapshot2.getHosts(), target.getHosts());
+    assertSame(snapshot2.getChangesSince(snapshot1), argumentChangesMap.getValue());
+    assertEquals(EnumSet.of(NodeChangeOptions.NODE_ADDED), argumentChangesMap.getValue().get("hostB/"));
+  }
+
+  @Test
+  public void testHostIsAvailableAfterReportsExpire() throws SQLException {
+    final HostListSnapshot snapshot = HostListSnapshot.next(
+        null, Collections.singletonList(new HostSpec("hostA", HostSpec.NO_PORT, HostRole.READER)));
+
+    final HostListProvider versionedProvider = Mockito.mock(
+        HostListProvider.class, withSettings().extraInterfaces(VersionedHostListProvider.class));
+    when(versionedProvider.refresh()).thenReturn(snapshot.getHosts());
+    when(((VersionedHostListProvider) versionedProvider).getHostListSnapshot()).thenReturn(snapshot);
+
+    PluginServiceImpl target = spy(
+        new PluginServiceImpl(pluginManager, PROPERTIES, URL, DRIVER_PROTOCOL));
+    target.hostListProvider = versionedProvider;
+    target.refreshHostList();
+    target.setAvailability(Collections.singleton("hostA"), HostAvailability.NOT_AVAILABLE);
+    assertEquals(HostAvailability.NOT_AVAILABLE, target.getHosts().get(0).getAvailability());
+
+    PluginServiceImpl.hostAvailabilityExpiringCache.clear();
+    HostHealthRegistry.clear();
+    // The topology is queried again and hasn't changed.
+    assertSame(snapshot, HostListSnapshot.next(
+        snapshot, Collections.singletonList(new HostSpec("hostA", HostSpec.NO_PORT, HostRole.READER))));
+    target.refreshHostList();
+
+    assertEquals(HostAvailability.AVAILABLE, target.getHosts().get(0).getAvailability());
+  }
+
+  @Test
+  public void testAvailabilityIsNotSharedThroughSnapshotHosts() throws SQLException {
+    final HostListSnapshot snapshot = HostListSnapshot.next(
+        null, Collections.singletonList(new HostSpec("hostA", HostSpec.NO_PORT, HostRole.READER)));
+
+    final HostListProvider versionedProvider = Mockito.mock(
+        HostListProvider.class, withSettings().extraInterfaces(VersionedHostListProvider.class));
+    when(versionedProvider.refresh()).thenReturn(snapshot.getHosts());
+    when(((VersionedHostListProvider) versionedProvider).getHostListSnapshot()).thenReturn(snapshot);
+
+    PluginServiceImpl target = spy(
+        new PluginServiceImpl(pluginManager, PROPERTIES, URL, DRIVER_PROTOCOL));
+    target.hostListProvider = versionedProvider;
+    target.refreshHostList();
+    target.setAvailability(Collections.singleton("hostA"), HostAvailability.NOT_AVAILABLE);
+
+    // Another connection refreshes the topology, which hasn't changed.
+    assertSame(snapshot, HostListSnapshot.next(
+        snapshot, Collections.singletonList(new HostSpec("hostA", HostSpec.NO_PORT, HostRole.READER))));
+
+    assertEquals(HostAvailability.AVAILABLE, snapshot.getHosts().get(0).getAvailability());
+    assertEquals(HostAvailability.NOT_AVAILABLE, target.getHosts().get(0).getAvailability());
+  }
+
   @Test
   public void testNodeAvailabilityNotChanged() {
     doNothing().when(pluginManager).notifyNodeListChanged(argumentChangesMap.capture());
@@ -551,4 +648,30 @@ public class PluginServiceImplTests {
     target.forceRefreshHostList(newConnection);
     assertEquals(expectedHostSpecs2, newHostSpecs);
   }
+
+  @Test
+  void testRefreshHostList_withHostHealthReportedByOtherConnection() throws SQLException {
+    final List<HostSpec> newHostSpecs = Arrays.asList(
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.READER, HostAvailability.AVAILABLE),
+        new HostSpec("hostB", HostSpec.NO_PORT, HostRole.READER, HostAvailability.AVAILABLE)
+    );
+    final List<HostSpec> expectedHostSpecs = Arrays.asList(
+        new HostSpec("hostA", HostSpec.NO_PORT, HostRole.READER, HostAvailability.NOT_AVAILABLE),
+        new HostSpec("hostB", HostSpec.NO_PORT, HostRole.READER, HostAvailability.AVAILABLE));
+
+    // The reporting connection doesn't have hostA in its host list.
+    final PluginServiceImpl otherConnectionService =
+        new PluginServiceImpl(pluginManager, PROPERTIES, URL, DRIVER_PROTOCOL);
+    otherConnectionService.setAvailability(
+        new HashSet<>(Collections.singletonList("hostA")), HostAvailability.NOT_AVAILABLE);
+    when(hostListProvider.refresh()).thenReturn(newHostSpecs);
+
+    PluginServiceImpl target = spy(
+        new PluginServiceImpl(pluginManager, PROPERTIES, URL, DRIVER_PROTOCOL));
+    when(target.getHostListProvider()).thenReturn(hostListProvider);
+
+    target.refreshHostList();
+    assertEquals(expectedHostSpecs, newHostSpecs);
+    assertEquals(HostAvailability.NOT_AVAILABLE, HostHealthRegistry.getAvailability(newHostSpecs.get(0)));
+  }
 }
@@ -44,6 +44,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -52,6 +57,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import software.amazon.jdbc.ConnectionProvider;
 import software.amazon.jdbc.HostListProviderService;
 import software.amazon.jdbc.HostRole;
 import software.amazon.jdbc.HostSpec;
@@ -168,6 +174,191 @@ class AuroraHostListProviderTest {
     assertEquals(new ArrayList<>(), result.hosts);
   }
 
+  @Test
+  void testGetTopology_concurrentRefreshesShareOneQuery() throws Exception {
+    final AuroraHostListProvider provider1 = Mockito.spy(
+        new AuroraHostListProvider("", mockHostListProviderService, new Properties(), "url"));
+    final AuroraHostListProvider provider2 = Mockito.spy(
+        new AuroraHostListProvider("", mockHostListProviderService, new Properties(), "url"));
+    auroraHostListProvider = provider1;
+    provider1.clusterId = "cluster-1";
+    provider2.clusterId = "cluster-1";
+
+    final ClusterTopologyInfo oldTopology = new ClusterTopologyInfo(
+        "cluster-1", hosts, Instant.now().minus(1, ChronoUnit.HOURS), false, false);
+    AuroraHostListProvider.topologyCache.put("cluster-1", oldTopology);
+
+    final List<HostSpec> newHosts = Collections.singletonList(new HostSpec("newHost"));
+    final ClusterTopologyInfo newTopology = new ClusterTopologyInfo(
+        "cluster-1", newHosts, Instant.now(), false, false);
+    final CountDownLatch queryStarted = new CountDownLatch(1);
+    final CountDownLatch releaseQuery = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      queryStarted.countDown();
+      releaseQuery.await();
+      return newTopology;
+    }).when(provider1).queryForTopology(mockConnection);
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<FetchTopologyResult> result1 = executor.submit(() -> provider1.getTopology(mockConnection, false));
+      assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+      final Thread releaseThread = new Thread(() -> {
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        releaseQuery.countDown();
+      });
+      releaseThread.start();
+      final FetchTopologyResult result2 = provider2.getTopology(mockConnection, false);
+
+      assertEquals(newHosts, result1.get(5, TimeUnit.SECONDS).hosts);
+      assertEquals(newHosts, result2.hosts);
+      verify(provider2, never()).queryForTopology(any());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testGetTopology_servesStaleTopologyWhileRefreshing() throws Exception {
+    final AuroraHostListProvider provider1 = Mockito.spy(
+        new AuroraHostListProvider("", mockHostListProviderService, new Properties(), "url"));
+    final AuroraHostListProvider provider2 = Mockito.spy(
+        new AuroraHostListProvider("", mockHostListProviderService, new Properties(), "url"));
+    auroraHostListProvider = provider1;
+    provider1.clusterId = "cluster-1";
+    provider2.clusterId = "cluster-1";
+    provider2.serveStaleTopology = true;
+
+    final ClusterTopologyInfo oldTopology = new ClusterTopologyInfo(
+        "cluster-1", hosts, Instant.now().minus(1, ChronoUnit.HOURS), false, false);
+    AuroraHostListProvider.topologyCache.put("cluster-1", oldTopology);
+
+    final ClusterTopologyInfo newTopology = new ClusterTopologyInfo(
+        "cluster-1", Collections.singletonList(new HostSpec("newHost")), Instant.now(), false, false);
+    final CountDownLatch queryStarted = new CountDownLatch(1);
+    final CountDownLatch releaseQuery = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      queryStarted.countDown();
+      releaseQuery.await();
+      return newTopology;
+    }).when(provider1).queryForTopology(mockConnection);
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<FetchTopologyResult> result1 = executor.submit(() -> provider1.getTopology(mockConnection, false));
+      assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+      final FetchTopologyResult result2 = provider2.getTopology(mockConnection, false);
+      assertTrue(result2.isCachedData);
+      assertEquals(hosts, result2.hosts);
+      verify(provider2, never()).queryForTopology(any());
+
+      releaseQuery.countDown();
+      assertEquals(newTopology.hosts, result1.get(5, TimeUnit.SECONDS).hosts);
+    } finally {
+      releaseQuery.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testGetTopology_queriesWhenBackgroundRefresherIsFailing() throws SQLException {
+    auroraHostListProvider = Mockito.spy(
+        new AuroraHostListProvider("", mockHostListProviderService, new Properties(), "url"));
+    auroraHostListProvider.clusterId = "cluster-1";
+    auroraHostListProvider.useBackgroundRefresh = true;
+
+    final ClusterTopologyInfo oldTopology = new ClusterTopologyInfo(
+        "cluster-1", hosts, Instant.now().minus(1, ChronoUnit.HOURS), false, false);
+    AuroraHostListProvider.topologyCache.put("cluster-1", oldTopology);
+
+    // The refresher is registered, but can't connect.
+    final AuroraHostListProvider refresherProvider = Mockito.mock(AuroraHostListProvider.class);
+    final ConnectionProvider failingConnectionProvider =
+        Mockito.mock(ConnectionProvider.class);
+    when(failingConnectionProvider.connect(anyString(), any(HostSpec.class), any(Properties.class)))
+        .thenThrow(new SQLException("exception", "08S01"));
+    ClusterTopologyRefresher.startIfAbsent(
+        "cluster-1", () -> refresherProvider, failingConnectionProvider, "protocol", currentHostSpec, new Properties());
+    assertTrue(ClusterTopologyRefresher.isRunning("cluster-1"));
+
+    final List<HostSpec> newHosts = Collections.singletonList(new HostSpec("newHost"));
+    doReturn(new ClusterTopologyInfo("cluster-1", newHosts, Instant.now(), false, false))
+        .when(auroraHostListProvider).queryForTopology(mockConnection);
+
+    final FetchTopologyResult result = auroraHostListProvider.getTopology(mockConnection, false);
+    assertFalse(result.isCachedData);
+    assertEquals(newHosts, result.hosts);
+  }
+
+  @Test
+  void testRefresh_withoutConnectionProviderDoesNotStartBackgroundRefresh() throws SQLException {
+    auroraHostListProvider = Mockito.spy(
+        new AuroraHostListProvider("", mockPluginService, new Properties(), "url"));
+    auroraHostListProvider.isInitialized = true;
+    auroraHostListProvider.clusterId = "cluster-2";
+    auroraHostListProvider.useBackgroundRefresh = true;
+    when(mockPluginService.getConnectionProvider()).thenReturn(null);
+    AuroraHostListProvider.topologyCache.put(
+        "cluster-2", new ClusterTopologyInfo("cluster-2", hosts, Instant.now(), false, false));
+
+    assertEquals(hosts.size(), auroraHostListProvider.refresh(mockConnection).size());
+    assertFalse(ClusterTopologyRefresher.isRunning("cluster-2"));
+    assertFalse(auroraHostListProvider.useBackgroundRefresh);
+  }
+
+  @Test
+  void testGetRefreshRateMs_speedsUpWhileTopologyChanges() throws SQLException {
+    auroraHostListProvider = Mockito.spy(
+        new AuroraHostListProvider("", mockHostListProviderService, new Properties(), "url"));
+    auroraHostListProvider.clusterId = "cluster-1";
+    final int defaultRefreshRateMs =
+        Integer.parseInt(AuroraHostListProvider.CLUSTER_TOPOLOGY_REFRESH_RATE_MS.defaultValue);
+    final int highRefreshRateMs =
+        Integer.parseInt(AuroraHostListProvider.CLUSTER_TOPOLOGY_HIGH_REFRESH_RATE_MS.defaultValue);
+
+    final ClusterTopologyInfo topology = new ClusterTopologyInfo(
+        "cluster-1", hosts, Instant.now().minus(1, ChronoUnit.HOURS), false, false);
+    AuroraHostListProvider.topologyCache.put("cluster-1", topology);
+    assertEquals(defaultRefreshRateMs, auroraHostListProvider.getRefreshRateMs());
+
+    // The same topology again is not a change.
+    doReturn(new ClusterTopologyInfo("cluster-1", hosts, Instant.now(), false, false))
+        .when(auroraHostListProvider).queryForTopology(mockConnection);
+    auroraHostListProvider.getTopology(mockConnection, true);
+    assertEquals(defaultRefreshRateMs, auroraHostListProvider.getRefreshRateMs());
+
+    // A new host is.
+    final List<HostSpec> newHosts = new ArrayList<>(hosts);
+    newHosts.add(new HostSpec("host3"));
+    doReturn(new ClusterTopologyInfo("cluster-1", newHosts, Instant.now(), false, false))
+        .when(auroraHostListProvider).queryForTopology(mockConnection);
+    auroraHostListProvider.getTopology(mockConnection, true);
+    assertEquals(highRefreshRateMs, auroraHostListProvider.getRefreshRateMs());
+  }
+
+  @Test
+  void testOnTopologyChangeSuspected_speedsUpRefreshRate() {
+    auroraHostListProvider = new AuroraHostListProvider("", mockHostListProviderService, new Properties(), "url");
+    auroraHostListProvider.clusterId = "cluster-1";
+    final ClusterTopologyInfo topology = new ClusterTopologyInfo(
+        "cluster-1", hosts, Instant.now(), false, false);
+    AuroraHostListProvider.topologyCache.put("cluster-1", topology);
+
+    auroraHostListProvider.onTopologyChangeSuspected();
+
+    assertEquals(
+        Integer.parseInt(AuroraHostListProvider.CLUSTER_TOPOLOGY_HIGH_REFRESH_RATE_MS.defaultValue),
+        auroraHostListProvider.getRefreshRateMs());
+    assertTrue(topology.isChangeSuspected(TimeUnit.SECONDS.toNanos(30)));
+    assertFalse(topology.isChangeSuspected(0));
+  }
+
   @Test
   void testQueryForTopology_withDifferentDriverProtocol() throws SQLException {
     final List<HostSpec> expectedMySQL = Collections.singletonList(new HostSpec("mysql"));
@@ -445,4 +636,77 @@ class AuroraHostListProviderTest {
 
     //AuroraHostListProvider.logCache();
   }
+
+  @Test
+  void testTopologyCache_NoSuggestionAfterClusterCleared() throws SQLException {
+    AuroraHostListProvider.topologyCache.clear();
+
+    AuroraHostListProvider provider1 = Mockito.spy(new AuroraHostListProvider(
+        "jdbc:something://",
+        Mockito.spy(HostListProviderService.class),
+        new Properties(),
+        "jdbc:something://cluster-a.cluster-xyz.us-east-2.rds.amazonaws.com/"));
+    provider1.init();
+    final List<HostSpec> topologyClusterA = Arrays.asList(
+        new HostSpec("instance-a-1.xyz.us-east-2.rds.amazonaws.com", HostSpec.NO_PORT, HostRole.WRITER),
+        new HostSpec("instance-a-2.xyz.us-east-2.rds.amazonaws.com", HostSpec.NO_PORT, HostRole.READER));
+
+    doReturn(new ClusterTopologyInfo(
+        provider1.clusterId,
+        topologyClusterA,
+        Instant.now(),
+        false,
+        provider1.isPrimaryClusterId)).when(provider1).queryForTopology(any(Connection.class));
+    provider1.refresh(Mockito.mock(Connection.class));
+    provider1.clear();
+
+    AuroraHostListProvider provider2 = Mockito.spy(new AuroraHostListProvider(
+        "jdbc:something://",
+        Mockito.spy(HostListProviderService.class),
+        new Properties(),
+        "jdbc:something://instance-a-2.xyz.us-east-2.rds.amazonaws.com/"));
+    provider2.init();
+
+    assertNotEquals(provider1.clusterId, provider2.clusterId);
+    assertFalse(provider2.isPrimaryClusterId);
+  }
+
+  @Test
+  void testTopologyCache_SuggestionKeptWhenEvictionInterleavesWithPut() throws SQLException {
+    AuroraHostListProvider.topologyCache.clear();
+
+    AuroraHostListProvider provider1 = Mockito.spy(new AuroraHostListProvider(
+        "jdbc:something://",
+        Mockito.spy(HostListProviderService.class),
+        new Properties(),
+        "jdbc:something://cluster-a.cluster-xyz.us-east-2.rds.amazonaws.com/"));
+    provider1.init();
+    final List<HostSpec> topologyClusterA = Arrays.asList(
+        new HostSpec("instance-a-1.xyz.us-east-2.rds.amazonaws.com", HostSpec.NO_PORT, HostRole.WRITER),
+        new HostSpec("instance-a-2.xyz.us-east-2.rds.amazonaws.com", HostSpec.NO_PORT, HostRole.READER));
+
+    doAnswer(invocation -> new ClusterTopologyInfo(
+        provider1.clusterId,
+        topologyClusterA,
+        Instant.now(),
+        false,
+        provider1.isPrimaryClusterId)).when(provider1).queryForTopology(any(Connection.class));
+    provider1.refresh(Mockito.mock(Connection.class));
+
+    // The entry expires and is removed, the cluster is cached again, and only then does the
+    // eviction callback of the expired entry run.
+    final ClusterTopologyInfo expiredEntry = AuroraHostListProvider.topologyCache.remove(provider1.clusterId);
+    provider1.refresh(Mockito.mock(Connection.class));
+    AuroraHostListProvider.onTopologyEvicted(expiredEntry);
+
+    AuroraHostListProvider provider2 = Mockito.spy(new AuroraHostListProvider(
+        "jdbc:something://",
+        Mockito.spy(HostListProviderService.class),
+        new Properties(),
+        "jdbc:something://instance-a-2.xyz.us-east-2.rds.amazonaws.com/"));
+    provider2.init();
+
+    assertEquals(provider1.clusterId, provider2.clusterId);
+    assertTrue(provider2.isPrimaryClusterId);
+  }
 }
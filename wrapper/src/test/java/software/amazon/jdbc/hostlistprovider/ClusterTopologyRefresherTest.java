@@ -0,0 +1,125 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.hostlistprovider;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.jdbc.ConnectionProvider;
+import software.amazon.jdbc.HostSpec;
+import software.amazon.jdbc.PropertyDefinition;
+import software.amazon.jdbc.hostlistprovider.AuroraHostListProvider.FetchTopologyResult;
+
+class ClusterTopologyRefresherTest {
+
+  @Mock private AuroraHostListProvider mockHostListProvider;
+  @Mock private ConnectionProvider mockConnectionProvider;
+  @Mock private Connection mockConnection;
+
+  private static final String PROTOCOL = "jdbc:postgresql://";
+  private final HostSpec hostSpec = new HostSpec("my-cluster.cluster-xyz.us-east-2.rds.amazonaws.com", 5432);
+  private final List<HostSpec> topology = Collections.singletonList(hostSpec);
+  private AutoCloseable closeable;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    closeable = MockitoAnnotations.openMocks(this);
+    when(mockConnectionProvider.connect(anyString(), any(HostSpec.class), any(Properties.class)))
+        .thenReturn(mockConnection);
+    when(mockHostListProvider.getRefreshRateMs()).thenReturn(50);
+    when(mockHostListProvider.getCachedTopology()).thenReturn(topology);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    ClusterTopologyRefresher.stopAll();
+    closeable.close();
+  }
+
+  @Test
+  void testRefresherQueriesTopologyInBackground() throws SQLException {
+    when(mockHostListProvider.getTopology(mockConnection, true)).thenReturn(new FetchTopologyResult(false, topology));
+    ClusterTopologyRefresher.startIfAbsent(
+        "cluster-1", () -> mockHostListProvider, mockConnectionProvider, PROTOCOL, hostSpec, new Properties());
+    assertTrue(ClusterTopologyRefresher.isRunning("cluster-1"));
+
+    verify(mockHostListProvider, timeout(5000).atLeast(2)).getTopology(mockConnection, true);
+    assertTrue(ClusterTopologyRefresher.isUpToDate("cluster-1", TimeUnit.MINUTES.toNanos(1)));
+    // The connection is reused between refreshes.
+    verify(mockConnectionProvider, times(1)).connect(anyString(), any(HostSpec.class), any(Properties.class));
+
+    ClusterTopologyRefresher.stopAll();
+    assertFalse(ClusterTopologyRefresher.isRunning("cluster-1"));
+    verify(mockConnection, timeout(5000)).close();
+  }
+
+  @Test
+  void testRefresherReconnectsAfterFailure() throws SQLException {
+    when(mockHostListProvider.getTopology(mockConnection, true))
+        .thenThrow(new SQLException("exception", "08S01"))
+        .thenReturn(null);
+
+    final Properties props = new Properties();
+    PropertyDefinition.PASSWORD.set(props, "token-1");
+    final ClusterTopologyRefresher refresher = new ClusterTopologyRefresher(
+        "cluster-2", mockHostListProvider, mockConnectionProvider, PROTOCOL, hostSpec, props);
+    refresher.refresh();
+
+    // A newer connection brings a new token, which is used when the refresher reconnects.
+    final Properties newProps = new Properties();
+    PropertyDefinition.PASSWORD.set(newProps, "token-2");
+    refresher.setProperties(newProps);
+    refresher.refresh();
+
+    verify(mockConnection, times(1)).close();
+    verify(mockConnectionProvider, times(1)).connect(
+        anyString(), any(HostSpec.class), argThat(p -> "token-1".equals(p.getProperty("password"))));
+    verify(mockConnectionProvider, times(1)).connect(
+        anyString(), any(HostSpec.class), argThat(p -> "token-2".equals(p.getProperty("password"))));
+  }
+
+  @Test
+  void testRefresherIsNotUpToDateWhileRefreshesFail() throws SQLException {
+    when(mockHostListProvider.getTopology(mockConnection, true))
+        .thenThrow(new SQLException("exception", "08S01"));
+
+    ClusterTopologyRefresher.startIfAbsent(
+        "cluster-3", () -> mockHostListProvider, mockConnectionProvider, PROTOCOL, hostSpec, new Properties());
+
+    verify(mockHostListProvider, timeout(5000).atLeast(2)).getTopology(mockConnection, true);
+    assertTrue(ClusterTopologyRefresher.isRunning("cluster-3"));
+    assertFalse(ClusterTopologyRefresher.isUpToDate("cluster-3", TimeUnit.MINUTES.toNanos(1)));
+  }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.jdbc.plugin.DataCacheConnectionPlugin.CachedResultSet;
+
+class DataCacheConnectionPluginTest {
+
+  @Mock ResultSet mockResultSet;
+  @Mock ResultSetMetaData mockMetaData;
+  @Mock Connection mockConnection;
+  @Mock PreparedStatement mockPreparedStatement;
+  @Mock Statement mockStatement;
+
+  private AutoCloseable closeable;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    closeable = MockitoAnnotations.openMocks(this);
+
+    when(mockResultSet.getMetaData()).thenReturn(mockMetaData);
+    when(mockMetaData.getColumnCount()).thenReturn(3);
+    when(mockMetaData.getColumnLabel(1)).thenReturn("id");
+    when(mockMetaData.getColumnName(1)).thenReturn("id");
+    when(mockMetaData.getColumnLabel(2)).thenReturn("name");
+    when(mockMetaData.getColumnName(2)).thenReturn("name");
+    when(mockMetaData.getColumnLabel(3)).thenReturn("price");
+    when(mockMetaData.getColumnName(3)).thenReturn("price");
+
+    when(mockResultSet.next()).thenReturn(true, true, true, false);
+    when(mockResultSet.getObject(1)).thenReturn(1, 2, 3);
+    when(mockResultSet.getObject(2)).thenReturn("red", null, "red");
+    when(mockResultSet.getObject(3)).thenReturn(1.5d, "n/a", null);
+    when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+  }
+
+  @AfterEach
+  void cleanUp() throws Exception {
+    closeable.close();
+  }
+
+  @Test
+  void testCachedResultSetKeepsColumnsInTypedStorage() throws SQLException {
+    final CachedResultSet cachedResultSet = new CachedResultSet(mockResultSet);
+
+    assertInstanceOf(CachedColumn.IntColumn.class, cachedResultSet.getData().getColumn(1));
+    assertInstanceOf(CachedColumn.DictionaryColumn.class, cachedResultSet.getData().getColumn(2));
+    assertInstanceOf(CachedColumn.ObjectColumn.class, cachedResultSet.getData().getColumn(3));
+    assertTrue(cachedResultSet.getData().getEstimatedSize() > 0);
+  }
+
+  @Test
+  void testCachedResultSetGetters() throws SQLException {
+    final CachedResultSet cachedResultSet = new CachedResultSet(mockResultSet);
+
+    assertTrue(cachedResultSet.next());
+    assertEquals(1, cachedResultSet.getInt(1));
+    assertEquals(1L, cachedResultSet.getLong("id"));
+    assertEquals(1, cachedResultSet.getObject("ID"));
+    assertEquals("red", cachedResultSet.getString(2));
+    assertEquals(1.5d, cachedResultSet.getDouble("price"));
+    assertFalse(cachedResultSet.wasNull());
+
+    assertTrue(cachedResultSet.next());
+    assertNull(cachedResultSet.getString("name"));
+    assertTrue(cachedResultSet.wasNull());
+    assertThrows(SQLException.class, () -> cachedResultSet.getDouble("price"));
+
+    assertTrue(cachedResultSet.next());
+    assertEquals(3, cachedResultSet.getObject(1));
+    assertEquals("red", cachedResultSet.getObject(2));
+    assertEquals(0, cachedResultSet.getDouble(3));
+    assertTrue(cachedResultSet.wasNull());
+
+    assertFalse(cachedResultSet.next());
+    assertEquals(3, cachedResultSet.findColumn("price"));
+    assertThrows(SQLException.class, () -> cachedResultSet.findColumn("missing"));
+  }
+
+  @Test
+  void testCursorsOverCachedDataAreIndependent() throws SQLException {
+    final CachedResultData data = new CachedResultData(mockResultSet);
+    final CachedResultSet first = new CachedResultSet(data);
+    final CachedResultSet second = new CachedResultSet(data);
+
+    assertTrue(first.next());
+    assertTrue(first.next());
+    first.close();
+
+    assertTrue(first.isClosed());
+    assertFalse(second.isClosed());
+    assertTrue(second.next());
+    assertEquals(1, second.getInt(1));
+  }
+
+  @Test
+  void testPreparedStatementResultsAreCachedByParameters() throws SQLException {
+    DataCacheConnectionPlugin.clearCache();
+    final Properties props = new Properties();
+    props.setProperty(DataCacheConnectionPlugin.DATA_CACHE_TRIGGER_CONDITION.name, ".*testTable.*");
+    final DataCacheConnectionPlugin plugin = new DataCacheConnectionPlugin(props);
+    final String sql = "select id, name, price from testTable where id = ?";
+
+    plugin.execute(PreparedStatement.class, SQLException.class, mockConnection, "Connection.prepareStatement",
+        () -> mockPreparedStatement, new Object[] {sql});
+
+    plugin.execute(void.class, SQLException.class, mockPreparedStatement, "PreparedStatement.setInt",
+        () -> null, new Object[] {1, 1});
+    final ResultSet first = executeQuery(plugin);
+    final ResultSet firstAgain = executeQuery(plugin);
+
+    plugin.execute(void.class, SQLException.class, mockPreparedStatement, "PreparedStatement.setLong",
+        () -> null, new Object[] {1, 1L});
+    executeQuery(plugin);
+
+    assertInstanceOf(CachedResultSet.class, first);
+    assertInstanceOf(CachedResultSet.class, firstAgain);
+    assertSame(((CachedResultSet) first).getData(), ((CachedResultSet) firstAgain).getData());
+    verify(mockPreparedStatement, times(2)).executeQuery();
+    assertEquals(2, DataCacheConnectionPlugin.getCache().size());
+  }
+
+  @Test
+  void testConcurrentMissesRunQueryOnce() throws Exception {
+    DataCacheConnectionPlugin.clearCache();
+    final Properties props = new Properties();
+    props.setProperty(DataCacheConnectionPlugin.DATA_CACHE_TRIGGER_CONDITION.name, ".*testTable.*");
+    final DataCacheConnectionPlugin plugin = new DataCacheConnectionPlugin(props);
+    final String sql = "select id, name, price from testTable";
+    final CountDownLatch queryStarted = new CountDownLatch(1);
+    final CountDownLatch releaseQuery = new CountDownLatch(1);
+    final AtomicInteger queryCount = new AtomicInteger();
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      final Future<ResultSet> loader = executor.submit(() -> plugin.execute(ResultSet.class, SQLException.class,
+          mockStatement, "Statement.executeQuery", () -> {
+            queryCount.incrementAndGet();
+            queryStarted.countDown();
+            try {
+              releaseQuery.await();
+            } catch (InterruptedException ex) {
+              throw new SQLException(ex);
+            }
+            return mockResultSet;
+          }, new Object[] {sql}));
+      assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+      final Future<ResultSet> waiter = executor.submit(() -> plugin.execute(ResultSet.class, SQLException.class,
+          mockStatement, "Statement.executeQuery", () -> {
+            queryCount.incrementAndGet();
+            return mockResultSet;
+          }, new Object[] {sql}));
+      awaitWaitingCaller(sql);
+      releaseQuery.countDown();
+
+      final ResultSet loaded = loader.get(5, TimeUnit.SECONDS);
+      final ResultSet waited = waiter.get(5, TimeUnit.SECONDS);
+      assertEquals(1, queryCount.get());
+      assertSame(((CachedResultSet) loaded).getData(), ((CachedResultSet) waited).getData());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testWaitingCallerRunsQueryAfterLoadWaitTime() throws Exception {
+    DataCacheConnectionPlugin.clearCache();
+    final Properties props = new Properties();
+    props.setProperty(DataCacheConnectionPlugin.DATA_CACHE_TRIGGER_CONDITION.name, ".*testTable.*");
+    props.setProperty(DataCacheConnectionPlugin.DATA_CACHE_LOAD_WAIT_TIME_MS.name, "100");
+    final DataCacheConnectionPlugin plugin = new DataCacheConnectionPlugin(props);
+    final String sql = "select id, name, price from testTable";
+    final CountDownLatch queryStarted = new CountDownLatch(1);
+    final CountDownLatch releaseQuery = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      final Future<ResultSet> loader = executor.submit(() -> plugin.execute(ResultSet.class, SQLException.class,
+          mockStatement, "Statement.executeQuery", () -> {
+            queryStarted.countDown();
+            try {
+              releaseQuery.await();
+            } catch (InterruptedException ex) {
+              throw new SQLException(ex);
+            }
+            return mockResultSet;
+          }, new Object[] {sql}));
+      assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+      final ResultSet direct = plugin.execute(ResultSet.class, SQLException.class, mockStatement,
+          "Statement.executeQuery", () -> mockResultSet, new Object[] {sql});
+      assertSame(mockResultSet, direct);
+
+      releaseQuery.countDown();
+      assertInstanceOf(CachedResultSet.class, loader.get(5, TimeUnit.SECONDS));
+    } finally {
+      releaseQuery.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testWritesInvalidateResultsOfTablesTheyTouch() throws SQLException {
+    DataCacheConnectionPlugin.clearCache();
+    final Properties props = new Properties();
+    props.setProperty(DataCacheConnectionPlugin.DATA_CACHE_TRIGGER_CONDITION.name, ".*Table.*");
+    final DataCacheConnectionPlugin plugin = new DataCacheConnectionPlugin(props);
+    when(mockStatement.executeQuery("select * from testTable")).thenReturn(mockResultSet);
+    when(mockStatement.executeQuery("select * from otherTable")).thenReturn(mockResultSet);
+
+    executeStatementQuery(plugin, "select * from testTable");
+    executeStatementQuery(plugin, "select * from otherTable");
+    assertEquals(2, DataCacheConnectionPlugin.getCache().size());
+
+    plugin.execute(int.class, SQLException.class, mockStatement, "Statement.executeUpdate",
+        () -> 1, new Object[] {"update testTable set name = 'blue'"});
+    assertEquals(1, DataCacheConnectionPlugin.getCache().size());
+
+    plugin.execute(PreparedStatement.class, SQLException.class, mockConnection, "Connection.prepareStatement",
+        () -> mockPreparedStatement, new Object[] {"delete from otherTable where id = ?"});
+    plugin.execute(int.class, SQLException.class, mockPreparedStatement, "PreparedStatement.executeUpdate",
+        () -> 1, new Object[0]);
+    assertEquals(0, DataCacheConnectionPlugin.getCache().size());
+  }
+
+  @Test
+  void testCallableAndUnknownStatementsInvalidateAllResults() throws SQLException {
+    DataCacheConnectionPlugin.clearCache();
+    final Properties props = new Properties();
+    props.setProperty(DataCacheConnectionPlugin.DATA_CACHE_TRIGGER_CONDITION.name, ".*Table.*");
+    final DataCacheConnectionPlugin plugin = new DataCacheConnectionPlugin(props);
+    when(mockStatement.executeQuery("select * from testTable")).thenReturn(mockResultSet);
+    final CallableStatement mockCallableStatement = mock(CallableStatement.class);
+
+    executeStatementQuery(plugin, "select * from testTable");
+    plugin.execute(CallableStatement.class, SQLException.class, mockConnection, "Connection.prepareCall",
+        () -> mockCallableStatement, new Object[] {"{call update_prices(?)}"});
+    plugin.execute(int.class, SQLException.class, mockCallableStatement, "CallableStatement.executeUpdate",
+        () -> 1, new Object[0]);
+    assertEquals(0, DataCacheConnectionPlugin.getCache().size());
+
+    executeStatementQuery(plugin, "select * from testTable");
+    plugin.execute(int.class, SQLException.class, mockPreparedStatement, "PreparedStatement.executeUpdate",
+        () -> 1, new Object[0]);
+    assertEquals(0, DataCacheConnectionPlugin.getCache().size());
+  }
+
+  /** Waits until a caller is blocked on the results being loaded for the given query. */
+  private void awaitWaitingCaller(final String cacheKey) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (DataCacheConnectionPlugin.pendingLoads.get(cacheKey).getNumberOfDependents() == 0) {
+      assertTrue(System.nanoTime() < deadline);
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+  }
+
+  private void executeStatementQuery(final DataCacheConnectionPlugin plugin, final String sql)
+      throws SQLException {
+    plugin.execute(ResultSet.class, SQLException.class, mockStatement, "Statement.executeQuery",
+        () -> mockStatement.executeQuery(sql), new Object[] {sql});
+  }
+
+  private ResultSet executeQuery(final DataCacheConnectionPlugin plugin) throws SQLException {
+    return plugin.execute(ResultSet.class, SQLException.class, mockPreparedStatement,
+        "PreparedStatement.executeQuery", () -> mockPreparedStatement.executeQuery(), new Object[0]);
+  }
+}
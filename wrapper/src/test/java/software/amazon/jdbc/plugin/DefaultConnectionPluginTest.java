@@ -17,22 +17,35 @@
 package software.amazon.jdbc.plugin;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import software.amazon.jdbc.ConnectionProvider;
+import software.amazon.jdbc.HostAvailability;
+import software.amazon.jdbc.HostHealthRegistry;
+import software.amazon.jdbc.HostSpec;
 import software.amazon.jdbc.PluginManagerService;
 import software.amazon.jdbc.PluginService;
+import software.amazon.jdbc.util.SqlState;
 
 class DefaultConnectionPluginTest {
 
@@ -48,11 +61,32 @@ class DefaultConnectionPluginTest {
   void setUp() {
     closeable = MockitoAnnotations.openMocks(this);
     plugin = new DefaultConnectionPlugin(pluginService, connectionProvider, pluginManagerService);
+    HostHealthRegistry.clear();
   }
 
   @AfterEach
   void cleanUp() throws Exception {
     closeable.close();
+    HostHealthRegistry.clear();
+  }
+
+  @Test
+  void testInitialConnectionToReportedInstanceFailsFast() throws SQLException {
+    final HostSpec instance = new HostSpec("instance-test-name.XYZ.us-east-2.rds.amazonaws.com");
+    final HostSpec cluster = new HostSpec("database-test-name.cluster-XYZ.us-east-2.rds.amazonaws.com");
+    HostHealthRegistry.setAvailability(instance.asAliases(), HostAvailability.NOT_AVAILABLE);
+    HostHealthRegistry.setAvailability(cluster.asAliases(), HostAvailability.NOT_AVAILABLE);
+
+    final SQLException exception = assertThrows(
+        SQLException.class,
+        () -> plugin.connect("jdbc:postgresql://", instance, new Properties(), true, null));
+    assertTrue(SqlState.isConnectionError(exception));
+    verify(connectionProvider, never()).connect(any(), eq(instance), any());
+
+    plugin.connect("jdbc:postgresql://", instance, new Properties(), false, null);
+    verify(connectionProvider).connect(any(), eq(instance), any());
+    plugin.connect("jdbc:postgresql://", cluster, new Properties(), true, null);
+    verify(connectionProvider).connect(any(), eq(cluster), any());
   }
 
   @ParameterizedTest
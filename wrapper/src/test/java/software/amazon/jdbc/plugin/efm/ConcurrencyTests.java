@@ -52,6 +52,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import software.amazon.jdbc.ConnectionPlugin;
+import software.amazon.jdbc.ConnectionProvider;
 import software.amazon.jdbc.HostAvailability;
 import software.amazon.jdbc.HostListProvider;
 import software.amazon.jdbc.HostSpec;
@@ -329,6 +330,11 @@ public class ConcurrencyTests {
     public Connection connect(HostSpec hostSpec, Properties props) throws SQLException {
       return new TestConnection();
     }
+
+    @Override
+    public ConnectionProvider getConnectionProvider() {
+      return null;
+    }
   }
 
   public static class TestConnection implements Connection {
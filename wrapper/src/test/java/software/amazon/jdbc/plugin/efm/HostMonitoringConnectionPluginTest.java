@@ -16,7 +16,9 @@
 
 package software.amazon.jdbc.plugin.efm;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.any;
@@ -193,4 +195,58 @@ class HostMonitoringConnectionPluginTest {
     verify(monitorService, times(1)).stopMonitoring(context);
     verify(sqlFunction, times(1)).call();
   }
+
+  @Test
+  void test_5_executeReusesStoppedMonitorContext() throws Exception {
+    final MonitorConnectionContext reusableContext =
+        new MonitorConnectionContext(
+            connection,
+            new HashSet<>(),
+            FAILURE_DETECTION_TIME,
+            FAILURE_DETECTION_INTERVAL,
+            FAILURE_DETECTION_COUNT);
+    when(monitorService.startMonitoring(
+            any(Connection.class),
+            anySet(),
+            any(HostSpec.class),
+            any(Properties.class),
+            anyInt(),
+            anyInt(),
+            anyInt()))
+        .thenReturn(reusableContext);
+
+    initializePlugin();
+
+    for (int i = 0; i < 3; i++) {
+      plugin.execute(
+          ResultSet.class,
+          SQLException.class,
+          MONITOR_METHOD_INVOKE_ON,
+          MONITOR_METHOD_NAME,
+          sqlFunction,
+          EMPTY_ARGS);
+    }
+
+    verify(monitorService, times(1))
+        .startMonitoring(any(), any(), any(), any(), anyInt(), anyInt(), anyInt());
+    verify(monitorService, times(2)).restartMonitoring(reusableContext, hostSpec, properties);
+    verify(monitorService, times(3)).stopMonitoring(reusableContext);
+    verify(sqlFunction, times(3)).call();
+  }
+
+  @Test
+  void test_6_doesNeedMonitoringWithConfiguredMethods() {
+    properties.put("failureDetectionSkipMethods", ".get, .next");
+    properties.put("failureDetectionMonitorMethods", "ResultSet.next");
+
+    initializePlugin();
+
+    assertFalse(plugin.doesNeedMonitoring("ResultSet.getString"));
+    assertTrue(plugin.doesNeedMonitoring("ResultSet.next"));
+    assertTrue(plugin.doesNeedMonitoring("Connection.close"));
+    assertTrue(plugin.doesNeedMonitoring("Statement.executeBatch"));
+    // Cached decisions give the same answers.
+    assertFalse(plugin.doesNeedMonitoring("ResultSet.getString"));
+    assertTrue(plugin.doesNeedMonitoring("ResultSet.next"));
+  }
 }
@@ -19,6 +19,7 @@ package software.amazon.jdbc.plugin.efm;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -27,19 +28,28 @@ import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.mysql.cj.conf.BooleanProperty;
 import com.mysql.cj.conf.LongProperty;
+import java.net.ServerSocket;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.RepeatedTest;
@@ -60,12 +70,13 @@ class MonitorImplTest {
   @Mock BooleanProperty booleanProperty;
   @Mock LongProperty longProperty;
   @Mock ExecutorServiceInitializer executorServiceInitializer;
-  @Mock ExecutorService executorService;
+  @Mock ScheduledExecutorService executorService;
   @Mock Future<?> futureResult;
   @Mock MonitorServiceImpl monitorService;
 
   private static final long SHORT_INTERVAL_MILLIS = 30;
-  private static final long SHORT_INTERVAL_SECONDS = SHORT_INTERVAL_MILLIS / 1000;
+  // Connection.isValid timeouts are rounded up to whole seconds.
+  private static final long SHORT_INTERVAL_SECONDS = 1;
   private static final long LONG_INTERVAL_MILLIS = 300;
 
   private AutoCloseable closeable;
@@ -202,8 +213,9 @@ class MonitorImplTest {
     taskMap.put(monitor, futureResult);
 
     // Run monitor without contexts
-    // Should end by itself
-    monitor.run();
+    // Should be disposed by itself
+    assertTrue(monitor.runCheck() < 0);
+    assertTrue(monitor.isStopped());
 
     // After running with empty context, monitor should be out of the map
     assertNull(monitorMap.get(nodeKey));
@@ -214,7 +226,7 @@ class MonitorImplTest {
   }
 
   @RepeatedTest(1000)
-  void test_9_runWithContext() {
+  void test_9_runWithContext() throws InterruptedException {
     final MonitorThreadContainer container =
         MonitorThreadContainer.getInstance(executorServiceInitializer);
     final Map<String, Monitor> monitorMap = container.getMonitorMap();
@@ -249,9 +261,12 @@ class MonitorImplTest {
             });
     thread.start();
 
-    // Run monitor
-    // Should end by itself once thread above stops monitoring 'contextWithShortInterval'
-    monitor.run();
+    // Run monitor checks
+    // Should be disposed by itself once thread above stops monitoring 'contextWithShortInterval'
+    long delayMillis;
+    while ((delayMillis = monitor.runCheck()) >= 0) {
+      TimeUnit.MILLISECONDS.sleep(delayMillis);
+    }
 
     // After running monitor should be out of the map
     assertNull(monitorMap.get(nodeKey));
@@ -260,4 +275,129 @@ class MonitorImplTest {
     // Clean-up
     MonitorThreadContainer.releaseInstance();
   }
+
+  @Test
+  void test_10_monitorsShareThreadPool() throws InterruptedException {
+    MonitorThreadContainer.releaseInstance();
+    final ScheduledExecutorService threadPool = Executors.newScheduledThreadPool(1);
+    final MonitorThreadContainer container = MonitorThreadContainer.getInstance(() -> threadPool);
+    final int monitorCount = 20;
+    final CountDownLatch checksCompleted = new CountDownLatch(monitorCount * 2);
+
+    try {
+      for (int i = 0; i < monitorCount; i++) {
+        final AtomicInteger checks = new AtomicInteger();
+        final Monitor sharedMonitor = mock(Monitor.class);
+        when(sharedMonitor.runCheck()).thenAnswer(invocation -> {
+          checksCompleted.countDown();
+          // Dispose of the monitor after its second check.
+          return checks.incrementAndGet() < 2 ? 1L : -1L;
+        });
+        container.getOrCreateMonitor(Collections.singleton("node" + i), () -> sharedMonitor);
+      }
+
+      assertTrue(checksCompleted.await(5, TimeUnit.SECONDS));
+    } finally {
+      MonitorThreadContainer.releaseInstance();
+    }
+  }
+
+  @Test
+  void test_11_socketProbeOfListeningServer() throws Exception {
+    try (final ServerSocket serverSocket = new ServerSocket(0)) {
+      final Properties socketProbeProperties = new Properties();
+      socketProbeProperties.setProperty(HostMonitoringConnectionPlugin.FAILURE_DETECTION_PROBE.name, "socket");
+      final MonitorImpl socketMonitor = new MonitorImpl(
+          pluginService,
+          new HostSpec("localhost", serverSocket.getLocalPort()),
+          socketProbeProperties,
+          0L,
+          monitorService);
+      socketMonitor.startMonitoring(contextWithShortInterval);
+
+      socketMonitor.startSocketProbe(System.nanoTime());
+
+      verify(contextWithShortInterval, timeout(5000))
+          .updateConnectionStatus(anyLong(), anyLong(), eq(true));
+      verify(pluginService, never()).connect(any(HostSpec.class), any(Properties.class));
+    }
+  }
+
+  @Test
+  void test_12_newMonitorReusesConnectionOfDisposedMonitor() throws SQLException {
+    when(hostSpec.getUrl()).thenReturn("pooled-host:5432/");
+    when(connection.isClosed()).thenReturn(Boolean.FALSE);
+    when(connection.isValid(anyInt())).thenReturn(Boolean.TRUE);
+
+    try {
+      final MonitorImpl disposedMonitor =
+          new MonitorImpl(pluginService, hostSpec, new Properties(), 60000L, monitorService);
+      disposedMonitor.checkConnectionStatus(SHORT_INTERVAL_MILLIS);
+      disposedMonitor.close();
+
+      final MonitorImpl newMonitor =
+          new MonitorImpl(pluginService, hostSpec, new Properties(), 60000L, monitorService);
+      assertTrue(newMonitor.checkConnectionStatus(SHORT_INTERVAL_MILLIS).isValid);
+
+      verify(pluginService, times(1)).connect(any(HostSpec.class), any(Properties.class));
+      verify(connection, never()).close();
+    } finally {
+      MonitoringConnectionPool.closeAll();
+    }
+  }
+
+  @Test
+  void test_13_poolKeyDependsOnAllPropertiesWithoutHoldingThem() {
+    final HostSpec host = new HostSpec("pooled-host", 5432);
+    final Properties props = new Properties();
+    props.setProperty("user", "monitor");
+    props.setProperty("password", "secret-password");
+    props.setProperty("sslmode", "require");
+    final Properties otherSslProps = new Properties();
+    otherSslProps.putAll(props);
+    otherSslProps.setProperty("sslmode", "disable");
+    final Properties sameProps = new Properties();
+    sameProps.putAll(props);
+
+    final String key = MonitoringConnectionPool.getKey(host, props);
+
+    assertEquals(key, MonitoringConnectionPool.getKey(host, sameProps));
+    assertNotEquals(key, MonitoringConnectionPool.getKey(host, otherSslProps));
+    assertFalse(key.contains("secret-password"));
+  }
+
+  @Test
+  void test_14_socketProbeOfUnresolvedHostFails() throws SQLException {
+    final Properties socketProbeProperties = new Properties();
+    socketProbeProperties.setProperty(HostMonitoringConnectionPlugin.FAILURE_DETECTION_PROBE.name, "socket");
+    final MonitorImpl socketMonitor = new MonitorImpl(
+        pluginService,
+        new HostSpec("unresolved-host.invalid", 5432),
+        socketProbeProperties,
+        0L,
+        monitorService);
+    socketMonitor.startMonitoring(contextWithShortInterval);
+
+    socketMonitor.startSocketProbe(System.nanoTime());
+
+    verify(contextWithShortInterval, timeout(5000))
+        .updateConnectionStatus(anyLong(), anyLong(), eq(false));
+    verify(pluginService, never()).connect(any(HostSpec.class), any(Properties.class));
+  }
+
+  @Test
+  void test_15_expiredIdleConnectionIsClosedWhenAnotherKeyIsBorrowed() throws SQLException {
+    final Connection expiredConnection = mock(Connection.class);
+    try {
+      MonitoringConnectionPool.release("expired-host", expiredConnection, 0L);
+
+      assertNull(MonitoringConnectionPool.borrow("other-host"));
+
+      verify(expiredConnection, times(1)).close();
+      assertEquals(0, MonitoringConnectionPool.getIdleConnectionCount("expired-host"));
+      assertEquals(0, MonitoringConnectionPool.getKeyCount());
+    } finally {
+      MonitoringConnectionPool.closeAll();
+    }
+  }
 }
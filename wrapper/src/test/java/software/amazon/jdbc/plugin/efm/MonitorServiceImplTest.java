@@ -17,24 +17,32 @@
 package software.amazon.jdbc.plugin.efm;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.mysql.cj.jdbc.JdbcConnection;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -55,7 +63,7 @@ class MonitorServiceImplTest {
   @Mock private ExecutorServiceInitializer executorServiceInitializer;
   @Mock private Monitor monitorA;
   @Mock private Monitor monitorB;
-  @Mock private ExecutorService executorService;
+  @Mock private ScheduledExecutorService executorService;
   @Mock private Future<?> task;
   @Mock private HostSpec hostSpec;
   @Mock private JdbcConnection connection;
@@ -77,7 +85,7 @@ class MonitorServiceImplTest {
 
     when(executorServiceInitializer.createExecutorService()).thenReturn(executorService);
 
-    doReturn(task).when(executorService).submit(any(Monitor.class));
+    doReturn(task).when(executorService).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
 
     monitorService = new MonitorServiceImpl(monitorInitializer, executorServiceInitializer);
   }
@@ -102,7 +110,7 @@ class MonitorServiceImplTest {
         FAILURE_DETECTION_COUNT);
 
     assertNotNull(contextCaptor.getValue());
-    verify(executorService).submit(eq(monitorA));
+    verify(executorService).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
   }
 
   @Test
@@ -125,7 +133,7 @@ class MonitorServiceImplTest {
     assertNotNull(contextCaptor.getValue());
 
     // executorService should only be called once.
-    verify(executorService).submit(eq(monitorA));
+    verify(executorService).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
   }
 
   @Test
@@ -262,4 +270,64 @@ class MonitorServiceImplTest {
     monitorService.releaseResources();
     monitorService.releaseResources();
   }
+
+  @Test
+  void test_10_monitorIsReleasedWhenCheckFails() {
+    final ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+    doThrow(new IllegalStateException()).when(monitorA).runCheck();
+
+    monitorService.startMonitoring(
+        connection,
+        NODE_KEYS,
+        hostSpec,
+        properties,
+        FAILURE_DETECTION_TIME_MILLIS,
+        FAILURE_DETECTION_INTERVAL_MILLIS,
+        FAILURE_DETECTION_COUNT);
+    verify(executorService).schedule(taskCaptor.capture(), eq(0L), eq(TimeUnit.MILLISECONDS));
+
+    taskCaptor.getValue().run();
+
+    verify(monitorA).close();
+    verify(task).cancel(false);
+    assertFalse(monitorService.threadContainer.getMonitorMap().containsValue(monitorA));
+    assertFalse(monitorService.threadContainer.getTasksMap().containsKey(monitorA));
+  }
+
+  @Test
+  void test_11_idleConnectionsAreClosedWhenLastMonitorServiceIsReleased() throws SQLException {
+    final Connection idleConnection = mock(Connection.class);
+    MonitoringConnectionPool.release("idle-host", idleConnection, 60000L);
+
+    monitorService.releaseResources();
+
+    verify(idleConnection, times(1)).close();
+    assertEquals(0, MonitoringConnectionPool.getKeyCount());
+  }
+
+  @Test
+  void test_12_idleConnectionsAreCleanedUpPeriodically() {
+    verify(executorService).scheduleWithFixedDelay(
+        any(Runnable.class),
+        eq(MonitorThreadContainer.IDLE_CONNECTION_CLEANUP_INTERVAL_MILLIS),
+        eq(MonitorThreadContainer.IDLE_CONNECTION_CLEANUP_INTERVAL_MILLIS),
+        eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void test_13_threadPoolGrowsWithNumberOfMonitors() {
+    monitorService.releaseResources();
+    final ScheduledThreadPoolExecutor threadPool = new ScheduledThreadPoolExecutor(1);
+    when(monitorA.runCheck()).thenReturn(60000L);
+    when(monitorB.runCheck()).thenReturn(60000L);
+    monitorService = new MonitorServiceImpl(monitorInitializer, () -> threadPool);
+
+    monitorService.getMonitor(Collections.singleton("nodeA"), hostSpec, properties);
+    monitorService.getMonitor(Collections.singleton("nodeB"), hostSpec, properties);
+    assertEquals(2, threadPool.getCorePoolSize());
+
+    monitorService.threadContainer.releaseResource(monitorA);
+    monitorService.threadContainer.releaseResource(monitorB);
+    assertEquals(1, threadPool.getCorePoolSize());
+  }
 }
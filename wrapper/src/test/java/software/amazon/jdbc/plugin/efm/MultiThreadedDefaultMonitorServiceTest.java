@@ -19,6 +19,7 @@ package software.amazon.jdbc.plugin.efm;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doNothing;
@@ -40,8 +41,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -63,7 +65,7 @@ class MultiThreadedDefaultMonitorServiceTest {
 
   @Mock MonitorInitializer monitorInitializer;
   @Mock ExecutorServiceInitializer executorServiceInitializer;
-  @Mock ExecutorService service;
+  @Mock ScheduledExecutorService service;
   @Mock Future<?> taskA;
   @Mock HostSpec hostSpec;
   @Mock Monitor monitor;
@@ -99,7 +101,7 @@ class MultiThreadedDefaultMonitorServiceTest {
             any(HostSpec.class), any(Properties.class), any(MonitorService.class)))
         .thenReturn(monitor);
     when(executorServiceInitializer.createExecutorService()).thenReturn(service);
-    doReturn(taskA).when(service).submit(any(Monitor.class));
+    doReturn(taskA).when(service).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
     doNothing().when(monitor).startMonitoring(startMonitoringCaptor.capture());
     doNothing().when(monitor).stopMonitoring(stopMonitoringCaptor.capture());
     when(properties.getProperty(any(String.class)))
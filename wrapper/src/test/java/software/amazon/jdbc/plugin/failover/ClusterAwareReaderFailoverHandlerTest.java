@@ -18,6 +18,7 @@ package software.amazon.jdbc.plugin.failover;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -26,6 +27,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,6 +38,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,6 +47,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.stubbing.Answer;
 import software.amazon.jdbc.HostAvailability;
+import software.amazon.jdbc.HostHealthRegistry;
 import software.amazon.jdbc.HostRole;
 import software.amazon.jdbc.HostSpec;
 import software.amazon.jdbc.PluginService;
@@ -51,6 +56,7 @@ class ClusterAwareReaderFailoverHandlerTest {
 
   @Mock PluginService mockPluginService;
   @Mock Connection mockConnection;
+  @Mock Connection mockSlowConnection;
 
   private AutoCloseable closeable;
   private final Properties properties = new Properties();
@@ -66,11 +72,13 @@ class ClusterAwareReaderFailoverHandlerTest {
   @BeforeEach
   void setUp() {
     closeable = MockitoAnnotations.openMocks(this);
+    HostHealthRegistry.clear();
   }
 
   @AfterEach
   void tearDown() throws Exception {
     closeable.close();
+    HostHealthRegistry.clear();
   }
 
   @Test
@@ -148,6 +156,46 @@ class ClusterAwareReaderFailoverHandlerTest {
     assertNull(result.getHost());
   }
 
+  @Test
+  public void testFailover_timeoutWhenFailoverThreadsAreBusy() throws Exception {
+    // the only failover thread is used by another failover process, and connection attempts would
+    // take 10s each
+    // expected test result: failure to get reader within the failover timeout
+    when(mockPluginService.connect(any(), eq(properties)))
+        .thenAnswer((Answer<Connection>) invocation -> {
+          Thread.sleep(10000);
+          return mockConnection;
+        });
+    final FailoverExecutor failoverExecutor = new FailoverExecutor(1, false);
+    final CountDownLatch releaseThread = new CountDownLatch(1);
+    failoverExecutor.getConnectionAttemptExecutor().execute(() -> {
+      try {
+        releaseThread.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    try {
+      final ReaderFailoverHandler target =
+          new ClusterAwareReaderFailoverHandler(
+              mockPluginService,
+              properties,
+              1000,
+              30000,
+              failoverExecutor);
+      final long startTimeNano = System.nanoTime();
+      final ReaderFailoverResult result = target.failover(defaultHosts, defaultHosts.get(2));
+      final long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTimeNano);
+
+      assertFalse(result.isConnected());
+      assertTrue(durationMs < 3000, "Failover took " + durationMs + " ms");
+      assertTrue(failoverExecutor.getQueuedTaskCount() > 0);
+    } finally {
+      releaseThread.countDown();
+    }
+  }
+
   @Test
   public void testFailover_nullOrEmptyHostList() throws SQLException {
     final ClusterAwareReaderFailoverHandler target =
@@ -252,6 +300,81 @@ class ClusterAwareReaderFailoverHandlerTest {
     assertNull(result.getHost());
   }
 
+  @Test
+  public void testGetReader_closesConnectionsOfLosingAttempts() throws SQLException {
+    // both connection attempts start at the same time, the fast one wins
+    // expected test result: the connection opened by the slow attempt is closed
+    final List<HostSpec> hosts = defaultHosts.subList(0, 3); // 2 connection attempts (writer not attempted)
+    final HostSpec slowHost = hosts.get(1);
+    final HostSpec fastHost = hosts.get(2);
+    final Properties props = new Properties();
+    FailoverConnectionPlugin.FAILOVER_READER_MAX_PARALLELISM.set(props, "2");
+    FailoverConnectionPlugin.FAILOVER_READER_CONNECT_STAGGER_MS.set(props, "0");
+    when(mockPluginService.connect(slowHost, props))
+        .thenAnswer(
+            (Answer<Connection>)
+                invocation -> {
+                  try {
+                    Thread.sleep(5000);
+                  } catch (InterruptedException exception) {
+                    // ignore
+                  }
+                  return mockSlowConnection;
+                });
+    when(mockPluginService.connect(fastHost, props)).thenReturn(mockConnection);
+
+    final ReaderFailoverHandler target =
+        new ClusterAwareReaderFailoverHandler(
+            mockPluginService,
+            props);
+    final ReaderFailoverResult result = target.getReaderConnection(hosts);
+
+    assertTrue(result.isConnected());
+    assertSame(mockConnection, result.getConnection());
+    verify(mockSlowConnection, timeout(5000)).close();
+    verify(mockConnection, never()).close();
+  }
+
+  @Test
+  public void testGetReader_staggeredAttempts() throws SQLException {
+    // the first attempt hangs, the next attempt starts after the stagger delay instead of waiting
+    // for the connection attempt timeout
+    // expected test result: successful connection well before the first attempt times out
+    final List<HostSpec> hosts = defaultHosts.subList(0, 3); // 2 connection attempts (writer not attempted)
+    final Properties props = new Properties();
+    FailoverConnectionPlugin.FAILOVER_READER_MAX_PARALLELISM.set(props, "2");
+    FailoverConnectionPlugin.FAILOVER_READER_CONNECT_STAGGER_MS.set(props, "100");
+    final HostSpec[] firstHost = new HostSpec[1];
+    when(mockPluginService.connect(any(), eq(props)))
+        .thenAnswer(
+            (Answer<Connection>)
+                invocation -> {
+                  synchronized (firstHost) {
+                    if (firstHost[0] == null) {
+                      firstHost[0] = invocation.getArgument(0);
+                    }
+                  }
+                  if (firstHost[0] == invocation.getArgument(0)) {
+                    Thread.sleep(20000);
+                  }
+                  return mockConnection;
+                });
+
+    final ClusterAwareReaderFailoverHandler target =
+        new ClusterAwareReaderFailoverHandler(
+            mockPluginService,
+            props,
+            60000,
+            30000);
+    final long startTimeNano = System.nanoTime();
+    final ReaderFailoverResult result = target.getReaderConnection(hosts);
+    final long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTimeNano);
+
+    assertTrue(result.isConnected());
+    assertNotEquals(firstHost[0], result.getHost());
+    assertTrue(durationMs < 5000);
+  }
+
   @Test
   public void testGetHostTuplesByPriority() {
     final List<HostSpec> originalHosts = defaultHosts;
@@ -321,4 +444,24 @@ class ClusterAwareReaderFailoverHandlerTest {
 
     assertEquals(hostsByPriority.size(), i);
   }
+
+  @Test
+  public void testGetReaderHostsByPriority_withReportedHostHealth() {
+    final List<HostSpec> originalHosts = defaultHosts;
+    originalHosts.get(2).setAvailability(HostAvailability.NOT_AVAILABLE);
+
+    // Another connection found reader1 down and reader2 up again.
+    HostHealthRegistry.setAvailability(originalHosts.get(1).asAliases(), HostAvailability.NOT_AVAILABLE);
+    HostHealthRegistry.setAvailability(originalHosts.get(2).asAliases(), HostAvailability.AVAILABLE);
+
+    final ClusterAwareReaderFailoverHandler target =
+        new ClusterAwareReaderFailoverHandler(
+            mockPluginService,
+            properties);
+    final List<HostSpec> hostsByPriority = target.getReaderHostsByPriority(originalHosts);
+
+    assertEquals(5, hostsByPriority.size());
+    assertEquals(originalHosts.get(1), hostsByPriority.get(4));
+    assertTrue(hostsByPriority.subList(0, 4).contains(originalHosts.get(2)));
+  }
 }
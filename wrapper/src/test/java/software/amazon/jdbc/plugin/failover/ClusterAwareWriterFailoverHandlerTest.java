@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,6 +44,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.stubbing.Answer;
 import software.amazon.jdbc.HostAvailability;
+import software.amazon.jdbc.HostHealthRegistry;
 import software.amazon.jdbc.HostSpec;
 import software.amazon.jdbc.PluginService;
 
@@ -72,11 +74,13 @@ class ClusterAwareWriterFailoverHandlerTest {
     newWriterHost.addAlias("new-writer-host");
     readerA.addAlias("reader-a-host");
     readerB.addAlias("reader-b-host");
+    HostHealthRegistry.clear();
   }
 
   @AfterEach
   void tearDown() throws Exception {
     closeable.close();
+    HostHealthRegistry.clear();
   }
 
   @Test
@@ -375,4 +379,62 @@ class ClusterAwareWriterFailoverHandlerTest {
     verify(mockPluginService, atLeastOnce())
         .setAvailability(eq(newWriterHost.asAliases()), eq(HostAvailability.NOT_AVAILABLE));
   }
+
+  @Test
+  public void testReconnectToWriter_failoverThreadsAreBusy() throws SQLException {
+    when(mockPluginService.connect(refEq(writer), eq(properties))).thenReturn(mockConnection);
+    when(mockPluginService.getHosts()).thenReturn(topology);
+    when(mockReaderFailover.getReaderConnection(ArgumentMatchers.anyList())).thenThrow(SQLException.class);
+
+    final FailoverExecutor failoverExecutor = new FailoverExecutor(1, false);
+    final FailoverExecutor.ReservedExecutor busyThreads = failoverExecutor.reserve(1);
+    assertFalse(busyThreads.isOverflow());
+
+    try {
+      final ClusterAwareWriterFailoverHandler target =
+          new ClusterAwareWriterFailoverHandler(
+              mockPluginService,
+              mockReaderFailover,
+              properties,
+              5000,
+              2000,
+              2000);
+      target.failoverExecutor = failoverExecutor;
+      final WriterFailoverResult result = target.failover(topology);
+
+      assertTrue(result.isConnected());
+      assertSame(result.getNewConnection(), mockConnection);
+      assertEquals(2, failoverExecutor.getOverflowTaskCount());
+    } finally {
+      busyThreads.releaseUnused();
+    }
+  }
+
+  @Test
+  public void testConnectToNewWriter_reportedUnavailableWriterIsDeferred() throws SQLException {
+    when(mockPluginService.connect(refEq(writer), eq(properties)))
+        .thenThrow(new SQLException("unreachable", "08001"));
+    when(mockPluginService.connect(refEq(newWriterHost), eq(properties))).thenReturn(mockNewWriterConnection);
+    when(mockPluginService.getHosts()).thenReturn(newTopology);
+    when(mockReaderFailover.getReaderConnection(ArgumentMatchers.anyList()))
+        .thenReturn(new ReaderFailoverResult(mockReaderAConnection, readerA, true));
+    HostHealthRegistry.setAvailability(newWriterHost.asAliases(), HostAvailability.NOT_AVAILABLE);
+
+    final ClusterAwareWriterFailoverHandler target =
+        new ClusterAwareWriterFailoverHandler(
+            mockPluginService,
+            mockReaderFailover,
+            properties,
+            5000,
+            100,
+            100);
+    final WriterFailoverResult result = target.failover(topology);
+
+    assertTrue(result.isConnected());
+    assertTrue(result.isNewHost());
+    assertSame(result.getNewConnection(), mockNewWriterConnection);
+    // The topology is read once more before the reported writer is tried.
+    verify(mockPluginService, atLeast(2)).forceRefreshHostList(mockReaderAConnection);
+    verify(mockPluginService, times(1)).connect(refEq(newWriterHost), eq(properties));
+  }
 }
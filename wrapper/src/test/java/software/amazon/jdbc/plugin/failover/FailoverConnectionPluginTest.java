@@ -165,6 +165,25 @@ class FailoverConnectionPluginTest {
     verify(mockHostListProviderService, atLeastOnce()).isStaticHostListProvider();
   }
 
+  @Test
+  void test_initHostProvider_withUnknownReaderSelectionStrategy() {
+    properties.setProperty(FailoverConnectionPlugin.FAILOVER_READER_SELECTION_STRATEGY.name, "fastest");
+    when(mockHostListProviderService.isStaticHostListProvider()).thenReturn(true);
+
+    initializePlugin();
+
+    assertThrows(SQLException.class, () -> plugin.initHostProvider(
+        "driverProtocol",
+        "initialUrl",
+        properties,
+        mockHostListProviderService,
+        mockInitHostProviderFunc,
+        () -> mockHostListProvider,
+        () -> mockReaderFailoverHandler,
+        () -> mockWriterFailoverHandler));
+    verify(mockHostListProviderService, never()).setHostListProvider(any());
+  }
+
   @Test
   void test_notifyNodeListChanged_withFailoverDisabled() {
     properties.setProperty(FailoverConnectionPlugin.ENABLE_CLUSTER_AWARE_FAILOVER.name, "false");
@@ -0,0 +1,129 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.plugin.failover;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class FailoverExecutorTest {
+
+  @Test
+  void testConnectionAttemptsAreQueuedWhenThreadsAreBusy() throws Exception {
+    final FailoverExecutor executor = new FailoverExecutor(1, false);
+    final CountDownLatch taskStarted = new CountDownLatch(1);
+    final CountDownLatch releaseTask = new CountDownLatch(1);
+    final CountDownLatch secondTaskCompleted = new CountDownLatch(1);
+    final AtomicReference<Thread> firstTaskThread = new AtomicReference<>();
+    final AtomicReference<Thread> secondTaskThread = new AtomicReference<>();
+
+    executor.getConnectionAttemptExecutor().execute(() -> {
+      firstTaskThread.set(Thread.currentThread());
+      taskStarted.countDown();
+      try {
+        releaseTask.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertTrue(taskStarted.await(5, TimeUnit.SECONDS));
+    assertEquals(1, executor.getActiveTaskCount());
+
+    executor.getConnectionAttemptExecutor().execute(() -> {
+      secondTaskThread.set(Thread.currentThread());
+      secondTaskCompleted.countDown();
+    });
+    assertNull(secondTaskThread.get());
+    assertEquals(1, executor.getQueuedTaskCount());
+
+    releaseTask.countDown();
+    assertTrue(secondTaskCompleted.await(5, TimeUnit.SECONDS));
+    assertNotSame(Thread.currentThread(), firstTaskThread.get());
+    assertNotSame(Thread.currentThread(), secondTaskThread.get());
+    assertEquals(1, executor.getPeakActiveTaskCount());
+  }
+
+  @Test
+  void testReservationRunsOnOverflowThreadsWhenThreadsAreBusy() throws Exception {
+    final FailoverExecutor executor = new FailoverExecutor(3, false);
+
+    final FailoverExecutor.ReservedExecutor reserved = executor.reserve(2);
+    assertFalse(reserved.isOverflow());
+    assertEquals(2, executor.getActiveTaskCount());
+
+    final FailoverExecutor.ReservedExecutor overflow = executor.reserve(2);
+    assertTrue(overflow.isOverflow());
+    assertEquals(2, executor.getActiveTaskCount());
+    final CountDownLatch overflowTasksCompleted = new CountDownLatch(2);
+    overflow.execute(overflowTasksCompleted::countDown);
+    overflow.execute(overflowTasksCompleted::countDown);
+    assertTrue(overflowTasksCompleted.await(5, TimeUnit.SECONDS));
+    assertEquals(2, executor.getOverflowTaskCount());
+
+    final CountDownLatch taskCompleted = new CountDownLatch(1);
+    reserved.execute(taskCompleted::countDown);
+    assertTrue(taskCompleted.await(5, TimeUnit.SECONDS));
+    reserved.releaseUnused();
+    assertThrows(RejectedExecutionException.class, () -> reserved.execute(() -> { }));
+
+    final FailoverExecutor.ReservedExecutor reservedAgain = executor.reserve(3);
+    assertFalse(reservedAgain.isOverflow());
+    reservedAgain.releaseUnused();
+    assertEquals(0, executor.getActiveTaskCount());
+  }
+
+  @Test
+  void testConnectionAttemptsOfRunningTaskRunInParallel() throws Exception {
+    final FailoverExecutor executor = new FailoverExecutor(1, false);
+    final CountDownLatch bothAttemptsStarted = new CountDownLatch(2);
+    final CountDownLatch taskCompleted = new CountDownLatch(1);
+
+    executor.getConnectionAttemptExecutor().execute(() -> {
+      try {
+        for (int i = 0; i < 2; i++) {
+          executor.getConnectionAttemptExecutor().execute(() -> {
+            bothAttemptsStarted.countDown();
+            try {
+              // Each attempt only completes once the other one has started as well.
+              bothAttemptsStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+          });
+        }
+        if (bothAttemptsStarted.await(5, TimeUnit.SECONDS)) {
+          taskCompleted.countDown();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    assertTrue(taskCompleted.await(10, TimeUnit.SECONDS));
+    assertEquals(2, executor.getOverflowTaskCount());
+    assertEquals(0, executor.getQueuedTaskCount());
+  }
+}
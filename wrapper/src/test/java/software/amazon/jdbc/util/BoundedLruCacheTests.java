@@ -0,0 +1,90 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class BoundedLruCacheTests {
+
+  @Test
+  public void testEvictsLeastRecentlyUsedEntryWhenFull() {
+    BoundedLruCache<String, String> target = new BoundedLruCache<>(2, 1000, String::length);
+
+    assertTrue(target.put("a", "1", 0));
+    assertTrue(target.put("b", "2", 0));
+    assertEquals("1", target.get("a"));
+    assertTrue(target.put("c", "3", 0));
+
+    assertEquals("1", target.get("a"));
+    assertNull(target.get("b"));
+    assertEquals("3", target.get("c"));
+    assertEquals(2, target.size());
+    assertEquals(1, target.getEvictionCount());
+    assertEquals(3, target.getHitCount());
+    assertEquals(1, target.getMissCount());
+  }
+
+  @Test
+  public void testEvictsEntriesOverSizeBudget() {
+    BoundedLruCache<String, String> target = new BoundedLruCache<>(10, 10, String::length);
+
+    assertTrue(target.put("a", "12345", 0));
+    assertTrue(target.put("b", "12345", 0));
+    assertEquals(10, target.getSizeBytes());
+    assertTrue(target.put("c", "123", 0));
+
+    assertNull(target.get("a"));
+    assertEquals(8, target.getSizeBytes());
+    assertFalse(target.put("d", "12345678901", 0));
+    assertNull(target.get("d"));
+    assertEquals(1, target.getEvictionCount());
+  }
+
+  @Test
+  public void testExpiredEntryIsNotReturned() throws InterruptedException {
+    BoundedLruCache<String, String> target = new BoundedLruCache<>(10, 1000, String::length);
+
+    assertTrue(target.put("a", "1", TimeUnit.MILLISECONDS.toNanos(1)));
+    assertTrue(target.put("b", "2", 0));
+    TimeUnit.MILLISECONDS.sleep(5);
+
+    assertNull(target.get("a"));
+    assertEquals("2", target.get("b"));
+    assertEquals(1, target.getExpirationCount());
+    assertEquals(1, target.getSizeBytes());
+  }
+
+  @Test
+  public void testShrinkingLimitsEvictsEntries() {
+    BoundedLruCache<String, String> target = new BoundedLruCache<>(10, 1000, String::length);
+    target.put("a", "1", 0);
+    target.put("b", "2", 0);
+    target.put("c", "3", 0);
+
+    target.setLimits(1, 1000);
+
+    assertEquals(1, target.size());
+    assertEquals("3", target.get("c"));
+    assertEquals(2, target.getEvictionCount());
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ExpiringCacheTests {
+
+  @Test
+  public void testExpiredEntryIsNotReturned() throws InterruptedException {
+    ExpiringCache<String, String> target = new ExpiringCache<>(10);
+
+    target.put("a", "1");
+    assertEquals("1", target.get("a"));
+    TimeUnit.MILLISECONDS.sleep(20);
+
+    assertNull(target.get("a"));
+    assertTrue(target.isEmpty());
+  }
+
+  @Test
+  public void testInsertEvictsExpiredEntries() throws InterruptedException {
+    List<String> evicted = Collections.synchronizedList(new ArrayList<>());
+    ExpiringCache<String, String> target = new ExpiringCache<>(10, evicted::add);
+
+    target.put("a", "1");
+    target.put("b", "2");
+    target.put("a", "3");
+    TimeUnit.MILLISECONDS.sleep(20);
+    target.put("c", "4");
+
+    // The replaced value of "a" isn't reported.
+    assertEquals(2, evicted.size());
+    assertTrue(evicted.contains("2"));
+    assertTrue(evicted.contains("3"));
+    assertEquals(1, target.size());
+    assertEquals("4", target.get("c"));
+  }
+
+  @Test
+  public void testRemovedEntryIsNotEvicted() throws InterruptedException {
+    List<String> evicted = Collections.synchronizedList(new ArrayList<>());
+    ExpiringCache<String, String> target = new ExpiringCache<>(10, evicted::add);
+
+    target.put("a", "1");
+    assertEquals("1", target.remove("a"));
+    TimeUnit.MILLISECONDS.sleep(20);
+    target.put("b", "2");
+
+    assertTrue(evicted.isEmpty());
+  }
+
+  @Test
+  public void testReplacingValuesDoesNotGrowExpiryQueue() {
+    ExpiringCache<Integer, Integer> target = new ExpiringCache<>(60000);
+
+    for (int i = 0; i < 10000; i++) {
+      target.put(i % 10, i);
+    }
+
+    assertEquals(10, target.size());
+    assertEquals(10, target.getExpiryQueueSize());
+  }
+
+  @Test
+  public void testReplacedValueIsNotEvictedEarly() throws InterruptedException {
+    List<String> evicted = Collections.synchronizedList(new ArrayList<>());
+    ExpiringCache<String, String> target = new ExpiringCache<>(200, evicted::add);
+
+    target.put("a", "1");
+    TimeUnit.MILLISECONDS.sleep(120);
+    target.put("a", "2");
+    TimeUnit.MILLISECONDS.sleep(120);
+    target.put("b", "3");
+
+    // The node of "a" reached the head of the queue and was moved behind "b".
+    assertTrue(evicted.isEmpty());
+    assertEquals("2", target.get("a"));
+    assertEquals(2, target.getExpiryQueueSize());
+
+    TimeUnit.MILLISECONDS.sleep(250);
+    target.put("c", "4");
+
+    assertEquals(2, evicted.size());
+    assertTrue(evicted.contains("2"));
+    assertTrue(evicted.contains("3"));
+    assertEquals(1, target.getExpiryQueueSize());
+  }
+
+  @Test
+  public void testConcurrentPutsAndGets() throws InterruptedException {
+    ExpiringCache<Integer, Integer> target = new ExpiringCache<>(60000);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch done = new CountDownLatch(8);
+    for (int t = 0; t < 8; t++) {
+      executor.execute(() -> {
+        for (int i = 0; i < 1000; i++) {
+          target.put(i, i);
+          assertEquals(i, target.get(i));
+        }
+        done.countDown();
+      });
+    }
+
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    executor.shutdownNow();
+    assertEquals(1000, target.size());
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.jdbc.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class SqlTableParserTests {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "select * from t",
+      "  SELECT 1",
+      "/* comment */ with x as (select 1) select * from x",
+      "show tables",
+      "commit",
+      "begin; select * from t; commit;"})
+  public void testIsReadOnly(final String sql) {
+    assertTrue(SqlTableParser.isReadOnly(sql));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "insert into t values (1)",
+      "update t set a = 1",
+      "-- comment\ndelete from t",
+      "call some_procedure()",
+      "with moved as (delete from t returning *) insert into archive select * from moved",
+      "WITH x AS (SELECT 1) UPDATE t SET a = 1",
+      "select 1; delete from t",
+      "begin; update t set a = 1; commit"})
+  public void testIsNotReadOnly(final String sql) {
+    assertFalse(SqlTableParser.isReadOnly(sql));
+  }
+
+  @Test
+  public void testGetReadTables() {
+    assertEquals(
+        new HashSet<>(Arrays.asList("orders", "customers", "items")),
+        SqlTableParser.getReadTables("select * from Sales.Orders o, `customers` c "
+            + "inner join items i on i.order_id = o.id where o.customer_id = c.id"));
+    assertEquals(
+        Collections.singleton("testtable"),
+        SqlTableParser.getReadTables("select * from (select id from testTable) t where t.id > 1"));
+  }
+
+  @Test
+  public void testGetWrittenTables() {
+    assertEquals(Collections.singleton("testtable"),
+        SqlTableParser.getWrittenTables("update testTable set id = id * 10"));
+    assertEquals(Collections.singleton("orders"),
+        SqlTableParser.getWrittenTables("INSERT INTO \"sales\".\"orders\" (id) VALUES (?)"));
+    assertEquals(Collections.singleton("items"),
+        SqlTableParser.getWrittenTables("drop table if exists items"));
+    assertTrue(SqlTableParser.getWrittenTables("call some_procedure()").isEmpty());
+    assertEquals(new HashSet<>(Arrays.asList("orders", "archive")),
+        SqlTableParser.getWrittenTables("with moved as (delete from orders where id < 10 returning *) "
+            + "insert into archive select * from moved"));
+  }
+
+  @Test
+  public void testGetWrittenTablesOfMultipleStatements() {
+    assertEquals(Collections.singleton("t"),
+        SqlTableParser.getWrittenTables("select 1; delete from t"));
+    assertEquals(new HashSet<>(Arrays.asList("t", "audit")),
+        SqlTableParser.getWrittenTables("begin; update t set a = 1; insert into audit values (1); commit"));
+    assertTrue(SqlTableParser.getWrittenTables("update t set a = 1; call some_procedure()").isEmpty());
+  }
+
+  @Test
+  public void testGetWrittenTablesOfMultiTableWrites() {
+    assertTrue(SqlTableParser.getWrittenTables("update a join b on a.id = b.id set b.x = 1").isEmpty());
+    assertTrue(SqlTableParser.getWrittenTables("update a, b set a.x = 1, b.x = 1 where a.id = b.id").isEmpty());
+    assertTrue(SqlTableParser.getWrittenTables("delete from a, b using a inner join b on a.id = b.id").isEmpty());
+    assertEquals(Collections.singleton("a"),
+        SqlTableParser.getWrittenTables("update a set x = 1 where id = 2"));
+  }
+}
@@ -16,10 +16,20 @@
 
 package software.amazon.jdbc.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
-
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Array;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,7 +41,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import software.amazon.jdbc.ConnectionPluginManager;
+import software.amazon.jdbc.ConnectionPluginManager.ChainGeneration;
 import software.amazon.jdbc.JdbcCallable;
+import software.amazon.jdbc.wrapper.ArrayWrapper;
+import software.amazon.jdbc.wrapper.ResultSetWrapper;
 
 public class WrapperUtilsTest {
 
@@ -127,4 +140,59 @@ public class WrapperUtilsTest {
       future.join();
     }
   }
+
+  @Test
+  void testLockFreeDispatchDoesNotTakeLock() {
+    when(pluginManager.isLockFreeDispatch()).thenReturn(true);
+    final ChainGeneration generation = mock(ChainGeneration.class);
+    when(pluginManager.tryBeginLockFreeCall()).thenReturn(generation);
+    stubExecuteToReturnOne();
+
+    assertEquals(1, callExecuteWithPlugins());
+    assertEquals(1, callExecuteWithPluginsWithException());
+
+    verify(pluginManager, never()).lock();
+    verify(pluginManager, never()).unlock();
+    verify(pluginManager, times(2)).endLockFreeCall(generation);
+  }
+
+  @Test
+  void testLockFreeDispatchTakesLockDuringConnectionSwitch() {
+    when(pluginManager.isLockFreeDispatch()).thenReturn(true);
+    when(pluginManager.tryBeginLockFreeCall()).thenReturn(null);
+    stubExecuteToReturnOne();
+
+    assertEquals(1, callExecuteWithPlugins());
+
+    verify(pluginManager, times(1)).lock();
+    verify(pluginManager, times(1)).unlock();
+    verify(pluginManager, never()).endLockFreeCall(any());
+  }
+
+  @Test
+  void testWrapWithProxyUsesDeclaredResultClass() throws InstantiationException {
+    final ResultSet resultSet = WrapperUtils.wrapWithProxyIfNeeded(
+        ResultSet.class, mock(ResultSet.class), pluginManager);
+
+    assertTrue(resultSet instanceof ResultSetWrapper);
+  }
+
+  @Test
+  void testWrapWithProxyResolvesWrapperFromTargetClass() throws InstantiationException {
+    final Object array = WrapperUtils.wrapWithProxyIfNeeded(
+        Object.class, mock(Array.class), pluginManager);
+
+    assertTrue(array instanceof ArrayWrapper);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void stubExecuteToReturnOne() {
+    doReturn(1).when(pluginManager).execute(
+        any(Class.class),
+        any(Class.class),
+        any(Object.class),
+        any(String.class),
+        any(JdbcCallable.class),
+        any());
+  }
 }